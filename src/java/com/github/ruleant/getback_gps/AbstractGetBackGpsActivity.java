@@ -44,9 +44,9 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.github.ruleant.getback_gps.LocationService.LocationBinder;
-import com.github.ruleant.getback_gps.lib.CardinalDirection;
+import com.github.ruleant.getback_gps.lib.CardinalDirectionFormatter;
 import com.github.ruleant.getback_gps.lib.FormatUtils;
-import com.github.ruleant.getback_gps.lib.Navigator;
+import com.github.ruleant.getback_gps.lib.NavigationSnapshot;
 import com.github.ruleant.getback_gps.lib.Tools;
 
 import androidx.annotation.NonNull;
@@ -98,6 +98,11 @@ abstract class AbstractGetBackGpsActivity extends Activity
      */
     private short mCroutonStatus = 0;
 
+    /**
+     * Formatter of cardinal directions, reused on every refresh.
+     */
+    private CardinalDirectionFormatter mDirectionFormatter;
+
     /**
      * Crouton status 'None'.
      */
@@ -208,6 +213,8 @@ abstract class AbstractGetBackGpsActivity extends Activity
     protected void onCreate(final Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        mDirectionFormatter = new CardinalDirectionFormatter(this);
+
         // create Crouton configuration
         Configuration croutonConfig = new Configuration.Builder()
                 .setDuration(Configuration.DURATION_INFINITE)
@@ -576,6 +583,17 @@ abstract class AbstractGetBackGpsActivity extends Activity
         } else if (itemId == R.id.menu_renamedestination) {
             renameDestination();
             return true;
+        } else if (itemId == R.id.menu_nearestwaypoint) {
+            if (isBound()) {
+                mService.setNearestWaypointAsDestination();
+                refreshDisplay();
+            }
+            return true;
+        } else if (itemId == R.id.menu_cleartrack) {
+            if (isBound()) {
+                mService.clearTrack();
+            }
+            return true;
         } else if (itemId == R.id.menu_refresh) {
             refresh(item);
             return true;
@@ -589,7 +607,13 @@ abstract class AbstractGetBackGpsActivity extends Activity
         MenuItem miStoreLocation = menu.findItem(R.id.menu_storelocation);
         MenuItem miEnterLocation = menu.findItem(R.id.menu_enterlocation);
         MenuItem miRenameDest = menu.findItem(R.id.menu_renamedestination);
+        MenuItem miNearestWaypoint
+                = menu.findItem(R.id.menu_nearestwaypoint);
+        MenuItem miClearTrack = menu.findItem(R.id.menu_cleartrack);
+        miClearTrack.setEnabled(isBound());
         if (isBound()) {
+            // enable nearest waypoint button if a location is set
+            miNearestWaypoint.setEnabled(mService.getLocation() != null);
             // enable store location button if a location is set
             miStoreLocation.setEnabled(mService.getLocation() != null);
             miEnterLocation.setEnabled(true);
@@ -629,10 +653,10 @@ abstract class AbstractGetBackGpsActivity extends Activity
      */
     protected final void refreshCrouton() {
         // only refresh items if activity is bound to service
-        // connection state is checked in getNavigator
-        Navigator navigator = getNavigator();
+        // connection state is checked in getNavigationSnapshot
+        NavigationSnapshot navigation = getNavigationSnapshot();
 
-        if (navigator == null) {
+        if (navigation == null) {
             return;
         }
 
@@ -647,19 +671,19 @@ abstract class AbstractGetBackGpsActivity extends Activity
             CroutonStatusNew = CROUTON_STATUS_PERMISSION_REQUIRED;
         } else {
             // if location is inaccurate, display warning
-            if (!navigator.isLocationAccurate()) {
+            if (!navigation.isLocationAccurate()) {
                 CroutonStatusNew = CROUTON_STATUS_INACCURATE_LOCATION;
             } else {
                 // if no destination is set, display message
-                if (navigator.getDestination() == null) {
+                if (navigation.getDestination() == null) {
                     CroutonStatusNew = CROUTON_STATUS_NO_DESTINATION;
                 } else {
                     // destination was reached
-                    if (navigator.isDestinationReached()) {
+                    if (navigation.isDestinationReached()) {
                         CroutonStatusNew = CROUTON_STATUS_DESTINATION_REACHED;
                     } else {
                         // if bearing is inaccurate, display warning
-                        if (!navigator.isBearingAccurate()) {
+                        if (!navigation.isBearingAccurate()) {
                             CroutonStatusNew = CROUTON_STATUS_INACCURATE_DIRECTION;
                         }
                     }
@@ -724,10 +748,10 @@ abstract class AbstractGetBackGpsActivity extends Activity
      */
     public final void refreshCurrentViews(final boolean displayInaccurate) {
         // only refresh items if activity is bound to service
-        // connection state is checked in getNavigator
-        Navigator navigator = getNavigator();
+        // connection state is checked in getNavigationSnapshot
+        NavigationSnapshot navigation = getNavigationSnapshot();
 
-        if (navigator == null) {
+        if (navigation == null) {
             return;
         }
 
@@ -744,19 +768,16 @@ abstract class AbstractGetBackGpsActivity extends Activity
         String currentBearingText = res.getString(R.string.inaccurate);
 
         // Update current speed
-        if (displayInaccurate || navigator.isLocationAccurate()) {
+        if (displayInaccurate || navigation.isLocationAccurate()) {
             currentSpeedText = FormatUtils.formatSpeed(
-                    navigator.getCurrentSpeed(), this);
+                    navigation.getCurrentSpeed(), this);
         }
 
         // Update current bearing
-        if (displayInaccurate || navigator.isBearingAccurate()) {
-            CardinalDirection cd = new CardinalDirection(
-                    this,
+        if (displayInaccurate || navigation.isBearingAccurate()) {
+            currentBearingText = mDirectionFormatter.format(
                     FormatUtils.normalizeAngle(
-                            navigator.getCurrentBearing()));
-
-            currentBearingText = cd.format();
+                            navigation.getCurrentBearing()));
         }
 
         // update views
@@ -773,6 +794,15 @@ abstract class AbstractGetBackGpsActivity extends Activity
         return mBound;
     }
 
+    /**
+     * Returns formatter of cardinal directions.
+     *
+     * @return CardinalDirectionFormatter
+     */
+    protected final CardinalDirectionFormatter getDirectionFormatter() {
+        return mDirectionFormatter;
+    }
+
     /**
      * Returns Location Service.
      *
@@ -787,18 +817,18 @@ abstract class AbstractGetBackGpsActivity extends Activity
     }
 
     /**
-     * Returns Navigator.
+     * Returns last published navigation state.
      *
-     * @return Navigator
+     * @return NavigationSnapshot
      */
-    protected final Navigator getNavigator() {
+    protected final NavigationSnapshot getNavigationSnapshot() {
         LocationService service = getService();
 
         if (service == null) {
             return null;
         }
 
-        return service.getNavigator();
+        return service.getNavigationSnapshot();
     }
 
     /**
@@ -23,12 +23,14 @@ package com.github.ruleant.getback_gps;
 
 import android.content.res.Resources;
 import android.os.Bundle;
+import android.view.View;
 import android.widget.TextView;
 
 import com.github.ruleant.getback_gps.lib.AriadneLocation;
-import com.github.ruleant.getback_gps.lib.CardinalDirection;
+import com.github.ruleant.getback_gps.lib.DebugLevel;
 import com.github.ruleant.getback_gps.lib.FormatUtils;
-import com.github.ruleant.getback_gps.lib.Navigator;
+import com.github.ruleant.getback_gps.lib.Metrics;
+import com.github.ruleant.getback_gps.lib.NavigationSnapshot;
 
 /**
  * Main Activity class.
@@ -36,10 +38,16 @@ import com.github.ruleant.getback_gps.lib.Navigator;
  * @author Dieter Adriaenssens <ruleant@users.sourceforge.net>
  */
 public class DetailsActivity extends AbstractGetBackGpsActivity {
+    /**
+     * Debug level, to check if metrics should be displayed.
+     */
+    private DebugLevel mDebug = null;
+
     @Override
     protected final void onCreate(final Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_details);
+        mDebug = new DebugLevel(this);
     }
 
     @Override
@@ -53,18 +61,18 @@ public class DetailsActivity extends AbstractGetBackGpsActivity {
         refreshCurrentViews(true);
 
         // only refresh items if activity is bound to service
-        // connection state is checked in getNavigator
+        // connection state is checked in getNavigationSnapshot
         LocationService service = getService();
-        Navigator navigator = getNavigator();
+        NavigationSnapshot navigation = getNavigationSnapshot();
 
-        if (service == null || navigator == null) {
+        if (service == null || navigation == null) {
             return false;
         }
 
         Resources res = getResources();
         // get Destination and current location from service
-        AriadneLocation destination = navigator.getDestination();
-        AriadneLocation currentLocation = service.getLocation();
+        AriadneLocation destination = navigation.getDestination();
+        AriadneLocation currentLocation = navigation.getLocation();
 
         // Refresh locationProvider
         TextView tvProvider
@@ -117,14 +125,14 @@ public class DetailsActivity extends AbstractGetBackGpsActivity {
                 = (TextView) findViewById(R.id.textView_BearingOffset);
         tvBearingOffset.setText(res.getString(R.string.sensor_bearing_offset)
                 + " : " + FormatUtils.formatAngle(
-                    navigator.getSensorBearingOffset(), 0));
+                    navigation.getSensorBearingOffset(), 0));
 
         // Refresh travel direction
         TextView tvTravelDirection
                 = (TextView) findViewById(R.id.textView_TravelDirection);
         String travelDirectionText = res.getString(R.string.travel_direction)
                 + " : ";
-        switch (navigator.getTravelDirection()) {
+        switch (navigation.getTravelDirection()) {
         case Unknown :
         default:
             travelDirectionText += res.getString(R.string.unknown);
@@ -152,28 +160,25 @@ public class DetailsActivity extends AbstractGetBackGpsActivity {
             // Print distance and bearing
             toDestinationText += " "
                     + res.getString(R.string.distance) + ": "
-                    + FormatUtils.formatDist(navigator.getDistance(), this) + "\n";
+                    + FormatUtils.formatDist(navigation.getDistance(), this) + "\n";
 
             toDestinationText += " "
                     + res.getString(R.string.height_difference) + ": ";
             if (destination.hasAltitude() && currentLocation.hasAltitude()) {
                 toDestinationText +=
-                        FormatUtils.formatHeight(navigator.getHeightDifference(), this)
+                        FormatUtils.formatHeight(navigation.getHeightDifference(), this)
                                 + "\n";
             } else {
                 toDestinationText += res.getString(R.string.unknown) + "\n";
             }
 
-            CardinalDirection cd = new CardinalDirection(
-                    this,
-                    FormatUtils.normalizeAngle(
-                            navigator.getAbsoluteDirection()));
-
             toDestinationText += " "
                     + res.getString(R.string.direction) + ": "
-                    + cd.format();
+                    + getDirectionFormatter().format(
+                            FormatUtils.normalizeAngle(
+                                    navigation.getAbsoluteDirection()));
 
-            boolean isBearingAccurate = navigator.isBearingAccurate();
+            boolean isBearingAccurate = navigation.isBearingAccurate();
 
             // if bearing is inaccurate, don't display relative direction
             // and display warning
@@ -181,11 +186,23 @@ public class DetailsActivity extends AbstractGetBackGpsActivity {
                 toDestinationText += "\n "
                         + res.getString(R.string.direction_relative) + ": "
                         + FormatUtils.formatAngle(
-                        navigator.getRelativeDirection(), 2);
+                        navigation.getRelativeDirection(), 2);
             }
         }
         tvToDestination.setText(toDestinationText);
 
+        // Refresh processing latency, when in debug mode
+        TextView tvMetrics
+                = (TextView) findViewById(R.id.textView_Metrics);
+        if (mDebug.checkDebugLevel(DebugLevel.DEBUG_LEVEL_HIGH)
+                && Metrics.isEnabled()) {
+            tvMetrics.setText(res.getString(R.string.metrics) + ":\n"
+                    + Metrics.format());
+            tvMetrics.setVisibility(View.VISIBLE);
+        } else {
+            tvMetrics.setVisibility(View.GONE);
+        }
+
         return true;
     }
 }
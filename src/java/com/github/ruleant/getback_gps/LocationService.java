@@ -35,20 +35,43 @@ import android.location.LocationManager;
 import android.os.Binder;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.IBinder;
+import android.os.Looper;
+import android.os.Process;
 import android.os.RemoteCallbackList;
 import android.os.RemoteException;
+import android.os.SystemClock;
 import android.preference.PreferenceManager;
 import android.widget.Toast;
 
 import androidx.core.content.ContextCompat;
 
 import com.github.ruleant.getback_gps.lib.AriadneLocation;
+import com.github.ruleant.getback_gps.lib.BroadcastThrottle;
 import com.github.ruleant.getback_gps.lib.DebugLevel;
+import com.github.ruleant.getback_gps.lib.KalmanLocationFilter;
+import com.github.ruleant.getback_gps.lib.LocationFusion;
+import com.github.ruleant.getback_gps.lib.LocationUpdateScheduler;
+import com.github.ruleant.getback_gps.lib.Metrics;
+import com.github.ruleant.getback_gps.lib.NavigationSnapshot;
 import com.github.ruleant.getback_gps.lib.Navigator;
 import com.github.ruleant.getback_gps.lib.SensorOrientation;
+import com.github.ruleant.getback_gps.lib.SettingsSnapshot;
 import com.github.ruleant.getback_gps.lib.StoredDestination;
 import com.github.ruleant.getback_gps.lib.StoredLocation;
+import com.github.ruleant.getback_gps.lib.TrackFile;
+import com.github.ruleant.getback_gps.lib.Tools;
+import com.github.ruleant.getback_gps.lib.TrackRecorder;
+import com.github.ruleant.getback_gps.lib.UpdateCoalescer;
+import com.github.ruleant.getback_gps.lib.WaypointIndex;
+import com.github.ruleant.getback_gps.lib.WaypointRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Location Service provides the current location.
@@ -75,6 +98,37 @@ public class LocationService extends Service
      */
     public static final String PREFS_PREV_LOC = "prev_location";
 
+    /**
+     * File name of the recorded track.
+     */
+    public static final String TRACK_FILE = "track.bin";
+
+    /**
+     * File name of the stored waypoints.
+     */
+    public static final String WAYPOINTS_FILE = "waypoints.bin";
+
+    /**
+     * Minimal interval between update notifications to bound activities
+     * in milliseconds, one display frame (60 Hz).
+     */
+    public static final long BROADCAST_INTERVAL = 16;
+
+    /**
+     * Minimal orientation change in degrees to notify bound activities.
+     */
+    public static final double BROADCAST_ANGLE_EPSILON = 0.5;
+
+    /**
+     * Location providers that are fused with the selected provider,
+     * when fusion is enabled or the selected provider is stale.
+     */
+    private static final String[] FUSION_PROVIDERS = {
+        LocationManager.GPS_PROVIDER,
+        LocationManager.NETWORK_PROVIDER,
+        LocationManager.PASSIVE_PROVIDER,
+    };
+
     /**
      * Binder given to clients.
      */
@@ -108,10 +162,67 @@ public class LocationService extends Service
      * Navigator.
      */
     private Navigator mNavigator = null;
+    /**
+     * Last published snapshot of the navigation state.
+     */
+    private final AtomicReference<NavigationSnapshot> mNavigationSnapshot
+            = new AtomicReference<NavigationSnapshot>(
+                    NavigationSnapshot.EMPTY);
     /**
      * SensorOrientation class.
      */
     private SensorOrientation mSensorOrientation = null;
+    /**
+     * Thread processing sensor events, null if they are processed
+     * on the main thread.
+     */
+    private HandlerThread mSensorThread = null;
+    /**
+     * Handler of the sensor processing thread.
+     */
+    private Handler mSensorHandler = null;
+    /**
+     * Token of the orientation updates posted to the main thread,
+     * used to remove pending updates when the sensor thread is stopped.
+     */
+    private final Object mOrientationUpdateToken = new Object();
+    /**
+     * Coalesces orientation updates from the sensor thread
+     * into one update on the main thread.
+     */
+    private volatile UpdateCoalescer mOrientationUpdate = null;
+    /**
+     * Selects the best location from the fixes of all providers.
+     */
+    private final LocationFusion mLocationFusion = new LocationFusion();
+    /**
+     * True if location updates of the secondary fusion providers
+     * are registered.
+     */
+    private boolean mSecondaryRegistered = false;
+    /**
+     * Smooths position, speed and course of the selected fixes.
+     */
+    private final KalmanLocationFilter mKalmanFilter
+            = new KalmanLocationFilter();
+    /**
+     * Adapts the location update rate to the navigation state.
+     */
+    private final LocationUpdateScheduler mUpdateScheduler
+            = new LocationUpdateScheduler(Long.parseLong(
+                    SettingsActivity.DEFAULT_PREF_LOC_UPDATE_TIME),
+                    Float.parseFloat(
+                            SettingsActivity.DEFAULT_PREF_LOC_UPDATE_DIST));
+    /**
+     * Handler of the main thread.
+     */
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * Coalesces and rate-limits update notifications to bound activities.
+     */
+    private final BroadcastThrottle mBroadcastThrottle = new BroadcastThrottle(
+            BROADCAST_INTERVAL * Tools.MILLI_IN_NANO,
+            BROADCAST_ANGLE_EPSILON);
     /**
      * Last known good location.
      */
@@ -124,11 +235,51 @@ public class LocationService extends Service
      * Stored location/destination.
      */
     private StoredDestination mStoredDestination = null;
+    /**
+     * Track of received locations.
+     */
+    private final TrackRecorder mTrackRecorder = new TrackRecorder();
+    /**
+     * File the track is saved in.
+     */
+    private TrackFile mTrackFile = null;
+    /**
+     * Stored waypoints.
+     */
+    private WaypointRepository mWaypoints = null;
+    /**
+     * Listener for changed settings,
+     * saving the track and collecting metrics are updated when they change.
+     * SharedPreferences keeps a weak reference, so the listener is
+     * a field, instead of an anonymous instance.
+     */
+    private final SharedPreferences.OnSharedPreferenceChangeListener
+            mPreferenceListener
+            = new SharedPreferences.OnSharedPreferenceChangeListener() {
+                @Override
+                public void onSharedPreferenceChanged(
+                        final SharedPreferences sharedPreferences,
+                        final String key) {
+                    // the settings snapshot might not be reloaded yet,
+                    // so read the changed setting from the preferences
+                    if (SettingsActivity.KEY_PREF_RECORD_TRACK.equals(key)) {
+                        updateTrackFile(sharedPreferences.getBoolean(
+                                SettingsActivity.KEY_PREF_RECORD_TRACK,
+                                SettingsActivity.DEFAULT_PREF_RECORD_TRACK));
+                    } else if (DebugLevel.PREF_DEBUG_LEVEL.equals(key)) {
+                        updateMetrics(Integer.parseInt(
+                                sharedPreferences.getString(
+                                        DebugLevel.PREF_DEBUG_LEVEL,
+                                        DebugLevel.DEFAULT_DEBUG_LEVEL)));
+                    }
+                }
+            };
 
     @Override
     public final void onCreate() {
         // Create debug class instance
         mDebug = new DebugLevel(this);
+        updateMetrics(mDebug.getDebugLevel());
 
         if (mDebug != null
                 && mDebug.checkDebugLevel(DebugLevel.DEBUG_LEVEL_HIGH)) {
@@ -141,6 +292,15 @@ public class LocationService extends Service
         mSensorOrientation = new SensorOrientation(this);
         mNavigator = new Navigator(mSensorOrientation);
 
+        // restore recorded track
+        if (SettingsSnapshot.get(this).isRecordTrack()) {
+            openTrackFile(true);
+        } else {
+            deleteTrackFile();
+        }
+        PreferenceManager.getDefaultSharedPreferences(this)
+                .registerOnSharedPreferenceChangeListener(mPreferenceListener);
+
         // retrieve last known good location
         mLastLocation = new StoredLocation(
                 this.getApplicationContext(), PREFS_LAST_LOC);
@@ -150,9 +310,20 @@ public class LocationService extends Service
         mPrevLocation = new StoredLocation(this, PREFS_PREV_LOC);
         mNavigator.setPreviousLocation(mPrevLocation.getLocation());
 
+        // retrieve stored waypoints
+        try {
+            mWaypoints = new WaypointRepository(
+                    new File(getFilesDir(), WAYPOINTS_FILE));
+            mNavigator.setWaypointIndex(mWaypoints.getIndex());
+        } catch (IOException e) {
+            mWaypoints = null;
+            e.printStackTrace();
+        }
+
         // retrieve stored destination
         mStoredDestination = new StoredDestination(this, PREFS_STORE_DEST);
         setDestination(mStoredDestination.getLocation());
+        publishNavigationSnapshot();
 
         // mProviderName is set by updateLocationProvider
         updateLocationProvider();
@@ -162,6 +333,9 @@ public class LocationService extends Service
         // Subscribe to sensor events
         if (mSensorOrientation.hasSensors()
                 && mSensorOrientation.isSensorsEnabled()) {
+            if (SettingsSnapshot.get(this).isSensorThread()) {
+                startSensorThread();
+            }
             mSensorOrientation.addEventListener(this);
         }
     }
@@ -172,26 +346,36 @@ public class LocationService extends Service
 
         // Unregister all callbacks.
         mCallbacks.kill();
+        mMainHandler.removeCallbacks(mBroadcastUpdate);
 
         // unsubscribe from LocationManager updates
         mLocationManager.removeUpdates(mListener);
+        removeSecondaryUpdates();
+        mMainHandler.removeCallbacks(mStaleCheck);
 
         // unsubscribe from SensorOrientation sensor events
         mSensorOrientation.removeEventListener(this);
+        stopSensorThread();
 
         // save stored locations
         mLastLocation.save();
         mPrevLocation.setLocation(mNavigator.getPreviousLocation());
         mPrevLocation.save();
         mStoredDestination.save();
+        PreferenceManager.getDefaultSharedPreferences(this)
+                .unregisterOnSharedPreferenceChangeListener(
+                        mPreferenceListener);
+        closeTrackFile();
 
         // cleanup class properties
         mProviderName = "";
         mLocationManager = null;
         mLastLocation = null;
         mStoredDestination = null;
+        mWaypoints = null;
         mSensorOrientation = null;
         mNavigator = null;
+        mNavigationSnapshot.set(NavigationSnapshot.EMPTY);
 
         // display message announcing end of service
         if (mDebug != null
@@ -278,14 +462,172 @@ public class LocationService extends Service
             return;
         }
 
+        // only use the best fix of all location providers
+        if (!mLocationFusion.offer(location, System.currentTimeMillis())) {
+            return;
+        }
+
+        AriadneLocation filteredLocation = filterLocation(location);
+
         if (mNavigator != null) {
-            mNavigator.setLocation(location);
+            mNavigator.setLocation(filteredLocation);
+            publishNavigationSnapshot();
         }
 
         // save current location
         if (mLastLocation != null) {
-            mLastLocation.setLocation(location);
+            mLastLocation.setLocation(filteredLocation);
+        }
+
+        // add location to track, if it isn't in the track yet
+        if (filteredLocation.getTime() > mTrackRecorder.getLastTime()) {
+            mTrackRecorder.addLocation(filteredLocation);
+            addToTrackFile(filteredLocation);
+        }
+    }
+
+    /**
+     * Smooth a location fix with the Kalman filter.
+     * Speed and course reported by the provider are kept, otherwise
+     * they are estimated from all previous fixes, and only set
+     * once the estimate is accurate.
+     *
+     * @param location location fix
+     * @return filtered location
+     */
+    private AriadneLocation filterLocation(final AriadneLocation location) {
+        float accuracy = LocationFusion.UNKNOWN_ACCURACY;
+        if (location.hasAccuracy()) {
+            accuracy = location.getAccuracy();
+        }
+
+        if (!mKalmanFilter.update(location.getLatitude(),
+                location.getLongitude(), accuracy, location.getTime())) {
+            return location;
+        }
+
+        AriadneLocation filteredLocation = new AriadneLocation(location);
+        filteredLocation.setLatitude(mKalmanFilter.getLatitude());
+        filteredLocation.setLongitude(mKalmanFilter.getLongitude());
+        filteredLocation.setAccuracy(mKalmanFilter.getAccuracy());
+
+        // speed and course reported by the provider are more accurate
+        // than the estimate, which is derived from positions only
+        if (!location.hasSpeed()) {
+            if (mKalmanFilter.isSpeedAccurate()) {
+                filteredLocation.setSpeed(mKalmanFilter.getSpeed());
+            } else {
+                filteredLocation.removeSpeed();
+            }
+        }
+        if (!location.hasBearing()) {
+            if (mKalmanFilter.isBearingAccurate()) {
+                filteredLocation.setBearing(mKalmanFilter.getBearing());
+            } else {
+                filteredLocation.removeBearing();
+            }
+        }
+
+        return filteredLocation;
+    }
+
+    /**
+     * Enable collecting metrics when the debug level is high,
+     * disable it otherwise.
+     *
+     * @param debugLevel current debug level
+     */
+    private void updateMetrics(final int debugLevel) {
+        Metrics.setEnabled(BuildConfig.DEBUG
+                && debugLevel >= DebugLevel.DEBUG_LEVEL_HIGH);
+    }
+
+    /**
+     * Open the track file.
+     * The track is only kept in memory if the file can't be opened.
+     *
+     * @param restore true to add the saved track to the track recorder,
+     *                false to start a new track file
+     */
+    private void openTrackFile(final boolean restore) {
+        try {
+            mTrackFile = new TrackFile(new File(getFilesDir(), TRACK_FILE));
+            if (restore) {
+                mTrackFile.readInto(mTrackRecorder);
+            } else {
+                mTrackFile.clear();
+            }
+        } catch (IOException e) {
+            mTrackFile = null;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Delete the saved track.
+     */
+    private void deleteTrackFile() {
+        File file = new File(getFilesDir(), TRACK_FILE);
+        if (file.exists()) {
+            // if the file can't be deleted now, it is retried
+            // the next time the service is created
+            file.delete();
+        }
+    }
+
+    /**
+     * Open or close the track file when saving the track is enabled
+     * or disabled while the service is running.
+     * The track in memory is kept, a new track file is saved
+     * from the next location on.
+     *
+     * @param recordTrack true if saving the track is enabled
+     */
+    private void updateTrackFile(final boolean recordTrack) {
+        if (recordTrack && mTrackFile == null) {
+            openTrackFile(false);
+        } else if (!recordTrack && mTrackFile != null) {
+            closeTrackFile();
+            deleteTrackFile();
+        }
+    }
+
+    /**
+     * Append a location to the track file, if saving the track is enabled.
+     *
+     * @param location Location to add
+     */
+    private void addToTrackFile(final AriadneLocation location) {
+        if (mTrackFile != null) {
+            mTrackFile.addLocation(location);
+        }
+    }
+
+    /**
+     * Remove all locations from the recorded track,
+     * in memory and in the track file.
+     */
+    public final void clearTrack() {
+        mTrackRecorder.clear();
+        if (mTrackFile != null) {
+            mTrackFile.clear();
+        }
+    }
+
+    /**
+     * Close the track file.
+     */
+    private void closeTrackFile() {
+        if (mTrackFile == null) {
+            return;
+        }
+
+        try {
+            mTrackFile.close();
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+        mTrackFile = null;
     }
 
     /**
@@ -303,6 +645,24 @@ public class LocationService extends Service
         return mNavigator.getLocation();
     }
 
+    /**
+     * Retrieve recorded track.
+     *
+     * @return Read-only copy of the track, oldest location first
+     */
+    public final TrackRecorder.Snapshot getTrack() {
+        return mTrackRecorder.getSnapshot();
+    }
+
+    /**
+     * Retrieve stored waypoints.
+     *
+     * @return WaypointRepository, null if the waypoints can't be loaded
+     */
+    public final WaypointRepository getWaypoints() {
+        return mWaypoints;
+    }
+
     /**
      * Set Destination.
      *
@@ -322,6 +682,7 @@ public class LocationService extends Service
     public final void setDestination(final AriadneLocation destination) {
         if (mNavigator != null) {
             mNavigator.setDestination(destination);
+            publishNavigationSnapshot();
         }
     }
 
@@ -343,6 +704,26 @@ public class LocationService extends Service
         return mNavigator;
     }
 
+    /**
+     * Retrieve the last published navigation state.
+     * The snapshot is immutable and consistent,
+     * so it is safe to read while the service updates the Navigator.
+     *
+     * @return NavigationSnapshot
+     */
+    public final NavigationSnapshot getNavigationSnapshot() {
+        return mNavigationSnapshot.get();
+    }
+
+    /**
+     * Publish a snapshot of the current navigation state.
+     */
+    private void publishNavigationSnapshot() {
+        if (mNavigator != null) {
+            mNavigationSnapshot.set(mNavigator.getSnapshot());
+        }
+    }
+
     /**
      * Checks if Location Provider is defined.
      *
@@ -476,6 +857,7 @@ public class LocationService extends Service
 
             mStoredDestination.save(location);
             setDestination(mStoredDestination.getLocation());
+            storeWaypoint(location.getName(), location);
             Toast.makeText(
                     this,
                     locationStoredMessage,
@@ -490,6 +872,68 @@ public class LocationService extends Service
         }
     }
 
+    /**
+     * Add or update a location in the stored waypoints.
+     * A waypoint with the same name is updated,
+     * so storing a location again doesn't add a new waypoint.
+     *
+     * @param previousName previous name of the location when it is renamed,
+     *                     null for an unnamed location
+     * @param location Location Details (AriadneLocation object)
+     */
+    private void storeWaypoint(final String previousName,
+                               final AriadneLocation location) {
+        if (mWaypoints == null) {
+            return;
+        }
+
+        try {
+            mWaypoints.rename(previousName, location);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Set the stored waypoint nearest to the current location
+     * as destination.
+     */
+    public final void setNearestWaypointAsDestination() {
+        long id = WaypointIndex.NO_WAYPOINT;
+        if (mNavigator != null) {
+            id = mNavigator.getNearestWaypoint();
+        }
+
+        AriadneLocation waypoint = null;
+        if (id != WaypointIndex.NO_WAYPOINT && mWaypoints != null) {
+            waypoint = mWaypoints.get(id);
+        }
+
+        if (waypoint == null || mStoredDestination == null) {
+            Toast.makeText(
+                    this,
+                    R.string.nearest_waypoint_none,
+                    Toast.LENGTH_LONG
+            ).show();
+            return;
+        }
+
+        mStoredDestination.save(waypoint);
+        setDestination(mStoredDestination.getLocation());
+
+        String message;
+        if (waypoint.getName() == null) {
+            message = getResources().getString(
+                    R.string.nearest_waypoint_selected);
+        } else {
+            message = String.format(
+                    getResources().getString(
+                            R.string.nearest_waypoint_name_selected),
+                    waypoint.getName());
+        }
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+    }
+
     /**
      * Rename Destination.
      *
@@ -511,6 +955,7 @@ public class LocationService extends Service
             } else {
                 AriadneLocation location = mStoredDestination.getLocation();
                 if (location != null) {
+                    String previousName = location.getName();
                     location.setName(locationName);
 
                     // set message to show when location is stored
@@ -519,6 +964,7 @@ public class LocationService extends Service
 
                     mStoredDestination.save(location);
                     setDestination(mStoredDestination.getLocation());
+                    storeWaypoint(previousName, location);
                     Toast.makeText(
                             this,
                             locationStoredMessage,
@@ -554,11 +1000,7 @@ public class LocationService extends Service
      * @return float distance in meters
      */
     public final float getDistance() {
-        if (mNavigator == null) {
-            return 0;
-        }
-
-        return mNavigator.getDistance();
+        return getNavigationSnapshot().getDistance();
     }
 
     /**
@@ -567,11 +1009,7 @@ public class LocationService extends Service
      * @return direction in ° relative to current bearing
      */
     public final double getDirection() {
-        if (mNavigator == null) {
-            return 0;
-        }
-
-        return mNavigator.getRelativeDirection();
+        return getNavigationSnapshot().getRelativeDirection();
     }
 
     /**
@@ -615,14 +1053,19 @@ public class LocationService extends Service
                         SettingsActivity.DEFAULT_PREF_LOC_UPDATE_DIST;
             }
 
+            // configured update rate is adapted by the scheduler
+            mUpdateScheduler.setBaseRate(
+                    Integer.parseInt(prefLocationUpdateTime),
+                    Integer.parseInt(prefLocationUpdateDistance));
+
             Location location = null;
 
             try {
-                mLocationManager.requestLocationUpdates(
-                        mProviderName,
-                        Integer.parseInt(prefLocationUpdateTime),
-                        Integer.parseInt(prefLocationUpdateDistance),
-                        mListener);
+                // give the provider time to deliver its first fix,
+                // before other providers are used
+                mLocationFusion.setPrimaryFixTime(
+                        SystemClock.elapsedRealtime());
+                registerLocationUpdates();
                 location = mLocationManager.getLastKnownLocation(mProviderName);
             } catch (SecurityException e) {
                 if (mDebug != null
@@ -651,6 +1094,147 @@ public class LocationService extends Service
         return false;
     }
 
+    /**
+     * Register location updates with the current location provider,
+     * and with the fused providers that are available if they are needed,
+     * at the update rate selected by the scheduler.
+     *
+     * @throws SecurityException if location permission is not granted
+     */
+    private void registerLocationUpdates() {
+        mLocationManager.requestLocationUpdates(mProviderName,
+                mUpdateScheduler.getUpdateTime(), getUpdateDistance(),
+                mListener);
+
+        if (isSecondaryUpdatesNeeded()) {
+            registerSecondaryUpdates();
+        } else {
+            removeSecondaryUpdates();
+        }
+        scheduleStaleCheck();
+    }
+
+    /**
+     * Update distance selected by the scheduler.
+     *
+     * @return update distance in meters
+     */
+    private float getUpdateDistance() {
+        float distance = mUpdateScheduler.getUpdateDistance();
+
+        // the time based update parameter is not respected
+        // before Jelly Bean, distance based updates can't be disabled
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN
+                && distance == 0) {
+            distance = mUpdateScheduler.getBaseDistance();
+        }
+
+        return distance;
+    }
+
+    /**
+     * Checks if the secondary fusion providers are needed,
+     * if location fusion is enabled or the current provider is stale.
+     *
+     * @return true if secondary providers are needed
+     */
+    private boolean isSecondaryUpdatesNeeded() {
+        return SettingsSnapshot.get(this).isLocationFusion()
+                || mLocationFusion.isPrimaryStale(
+                        SystemClock.elapsedRealtime(),
+                        mUpdateScheduler.getUpdateTime());
+    }
+
+    /**
+     * Register location updates with the fused providers that are
+     * available, at the update rate selected by the scheduler.
+     * Registering again updates the rate.
+     *
+     * @throws SecurityException if location permission is not granted
+     */
+    private void registerSecondaryUpdates() {
+        long time = mUpdateScheduler.getUpdateTime();
+        float distance = getUpdateDistance();
+
+        for (String provider : FUSION_PROVIDERS) {
+            if (!provider.equals(mProviderName)
+                    && mLocationManager.getProvider(provider) != null) {
+                mLocationManager.requestLocationUpdates(
+                        provider, time, distance, mSecondaryListener);
+            }
+        }
+        mSecondaryRegistered = true;
+    }
+
+    /**
+     * Remove location updates of the fused providers.
+     */
+    private void removeSecondaryUpdates() {
+        if (mSecondaryRegistered) {
+            mLocationManager.removeUpdates(mSecondaryListener);
+            mSecondaryRegistered = false;
+        }
+    }
+
+    /**
+     * Register or remove location updates of the fused providers,
+     * when they become needed or are no longer needed.
+     */
+    private void updateSecondaryUpdates() {
+        if (!isSetLocationProvider() || mLocationManager == null) {
+            return;
+        }
+
+        boolean needed = isSecondaryUpdatesNeeded();
+        try {
+            if (needed && !mSecondaryRegistered) {
+                registerSecondaryUpdates();
+            } else if (!needed) {
+                removeSecondaryUpdates();
+            }
+        } catch (SecurityException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Check if the current provider is stale,
+     * after the time it should deliver a fix.
+     */
+    private void scheduleStaleCheck() {
+        mMainHandler.removeCallbacks(mStaleCheck);
+        mMainHandler.postDelayed(mStaleCheck, LocationFusion.getStaleTime(
+                mUpdateScheduler.getUpdateTime()) + 1);
+    }
+
+    /**
+     * Registers the fused providers when the current provider is stale.
+     */
+    private final Runnable mStaleCheck = new Runnable() {
+        @Override
+        public void run() {
+            updateSecondaryUpdates();
+        }
+    };
+
+    /**
+     * Adapt the location update rate to the current navigation state,
+     * location updates are only registered again if the rate changes.
+     */
+    private void adaptLocationUpdateRate() {
+        if (!mUpdateScheduler.update(getNavigationSnapshot())
+                || !isSetLocationProvider()
+                || mLocationManager == null) {
+            return;
+        }
+
+        try {
+            registerLocationUpdates();
+        } catch (SecurityException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Listener object to connect with LocationManager and retrieve updates.
      */
@@ -658,8 +1242,22 @@ public class LocationService extends Service
 
         @Override
         public void onLocationChanged(final Location location) {
+            // the current provider delivered a fix,
+            // fused providers are only needed if fusion is enabled
+            if (location != null
+                    && location.getProvider() != null
+                    && location.getProvider().equals(mProviderName)) {
+                mLocationFusion.setPrimaryFixTime(
+                        SystemClock.elapsedRealtime());
+                updateSecondaryUpdates();
+                scheduleStaleCheck();
+            }
+
+            Metrics.increment(Metrics.Counter.LocationFix);
+
             // When new location update is received, update current location
             setLocation(location);
+            adaptLocationUpdateRate();
 
             // display message on update
             if (mDebug != null
@@ -673,17 +1271,9 @@ public class LocationService extends Service
             }
 
             // Notify bound Activities of Location Update
-            final int callbacksCount = mCallbacks.beginBroadcast();
-            for (int i = 0; i < callbacksCount; i++) {
-                try {
-                    mCallbacks.getBroadcastItem(i).locationUpdated();
-                } catch (RemoteException e) {
-                    // The RemoteCallbackList will take care of removing
-                    // the dead object for us.
-                    e.printStackTrace();
-                }
+            if (mBroadcastThrottle.requestLocationUpdate()) {
+                scheduleBroadcast();
             }
-            mCallbacks.finishBroadcast();
         }
 
         @Override
@@ -704,23 +1294,166 @@ public class LocationService extends Service
     };
 
     /**
-     * Called when the orientation value changes.
+     * Listener of the fused providers, registered separately,
+     * so their updates can be removed without removing the updates
+     * of the current provider.
+     */
+    private final LocationListener mSecondaryListener
+            = new LocationListener() {
+
+        @Override
+        public void onLocationChanged(final Location location) {
+            mListener.onLocationChanged(location);
+        }
+
+        @Override
+        public void onProviderDisabled(final String provider) {
+            mListener.onProviderDisabled(provider);
+        }
+
+        @Override
+        public void onProviderEnabled(final String provider) {
+            mListener.onProviderEnabled(provider);
+        }
+
+        @Override
+        public void onStatusChanged(
+                final String provider, final int status, final Bundle extras) {
+            mListener.onStatusChanged(provider, status, extras);
+        }
+    };
+
+    /**
+     * Start a background thread to process sensor events,
+     * orientation updates are coalesced and posted to the main thread.
+     */
+    private void startSensorThread() {
+        mSensorThread = new HandlerThread("SensorOrientation",
+                Process.THREAD_PRIORITY_DISPLAY);
+        mSensorThread.start();
+        mSensorHandler = new Handler(mSensorThread.getLooper());
+        mSensorOrientation.setSensorHandler(mSensorHandler);
+
+        mOrientationUpdate = new UpdateCoalescer(
+                new Executor() {
+                    @Override
+                    public void execute(final Runnable command) {
+                        mMainHandler.postAtTime(command,
+                                mOrientationUpdateToken,
+                                SystemClock.uptimeMillis());
+                    }
+                },
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        notifyOrientationUpdated();
+                    }
+                });
+    }
+
+    /**
+     * Stop the sensor processing thread.
+     */
+    private void stopSensorThread() {
+        if (mSensorThread == null) {
+            return;
+        }
+
+        // drop orientation updates that are still pending,
+        // before the thread is stopped
+        mOrientationUpdate = null;
+        mMainHandler.removeCallbacksAndMessages(mOrientationUpdateToken);
+        mSensorHandler.removeCallbacksAndMessages(null);
+
+        mSensorOrientation.setSensorHandler(null);
+        mSensorThread.quit();
+        mSensorThread = null;
+        mSensorHandler = null;
+    }
+
+    /**
+     * Called when the orientation value changes,
+     * on the sensor thread if it is enabled.
      */
     public final void onOrientationChanged() {
-        // Notify bound Activities of orientation Update
-        final int noCallbacks = mCallbacks.beginBroadcast();
-        for (int i = 0; i < noCallbacks; i++) {
-            try {
-                mCallbacks.getBroadcastItem(i).orientationUpdated();
-            } catch (RemoteException e) {
-                // The RemoteCallbackList will take care of removing
-                // the dead object for us.
-                e.printStackTrace();
-            }
+        UpdateCoalescer orientationUpdate = mOrientationUpdate;
+        if (orientationUpdate != null) {
+            orientationUpdate.request();
+        } else {
+            notifyOrientationUpdated();
+        }
+    }
+
+    /**
+     * Notify bound activities of the updated orientation,
+     * on the main thread.
+     * The navigation snapshot is published when the broadcast is dispatched,
+     * not on every sensor event.
+     */
+    private void notifyOrientationUpdated() {
+        if (mNavigator == null) {
+            return;
         }
-        mCallbacks.finishBroadcast();
+
+        // Notify bound Activities of orientation Update,
+        // if the displayed bearing changed enough
+        if (mBroadcastThrottle.requestOrientationUpdate(
+                mNavigator.getCurrentBearing())) {
+            Metrics.increment(Metrics.Counter.OrientationUpdate);
+            scheduleBroadcast();
+        } else {
+            Metrics.increment(Metrics.Counter.SkippedOrientationUpdate);
+        }
+    }
+
+    /**
+     * Schedule notifying bound activities of pending updates,
+     * after the minimal interval since the previous notification.
+     */
+    private void scheduleBroadcast() {
+        long delay = mBroadcastThrottle.getDelay(Tools.getTimestampNano());
+        mMainHandler.postDelayed(mBroadcastUpdate,
+                (delay + Tools.MILLI_IN_NANO - 1) / Tools.MILLI_IN_NANO);
     }
 
+    /**
+     * Notifies bound activities of pending location and orientation updates,
+     * with one callback.
+     * A navigation snapshot is published once per broadcast,
+     * so the activities read the latest orientation.
+     */
+    private final Runnable mBroadcastUpdate = new Runnable() {
+        @Override
+        public void run() {
+            int updates = mBroadcastThrottle.dispatch(
+                    Tools.getTimestampNano());
+            if (updates == BroadcastThrottle.UPDATE_NONE) {
+                return;
+            }
+
+            publishNavigationSnapshot();
+
+            long start = Metrics.start();
+            final int noCallbacks = mCallbacks.beginBroadcast();
+            for (int i = 0; i < noCallbacks; i++) {
+                try {
+                    // a location update refreshes orientation as well
+                    if ((updates & BroadcastThrottle.UPDATE_LOCATION) != 0) {
+                        mCallbacks.getBroadcastItem(i).locationUpdated();
+                    } else {
+                        mCallbacks.getBroadcastItem(i).orientationUpdated();
+                    }
+                } catch (RemoteException e) {
+                    // The RemoteCallbackList will take care of removing
+                    // the dead object for us.
+                    e.printStackTrace();
+                }
+            }
+            mCallbacks.finishBroadcast();
+            Metrics.stop(Metrics.Stage.Broadcast, start);
+        }
+    };
+
     /**
      * Class used for the client Binder. Because we know this service always
      * runs in the same process as its clients, we don't need to deal with IPC.
@@ -32,10 +32,9 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import com.github.ruleant.getback_gps.lib.AriadneLocation;
-import com.github.ruleant.getback_gps.lib.CardinalDirection;
 import com.github.ruleant.getback_gps.lib.DebugLevel;
 import com.github.ruleant.getback_gps.lib.FormatUtils;
-import com.github.ruleant.getback_gps.lib.Navigator;
+import com.github.ruleant.getback_gps.lib.NavigationSnapshot;
 
 /**
  * Main Activity class.
@@ -135,17 +134,17 @@ public class MainActivity extends AbstractGetBackGpsActivity
         refreshCurrentViews(false);
 
         // only refresh items if activity is bound to service
-        // connection state is checked in getNavigator
-        Navigator navigator = getNavigator();
+        // connection state is checked in getNavigationSnapshot
+        NavigationSnapshot navigation = getNavigationSnapshot();
 
-        if (navigator == null) {
+        if (navigation == null) {
             return false;
         }
 
         Resources res = getResources();
 
         // get Destination from service
-        AriadneLocation destination = navigator.getDestination();
+        AriadneLocation destination = navigation.getDestination();
 
         // Refresh Directions to destination
         NavigationView nvToDestination
@@ -185,14 +184,14 @@ public class MainActivity extends AbstractGetBackGpsActivity
         if (destination == null) {
             toDestinationMessage
                     = res.getString(R.string.no_destination);
-        } else if (navigator.isDestinationReached()) {
+        } else if (navigation.isDestinationReached()) {
             toDestinationMessage
                     = res.getString(R.string.destination_reached);
         } else {
             displayToDest = true;
 
             // Set destination name
-            toDestinationNameText = navigator.getDestination().getName();
+            toDestinationNameText = navigation.getDestination().getName();
 
             // if name is not set, use 'location name'
             if (toDestinationNameText == null
@@ -218,46 +217,44 @@ public class MainActivity extends AbstractGetBackGpsActivity
                             + SHORTENER;
             }
 
-            if (navigator.isLocationAccurate()) {
+            if (navigation.isLocationAccurate()) {
                 // Set distance to destination
-                toDestinationDistanceText
-                        = FormatUtils.formatDist(navigator.getDistance(), this);
+                toDestinationDistanceText = FormatUtils.formatDist(
+                        navigation.getDistance(), this);
 
                 // Set height difference
                 if (destination.hasAltitude() &&
-                        getService().getLocation().hasAltitude()
+                        navigation.getLocation().hasAltitude()
                 ) {
                     heightDifferenceText = FormatUtils.formatHeight(
-                            navigator.getHeightDifference(),
+                            navigation.getHeightDifference(),
                             this
                     );
                 }
 
                 // Set direction to destination
-                CardinalDirection cd = new CardinalDirection(
-                        this,
+                toDestinationDirectionText = getDirectionFormatter().format(
                         FormatUtils.normalizeAngle(
-                                navigator.getAbsoluteDirection()));
-                toDestinationDirectionText = cd.format();
+                                navigation.getAbsoluteDirection()));
 
                 // if bearing is accurate, display relative direction
                 // if not, display absolute direction
-                if (navigator.isBearingAccurate()) {
+                if (navigation.isBearingAccurate()) {
                     nvToDestination.setDirection(
-                            navigator.getRelativeDirection());
+                            navigation.getRelativeDirection());
                     nvNavigationMode = NavigationView.Mode.Accurate;
                 } else {
                     nvToDestination.setDirection(
-                            navigator.getAbsoluteDirection());
+                            navigation.getAbsoluteDirection());
                     nvNavigationMode = NavigationView.Mode.Inaccurate;
                 }
             }
         }
 
         // if orientation is accurate, display compass rose
-        if (navigator.isBearingAccurate()) {
+        if (navigation.isBearingAccurate()) {
             nvToDestination.setAzimuth(
-                    navigator.getCurrentBearing());
+                    navigation.getCurrentBearing());
             nvOrientationMode = NavigationView.Mode.Accurate;
         }
 
@@ -28,6 +28,7 @@ import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.view.ViewGroup;
@@ -37,6 +38,7 @@ import com.github.ruleant.getback_gps.lib.Coordinate;
 import com.github.ruleant.getback_gps.lib.CoordinateRotation;
 import com.github.ruleant.getback_gps.lib.Coordinates;
 import com.github.ruleant.getback_gps.lib.FormatUtils;
+import com.github.ruleant.getback_gps.lib.Metrics;
 
 import de.keyboardsurfer.android.widget.crouton.Style;
 
@@ -116,6 +118,57 @@ public class NavigationView extends ImageView {
      */
     private Coordinate mRotationCenter;
 
+    /**
+     * Number of compass rose arms.
+     */
+    private static final int ROSE_ARMS = 4;
+
+    /**
+     * Cached compass rose solid bodies, one Path per arm.
+     */
+    private final Path[] mRoseBodyPaths = new Path[ROSE_ARMS];
+
+    /**
+     * Cached compass rose lines, one array per arm.
+     */
+    private final float[][] mRoseLines = new float[ROSE_ARMS][];
+
+    /**
+     * Cached arrow solid body (right part).
+     */
+    private final Path mArrowBodyRightPath = new Path();
+
+    /**
+     * Cached arrow solid body (left part).
+     */
+    private final Path mArrowBodyLeftPath = new Path();
+
+    /**
+     * Cached arrow lines.
+     */
+    private float[] mArrowLinesArray;
+
+    /**
+     * Compass rose rotation of the cached compass rose,
+     * NaN if the cache is invalid.
+     */
+    private double mCachedRoseRotation = Double.NaN;
+
+    /**
+     * Direction of the cached arrow, NaN if the cache is invalid.
+     */
+    private double mCachedDirection = Double.NaN;
+
+    /**
+     * View width the cached shapes were calculated for.
+     */
+    private int mCachedWidth = 0;
+
+    /**
+     * View height the cached shapes were calculated for.
+     */
+    private int mCachedHeight = 0;
+
     /**
      * Direction to destination.
      */
@@ -370,6 +423,8 @@ public class NavigationView extends ImageView {
 
     @Override
     public final void onDraw(final Canvas canvas) {
+        long start = Metrics.start();
+
         // scale View if it is not square
         if (getWidth() != getHeight()) {
             ViewGroup.LayoutParams layoutParams = getLayoutParams();
@@ -385,49 +440,80 @@ public class NavigationView extends ImageView {
             setLayoutParams(layoutParams);
         }
 
-        // Set up rotation converter
-        mRotationCenter.setCartesianCoordinate(getWidth() / 2, getHeight() / 2);
-        double mRoseRotation = getAzimuth();
-        mRoseRotationConverter.setScaleRadius((double) getHeight() / 2);
-        mRotationConverter.setRotationAngle(getDirection());
-        mRotationConverter.setScaleRadius((double) getHeight() / 2);
-        // no need to reassign mRotationCenter to mRotationConverter,
-        // and mRotationConverter to mArrowLines, mArrowBodyLeft/Right,
-        // the instances were assigned in init().
+        int width = getWidth();
+        int height = getHeight();
+        double roseRotation = getAzimuth();
+        double direction = getDirection();
+
+        // Set up rotation converters, only when the view size changes
+        if (width != mCachedWidth || height != mCachedHeight) {
+            mRotationCenter.setCartesianCoordinate(width / 2, height / 2);
+            mRoseRotationConverter.setScaleRadius((double) height / 2);
+            mRotationConverter.setScaleRadius((double) height / 2);
+            // no need to reassign mRotationCenter to mRotationConverter,
+            // and mRotationConverter to mArrowLines, mArrowBodyLeft/Right,
+            // the instances were assigned in init().
+
+            mCachedWidth = width;
+            mCachedHeight = height;
+            invalidateShapeCache();
+        }
 
         // draw circle with diameter scaled to length of compass rose arrow
         canvas.drawCircle(
                 mRotationCenter.getCartesianX(),
                 mRotationCenter.getCartesianY(),
-                ((float) getHeight() / 2) * (float) ROSE_LENGTH,
+                ((float) height / 2) * (float) ROSE_LENGTH,
                 mPaintRoseLines);
 
         // draw compass rose
         if (getOrientationMode() == Mode.Accurate) {
-            mRoseRotationConverter.setRotationAngle(mRoseRotation);
-            canvas.drawPath(mCompassRoseBody.toPath(), mPaintRoseSolidNorth);
-            canvas.drawLines(mCompassRose.toLinesArray(), mPaintRoseLines);
-
-            mRoseRotationConverter.setRotationAngle(
-                    FormatUtils.CIRCLE_1Q + mRoseRotation);
-            canvas.drawPath(mCompassRoseBody.toPath(), mPaintRoseSolids);
-            canvas.drawLines(mCompassRose.toLinesArray(), mPaintRoseLines);
-
-            mRoseRotationConverter.setRotationAngle(
-                    FormatUtils.CIRCLE_HALF + mRoseRotation);
-            canvas.drawPath(mCompassRoseBody.toPath(), mPaintRoseSolids);
-            canvas.drawLines(mCompassRose.toLinesArray(), mPaintRoseLines);
-
-            mRoseRotationConverter.setRotationAngle(
-                    FormatUtils.CIRCLE_3Q + mRoseRotation);
-            canvas.drawPath(mCompassRoseBody.toPath(), mPaintRoseSolids);
-            canvas.drawLines(mCompassRose.toLinesArray(), mPaintRoseLines);
+            // recalculate compass rose only when the rotation changes
+            if (roseRotation != mCachedRoseRotation) {
+                for (int i = 0; i < ROSE_ARMS; i++) {
+                    mRoseRotationConverter.setRotationAngle(
+                            FormatUtils.CIRCLE_1Q * i + roseRotation);
+                    mCompassRoseBody.toPath(mRoseBodyPaths[i]);
+                    mRoseLines[i] = mCompassRose.toLinesArray(mRoseLines[i]);
+                }
+                mCachedRoseRotation = roseRotation;
+            }
+
+            for (int i = 0; i < ROSE_ARMS; i++) {
+                // North arm has a different color
+                if (i == 0) {
+                    canvas.drawPath(mRoseBodyPaths[i], mPaintRoseSolidNorth);
+                } else {
+                    canvas.drawPath(mRoseBodyPaths[i], mPaintRoseSolids);
+                }
+                canvas.drawLines(mRoseLines[i], mPaintRoseLines);
+            }
+        }
+
+        // recalculate arrow only when the direction changes
+        if (direction != mCachedDirection) {
+            mRotationConverter.setRotationAngle(direction);
+            mArrowBodyRight.toPath(mArrowBodyRightPath);
+            mArrowBodyLeft.toPath(mArrowBodyLeftPath);
+            mArrowLinesArray = mArrowLines.toLinesArray(mArrowLinesArray);
+            mCachedDirection = direction;
         }
 
         // draw arrow to destination
-        canvas.drawPath(mArrowBodyRight.toPath(), mPaintSolids);
-        canvas.drawPath(mArrowBodyLeft.toPath(), mPaintArrowSolidWhite);
-        canvas.drawLines(mArrowLines.toLinesArray(), mPaintLines);
+        canvas.drawPath(mArrowBodyRightPath, mPaintSolids);
+        canvas.drawPath(mArrowBodyLeftPath, mPaintArrowSolidWhite);
+        canvas.drawLines(mArrowLinesArray, mPaintLines);
+
+        Metrics.stop(Metrics.Stage.Draw, start);
+    }
+
+    /**
+     * Invalidate cached compass rose and arrow shapes,
+     * they will be recalculated when the view is drawn.
+     */
+    private void invalidateShapeCache() {
+        mCachedRoseRotation = Double.NaN;
+        mCachedDirection = Double.NaN;
     }
 
     /**
@@ -460,6 +546,11 @@ public class NavigationView extends ImageView {
             mPaintSolids.setColor(Color.RED);
         }
 
+        // initialise cached compass rose paths
+        for (int i = 0; i < ROSE_ARMS; i++) {
+            mRoseBodyPaths[i] = new Path();
+        }
+
         // initialise rotationConverter
         mRotationCenter = new Coordinate(0, 0);
         mRotationConverter = new CoordinateRotation(mRotationCenter, 0.0, 1.0);
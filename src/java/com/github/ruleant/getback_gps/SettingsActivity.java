@@ -101,12 +101,48 @@ public class SettingsActivity extends PreferenceActivity {
      */
     public static final int GEO_ORIENTATION_SENSOR_CALCULATED = 2;
 
+    /**
+     * Geo orientation sensor value : gyroscope or rotation vector
+     * fused with magnetic field sensor.
+     */
+    public static final int GEO_ORIENTATION_SENSOR_FUSED = 3;
+
     /**
      * Default value of preference Default geo orientation sensor :
      * automatic.
      */
     public static final String DEFAULT_PREF_GEO_ORIENTATION_SENSOR = "0";
 
+    /**
+     * Key of preference Process sensor events on a separate thread.
+     */
+    public static final String KEY_PREF_SENSOR_THREAD = "sensor_thread";
+
+    /**
+     * Default value of preference Process sensor events on a separate thread.
+     */
+    public static final boolean DEFAULT_PREF_SENSOR_THREAD = false;
+
+    /**
+     * Key of preference Save track.
+     */
+    public static final String KEY_PREF_RECORD_TRACK = "record_track";
+
+    /**
+     * Default value of preference Save track : disabled.
+     */
+    public static final boolean DEFAULT_PREF_RECORD_TRACK = false;
+
+    /**
+     * Key of preference Combine location providers.
+     */
+    public static final String KEY_PREF_LOCATION_FUSION = "location_fusion";
+
+    /**
+     * Default value of preference Combine location providers : disabled.
+     */
+    public static final boolean DEFAULT_PREF_LOCATION_FUSION = false;
+
     /**
      * 60 seconds.
      */
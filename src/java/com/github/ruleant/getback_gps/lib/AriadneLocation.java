@@ -69,6 +69,17 @@ public class AriadneLocation extends Location {
         super(location);
     }
 
+    /**
+     * Create a copy of this location, including the name.
+     *
+     * @return new AriadneLocation instance
+     */
+    public AriadneLocation copy() {
+        AriadneLocation location = new AriadneLocation(this);
+        location.setName(mName);
+        return location;
+    }
+
     /**
      * Checks if the timestamp of the provided location
      * is more recent than this location.
@@ -0,0 +1,47 @@
+/**
+ * Interface for classes converting sets of coordinates in one pass.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Interface for classes converting sets of coordinates in one pass.
+ *
+ * Unconverted coordinates are passed as primitive arrays of x and y,
+ * converted coordinates are packed in one array : x0, y0, x1, y1, ...
+ * This allows the converter to set up the transformation once
+ * for the whole set, instead of once per coordinate.
+ *
+ * @author Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public interface BatchCoordinateConverterInterface
+        extends CoordinateConverterInterface {
+    /**
+     * Converts a set of Cartesian coordinates.
+     *
+     * @param sourceX unconverted X coordinates
+     * @param sourceY unconverted Y coordinates
+     * @param destination array the converted coordinates are stored in
+     *                    (x0, y0, x1, y1, ...)
+     * @param count number of coordinates to convert
+     */
+    void convertCoordinates(float[] sourceX, float[] sourceY,
+                            float[] destination, int count);
+}
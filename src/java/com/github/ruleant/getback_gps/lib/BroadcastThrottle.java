@@ -0,0 +1,203 @@
+/**
+ * Coalesces and rate-limits update notifications.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Coalesces location and orientation updates into at most one
+ * notification per interval, and drops orientation updates
+ * that change less than an angular epsilon.
+ *
+ * Not thread safe, all methods should be called from the same thread.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class BroadcastThrottle {
+    /**
+     * No update pending.
+     */
+    public static final int UPDATE_NONE = 0;
+
+    /**
+     * Location update pending.
+     */
+    public static final int UPDATE_LOCATION = 1;
+
+    /**
+     * Orientation update pending.
+     */
+    public static final int UPDATE_ORIENTATION = 2;
+
+    /**
+     * Minimal interval between notifications in nanoseconds.
+     */
+    private final long mMinInterval;
+
+    /**
+     * Minimal orientation change in degrees.
+     */
+    private final double mAngleEpsilon;
+
+    /**
+     * Pending updates, combination of UPDATE_* flags.
+     */
+    private int mPending = UPDATE_NONE;
+
+    /**
+     * Orientation of the pending update.
+     */
+    private double mPendingOrientation = 0;
+
+    /**
+     * Orientation of the last notification.
+     */
+    private double mNotifiedOrientation = 0;
+
+    /**
+     * True if an orientation was notified.
+     */
+    private boolean mHasNotifiedOrientation = false;
+
+    /**
+     * Timestamp of the last notification in nanoseconds.
+     */
+    private long mNotifiedTimestamp = 0;
+
+    /**
+     * True if a notification was sent.
+     */
+    private boolean mHasNotified = false;
+
+    /**
+     * Constructor.
+     *
+     * @param minInterval minimal interval between notifications
+     *                    in nanoseconds
+     * @param angleEpsilon minimal orientation change in degrees
+     */
+    public BroadcastThrottle(final long minInterval,
+                             final double angleEpsilon) {
+        if (minInterval < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter minInterval should not be negative");
+        }
+        if (angleEpsilon < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter angleEpsilon should not be negative");
+        }
+
+        mMinInterval = minInterval;
+        mAngleEpsilon = angleEpsilon;
+    }
+
+    /**
+     * Request a notification of a location update.
+     *
+     * @return true if a notification should be scheduled,
+     *         false if one is already pending
+     */
+    public final boolean requestLocationUpdate() {
+        boolean schedule = mPending == UPDATE_NONE;
+        mPending |= UPDATE_LOCATION;
+        return schedule;
+    }
+
+    /**
+     * Request a notification of an orientation update.
+     * The update is dropped if the orientation changed less than
+     * the angular epsilon since the last notification.
+     *
+     * @param orientation new orientation in degrees
+     * @return true if a notification should be scheduled,
+     *         false if the update is dropped or one is already pending
+     */
+    public final boolean requestOrientationUpdate(final double orientation) {
+        // a pending orientation update is replaced, never dropped
+        if ((mPending & UPDATE_ORIENTATION) == 0 && mHasNotifiedOrientation
+                && getAngleDifference(orientation, mNotifiedOrientation)
+                < mAngleEpsilon) {
+            return false;
+        }
+
+        boolean schedule = mPending == UPDATE_NONE;
+        mPending |= UPDATE_ORIENTATION;
+        mPendingOrientation = orientation;
+        return schedule;
+    }
+
+    /**
+     * Delay before the pending notification can be sent.
+     *
+     * @param timestamp current timestamp in nanoseconds
+     * @return delay in nanoseconds, 0 if it can be sent now
+     */
+    public final long getDelay(final long timestamp) {
+        if (!mHasNotified) {
+            return 0;
+        }
+
+        return Math.max(0, mNotifiedTimestamp + mMinInterval - timestamp);
+    }
+
+    /**
+     * Take the pending updates, to send the notification.
+     *
+     * @param timestamp current timestamp in nanoseconds
+     * @return pending updates, combination of UPDATE_* flags
+     */
+    public final int dispatch(final long timestamp) {
+        int pending = mPending;
+        if (pending == UPDATE_NONE) {
+            return pending;
+        }
+
+        if ((pending & UPDATE_ORIENTATION) != 0) {
+            mNotifiedOrientation = mPendingOrientation;
+            mHasNotifiedOrientation = true;
+        }
+        mPending = UPDATE_NONE;
+        mNotifiedTimestamp = timestamp;
+        mHasNotified = true;
+        return pending;
+    }
+
+    /**
+     * Smallest difference between two angles.
+     *
+     * @param angle1 angle in degrees
+     * @param angle2 angle in degrees
+     * @return difference in degrees (0°-180°)
+     */
+    private static double getAngleDifference(final double angle1,
+                                             final double angle2) {
+        double difference = FormatUtils.normalizeAngle(angle1 - angle2);
+        return Math.min(difference, FormatUtils.CIRCLE_FULL - difference);
+    }
+
+    /**
+     * Checks if an update is pending.
+     *
+     * @return true if an update is pending
+     */
+    public final boolean isPending() {
+        return mPending != UPDATE_NONE;
+    }
+}
@@ -111,6 +111,27 @@ public class CardinalDirection extends AbstractGeoCoordinate {
      */
     public static final String SEGMENT_NW_UNIT = "NW";
 
+    /**
+     * Number of lookup table cells per degree (0.1° resolution).
+     */
+    static final int CELLS_PER_DEGREE = 10;
+
+    /**
+     * Segment code of each 0.1° cell in range 0°..360°.
+     * Cell i contains the angles in range ](i - 1) / 10, i / 10],
+     * segment limits are multiples of 0.1°, so each cell is
+     * within a single segment.
+     */
+    private static final byte[] SEGMENTS
+            = new byte[(int) SEGMENT_NW_HIGH * CELLS_PER_DEGREE + 1];
+
+    static {
+        for (int i = 0; i < SEGMENTS.length; i++) {
+            SEGMENTS[i] = (byte) calculateSegment(
+                    (double) i / CELLS_PER_DEGREE);
+        }
+    }
+
     /**
      * Constructor.
      *
@@ -148,7 +169,31 @@ public class CardinalDirection extends AbstractGeoCoordinate {
      * @return segment code.
      */
     public final int getSegment() {
-        double coordinate = getValue();
+        return lookupSegment(getValue());
+    }
+
+    /**
+     * Determine the segment of an angle, using a lookup table.
+     *
+     * @param angle Angle in °
+     * @return segment code, 0 if angle is not in range 0..360
+     */
+    static int lookupSegment(final double angle) {
+        // also rejects NaN
+        if (!(angle >= SEGMENT_NE_LOW && angle <= SEGMENT_NW_HIGH)) {
+            return 0;
+        }
+
+        return SEGMENTS[(int) Math.ceil(angle * CELLS_PER_DEGREE)];
+    }
+
+    /**
+     * Determine the segment of an angle, used to fill the lookup table.
+     *
+     * @param coordinate Angle in °
+     * @return segment code, 0 if angle is not in range 0..360
+     */
+    private static int calculateSegment(final double coordinate) {
         int retVal = 0;
 
         if (coordinate <= SEGMENT_NE_HIGH && coordinate >= SEGMENT_NE_LOW) {
@@ -0,0 +1,187 @@
+/**
+ * Reusable formatter of cardinal directions.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import com.github.ruleant.getback_gps.R;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Reusable formatter of cardinal directions.
+ *
+ * Formats an angle like CardinalDirection.format(), without creating
+ * a CardinalDirection object. The segment is looked up in a table,
+ * the localized segment units are looked up once, and a formatted
+ * direction is cached for every whole degree and segment.
+ * An angle out of range (or NaN) is formatted as 'none',
+ * like AbstractGeoCoordinate.format().
+ * Not thread safe, use one formatter per thread, e.g. per activity.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public final class CardinalDirectionFormatter {
+    /**
+     * Number of segments.
+     */
+    private static final int SEGMENT_COUNT = 4;
+
+    /**
+     * Number of whole degrees in range 0°..360°.
+     */
+    private static final int DEGREE_COUNT = (int) FormatUtils.CIRCLE_FULL + 1;
+
+    /**
+     * Untranslated text of an invalid angle.
+     */
+    static final String NONE = "None";
+
+    /**
+     * Localized segment units, indexed by segment code - 1.
+     */
+    private final String[] mUnits = new String[SEGMENT_COUNT];
+
+    /**
+     * Localized text of an invalid angle.
+     */
+    private final String mNone;
+
+    /**
+     * Formatted directions, indexed by segment code - 1 and whole degree,
+     * null if not formatted yet.
+     */
+    private final String[][] mLabels
+            = new String[SEGMENT_COUNT][DEGREE_COUNT];
+
+    /**
+     * Locale of the formatted directions.
+     */
+    private Locale mLocale = null;
+
+    /**
+     * Constructor.
+     *
+     * @param context App Context, if null, untranslated units are used.
+     */
+    public CardinalDirectionFormatter(final Context context) {
+        if (context == null) {
+            setUnit(CardinalDirection.SEGMENT_NORTHEAST,
+                    CardinalDirection.SEGMENT_NE_UNIT);
+            setUnit(CardinalDirection.SEGMENT_SOUTHEAST,
+                    CardinalDirection.SEGMENT_SE_UNIT);
+            setUnit(CardinalDirection.SEGMENT_SOUTHWEST,
+                    CardinalDirection.SEGMENT_SW_UNIT);
+            setUnit(CardinalDirection.SEGMENT_NORTHWEST,
+                    CardinalDirection.SEGMENT_NW_UNIT);
+            mNone = NONE;
+        } else {
+            Resources res = context.getResources();
+            setUnit(CardinalDirection.SEGMENT_NORTHEAST,
+                    res.getString(R.string.northeast_unit));
+            setUnit(CardinalDirection.SEGMENT_SOUTHEAST,
+                    res.getString(R.string.southeast_unit));
+            setUnit(CardinalDirection.SEGMENT_SOUTHWEST,
+                    res.getString(R.string.southwest_unit));
+            setUnit(CardinalDirection.SEGMENT_NORTHWEST,
+                    res.getString(R.string.northwest_unit));
+            mNone = res.getString(R.string.none);
+        }
+    }
+
+    /**
+     * Set the unit of a segment.
+     *
+     * @param segment segment code
+     * @param unit unit
+     */
+    private void setUnit(final int segment, final String unit) {
+        mUnits[segment - 1] = unit;
+    }
+
+    /**
+     * Get the segment unit of an angle.
+     *
+     * @param angle Angle in ° (0°-360°)
+     * @return unit
+     * @throws IllegalArgumentException if angle is out of range.
+     */
+    public String getSegmentUnit(final double angle) {
+        return mUnits[getSegmentIndex(angle)];
+    }
+
+    /**
+     * Format an angle to a cardinal direction, fe. "45° NE".
+     *
+     * @param angle Angle in ° (0°-360°)
+     * @return formatted direction, 'none' if angle is out of range.
+     */
+    public String format(final double angle) {
+        int segment = CardinalDirection.lookupSegment(angle) - 1;
+        if (segment < 0) {
+            return mNone;
+        }
+
+        Locale locale = Locale.getDefault();
+        if (!locale.equals(mLocale)) {
+            for (String[] labels : mLabels) {
+                Arrays.fill(labels, null);
+            }
+            mLocale = locale;
+        }
+
+        // angle is positive, so Math.round() rounds half up,
+        // like FormatUtils.formatAngle()
+        int degree = (int) Math.round(angle);
+        String label = mLabels[segment][degree];
+
+        if (label == null) {
+            label = FormatUtils.formatAngle(degree, 0)
+                    + " " + mUnits[segment];
+            mLabels[segment][degree] = label;
+        }
+
+        return label;
+    }
+
+    /**
+     * Get the segment index of an angle.
+     *
+     * @param angle Angle in ° (0°-360°)
+     * @return segment code - 1
+     * @throws IllegalArgumentException if angle is out of range.
+     */
+    private static int getSegmentIndex(final double angle) {
+        int segment = CardinalDirection.lookupSegment(angle);
+
+        if (segment == 0) {
+            throw new IllegalArgumentException(
+                    "angle is not in range "
+                            + CardinalDirection.SEGMENT_NE_LOW + " .. "
+                            + CardinalDirection.SEGMENT_NW_HIGH);
+        }
+
+        return segment - 1;
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Fuses a rotation rate with a reference heading.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Complementary filter fusing a rotation rate with a reference heading.
+ *
+ * The heading follows the integrated rotation rate (gyroscope),
+ * which is fast and smooth but drifts, and is slowly pulled towards
+ * the reference heading (magnetic field), which is absolute but jittery.
+ * The time constant defines after how many seconds the reference
+ * takes over.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class ComplementaryFilter {
+    /**
+     * Default time constant in seconds.
+     */
+    public static final double DEFAULT_TIME_CONSTANT = 1;
+
+    /**
+     * One second in nanoseconds.
+     */
+    private static final double SECOND_IN_NANO =
+            Tools.SECOND_IN_MILLIS * Tools.MILLI_IN_NANO;
+
+    /**
+     * Maximum time between rotation rates that is integrated,
+     * in nanoseconds. A longer gap means the sensor was paused.
+     */
+    private static final long MAX_INTEGRATION_STEP =
+            500 * Tools.MILLI_IN_NANO;
+
+    /**
+     * Time constant in seconds.
+     */
+    private final double mTimeConstant;
+
+    /**
+     * Current heading in degrees (0°-360°).
+     */
+    private double mHeading = 0;
+
+    /**
+     * True if a heading was set by a reference heading.
+     */
+    private boolean mHasHeading = false;
+
+    /**
+     * Timestamp in nanoseconds of the last rotation rate.
+     */
+    private long mRateTimestamp = 0;
+
+    /**
+     * Timestamp in nanoseconds of the last reference heading.
+     */
+    private long mReferenceTimestamp = 0;
+
+    /**
+     * Constructor, using the default time constant.
+     */
+    public ComplementaryFilter() {
+        this(DEFAULT_TIME_CONSTANT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param timeConstant time constant in seconds
+     * @throws IllegalArgumentException if timeConstant is not positive
+     */
+    public ComplementaryFilter(final double timeConstant) {
+        if (!(timeConstant > 0)) {
+            throw new IllegalArgumentException(
+                    "Parameter timeConstant should be positive");
+        }
+        mTimeConstant = timeConstant;
+    }
+
+    /**
+     * Integrates a rotation rate into the heading.
+     * Rates are ignored until a reference heading was set.
+     *
+     * @param rate rotation rate in degrees per second, clockwise
+     * @param timestamp timestamp in nanoseconds
+     */
+    public final void integrate(final double rate, final long timestamp) {
+        if (mHasHeading && mRateTimestamp != 0
+                && timestamp > mRateTimestamp
+                && timestamp - mRateTimestamp <= MAX_INTEGRATION_STEP) {
+            mHeading = FormatUtils.normalizeAngle(mHeading
+                    + rate * (timestamp - mRateTimestamp) / SECOND_IN_NANO);
+        }
+        mRateTimestamp = timestamp;
+    }
+
+    /**
+     * Corrects the heading with a reference heading.
+     * The weight of the reference grows with the time
+     * since the previous reference heading.
+     *
+     * @param heading reference heading in degrees
+     * @param timestamp timestamp in nanoseconds
+     */
+    public final void correct(final double heading, final long timestamp) {
+        if (!mHasHeading) {
+            mHeading = FormatUtils.normalizeAngle(heading);
+            mHasHeading = true;
+        } else if (timestamp > mReferenceTimestamp) {
+            double interval
+                    = (timestamp - mReferenceTimestamp) / SECOND_IN_NANO;
+            double weight = interval / (mTimeConstant + interval);
+            mHeading = FormatUtils.normalizeAngle(mHeading
+                    + weight * getRelativeAngle(heading, mHeading));
+        } else {
+            return;
+        }
+        mReferenceTimestamp = timestamp;
+    }
+
+    /**
+     * Returns true if a heading is available.
+     *
+     * @return true if a reference heading was set
+     */
+    public final boolean hasHeading() {
+        return mHasHeading;
+    }
+
+    /**
+     * Gets the current heading.
+     *
+     * @return heading in degrees (0°-360°)
+     */
+    public final double getHeading() {
+        return mHeading;
+    }
+
+    /**
+     * Resets the filter, the next reference heading starts again.
+     */
+    public final void reset() {
+        mHeading = 0;
+        mHasHeading = false;
+        mRateTimestamp = 0;
+        mReferenceTimestamp = 0;
+    }
+
+    /**
+     * Calculates the rotation rate around the vertical axis,
+     * by projecting the gyroscope rates on the gravity vector,
+     * so it is independent of how the device is held.
+     *
+     * @param rotationRate gyroscope values in radians per second
+     * @param gravity accelerometer values
+     * @return rotation rate in degrees per second, clockwise seen from above
+     * @throws IllegalArgumentException if a parameter is null
+     */
+    public static double getHeadingRate(final float[] rotationRate,
+                                        final float[] gravity) {
+        if (rotationRate == null || gravity == null) {
+            throw new IllegalArgumentException(
+                    "Parameters rotationRate and gravity should not be null");
+        }
+
+        double norm = Math.sqrt(gravity[0] * gravity[0]
+                + gravity[1] * gravity[1] + gravity[2] * gravity[2]);
+        if (norm == 0) {
+            return 0;
+        }
+
+        // gyroscope rates are counter clockwise, headings are clockwise
+        return -Math.toDegrees((rotationRate[0] * gravity[0]
+                + rotationRate[1] * gravity[1]
+                + rotationRate[2] * gravity[2]) / norm);
+    }
+
+    /**
+     * Calculates the smallest signed angle from one angle to another.
+     *
+     * @param angle target angle in degrees
+     * @param reference reference angle in degrees
+     * @return relative angle in degrees (-180°-180°)
+     */
+    private static double getRelativeAngle(final double angle,
+                                           final double reference) {
+        double difference = FormatUtils.normalizeAngle(angle - reference);
+        if (difference > FormatUtils.CIRCLE_HALF) {
+            difference -= FormatUtils.CIRCLE_FULL;
+        }
+        return difference;
+    }
+}
@@ -26,12 +26,23 @@ package com.github.ruleant.getback_gps.lib;
  *
  * @author Dieter Adriaenssens <ruleant@users.sourceforge.net>
  */
-public class CoordinateRotation  implements CoordinateConverterInterface {
+public class CoordinateRotation
+        implements BatchCoordinateConverterInterface {
     /**
      * Rotation angle in radians (0-2*PI).
      */
     private double mAngle;
 
+    /**
+     * Sine of the rotation angle, calculated when the angle is set.
+     */
+    private double mSinAngle;
+
+    /**
+     * Cosine of the rotation angle, calculated when the angle is set.
+     */
+    private double mCosAngle;
+
     /**
      * Rotation center.
      */
@@ -63,6 +74,8 @@ public class CoordinateRotation  implements CoordinateConverterInterface {
      */
     public final void setRotationAngle(final double angle) {
         mAngle = Math.toRadians(FormatUtils.normalizeAngle(angle));
+        mSinAngle = Math.sin(mAngle);
+        mCosAngle = Math.cos(mAngle);
     }
 
     /**
@@ -120,4 +133,48 @@ public class CoordinateRotation  implements CoordinateConverterInterface {
                 mCenter.getCartesianX() + Math.round(Math.sin(angle) * radius),
                 mCenter.getCartesianY() - Math.round(Math.cos(angle) * radius));
     }
+
+    /**
+     * Rotate a set of Cartesian coordinates with an angle, around a center.
+     *
+     * The same transformation as getConvertedCoordinate() is applied,
+     * written as one affine transformation, so sine and cosine
+     * of the rotation angle are not recalculated for every coordinate :
+     * X = Xc + scale * (sin(a) * x + cos(a) * y)
+     * Y = Yc - scale * (cos(a) * x - sin(a) * y)
+     *
+     * @param sourceX unconverted X coordinates
+     * @param sourceY unconverted Y coordinates
+     * @param destination array the converted coordinates are stored in
+     *                    (x0, y0, x1, y1, ...)
+     * @param count number of coordinates to convert
+     */
+    public final void convertCoordinates(final float[] sourceX,
+                                         final float[] sourceY,
+                                         final float[] destination,
+                                         final int count) {
+        if (sourceX == null || sourceY == null || destination == null
+                || sourceX.length < count || sourceY.length < count
+                || destination.length < count * 2) {
+            throw new IllegalArgumentException(
+                    "Parameters sourceX, sourceY and destination should "
+                        + "contain at least " + count + " coordinates");
+        }
+
+        // set up transformation matrix once for all coordinates
+        double m00 = mScaleRadius * mSinAngle;
+        double m01 = mScaleRadius * mCosAngle;
+        long centerX = mCenter.getCartesianX();
+        long centerY = mCenter.getCartesianY();
+
+        for (int i = 0; i < count; i++) {
+            double x = sourceX[i];
+            double y = sourceY[i];
+
+            destination[i * 2 + Coordinate.X]
+                    = centerX + Math.round(m00 * x + m01 * y);
+            destination[i * 2 + Coordinate.Y]
+                    = centerY - Math.round(m01 * x - m00 * y);
+        }
+    }
 }
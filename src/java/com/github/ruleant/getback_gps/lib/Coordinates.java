@@ -23,35 +23,44 @@ package com.github.ruleant.getback_gps.lib;
 
 import android.graphics.Path;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 
 /**
  * Coordinates is a container that can contain
  * multiple instances of a Coordinate class.
  *
+ * The coordinates are stored in primitive arrays
+ * (polar radius and angle, unconverted Cartesian x and y).
+ * Adding a coordinate replaces the arrays by a new set (copy-on-write),
+ * so exporting the coordinates (toPath(), toLinesArray())
+ * doesn't depend on any state of this instance and is safe
+ * to call from another thread while coordinates are added.
+ *
  * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
  */
 public class Coordinates {
     /**
-     * Collection of Coordinate instances.
+     * Current set of coordinates.
      */
-    private final ArrayList<Coordinate> mCoordinates;
+    private volatile Points mPoints = new Points(
+            new double[0], new double[0], new float[0], new float[0]);
 
     /**
-     * Iterator for Coordinates collection.
+     * Buffer for converted coordinates (x0, y0, x1, y1, ...),
+     * one per thread, so conversions don't allocate memory.
      */
-    private Iterator<Coordinate> mCoordinateIterator;
+    private static final ThreadLocal<float[]> CONVERTED_BUFFER
+            = new ThreadLocal<float[]>();
 
     /**
      * Coordinate converter.
      */
-    private CoordinateConverterInterface mCoordinateConverter;
+    private volatile CoordinateConverterInterface mCoordinateConverter;
 
     /**
      * Close line when exporting sets of coordinates.
      */
-    private boolean mCloseLine = true;
+    private volatile boolean mCloseLine = true;
 
     /**
      * Number of coordinates per line : x,y of start and end point.
@@ -82,7 +91,6 @@ public class Coordinates {
      * Constructor.
      */
     public Coordinates() {
-        mCoordinates = new ArrayList<Coordinate>();
     }
 
     /**
@@ -117,16 +125,34 @@ public class Coordinates {
 
     /**
      * Add coordinate with a Coordinate instance.
+     * The values of the coordinate are copied,
+     * changing the Coordinate instance afterwards has no effect.
      *
      * @param coordinate New Coordinate
      */
-    public final void addCoordinate(final Coordinate coordinate) {
+    public final synchronized void addCoordinate(final Coordinate coordinate) {
         if (coordinate == null) {
             throw new IllegalArgumentException(
                     "Parameter coordinate should not be null");
         }
 
-        mCoordinates.add(coordinate);
+        Points points = mPoints;
+        int size = points.mRadius.length;
+
+        double[] radius = Arrays.copyOf(points.mRadius, size + 1);
+        double[] angle = Arrays.copyOf(points.mAngle, size + 1);
+        float[] x = Arrays.copyOf(points.mX, size + 1);
+        float[] y = Arrays.copyOf(points.mY, size + 1);
+
+        radius[size] = coordinate.getPolarRadius();
+        angle[size] = coordinate.getPolarAngle();
+
+        double angleRadians = Math.toRadians(angle[size]);
+        x[size] = (float) (Math.cos(angleRadians) * radius[size]);
+        y[size] = (float) (Math.sin(angleRadians) * radius[size]);
+
+        // publish new set of coordinates
+        mPoints = new Points(radius, angle, x, y);
     }
 
     /**
@@ -161,16 +187,27 @@ public class Coordinates {
      * @return number of Coordinate instances
      */
     public final int getSize() {
-        return mCoordinates.size();
+        return mPoints.mRadius.length;
     }
 
     /**
      * Return Coordinates collection in array format.
+     * The coordinates are stored as values, so the array contains
+     * new Coordinate instances with a copy of the stored values,
+     * not the instances that were added.
+     * Changing them has no effect on the collection.
      *
      * @return array with Coordinate instances
      */
     public final Object[] toArray() {
-        return mCoordinates.toArray();
+        Points points = mPoints;
+        Object[] array = new Object[points.mRadius.length];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = points.getCoordinate(i);
+        }
+
+        return array;
     }
 
     /**
@@ -179,30 +216,39 @@ public class Coordinates {
      * @return coordinates as Path instance
      */
     public final Path toPath() {
-        Path path = new Path();
+        return toPath(new Path());
+    }
 
-        // 2 points or more are required to draw a line
-        if (getSize() <= 1) {
-            return path;
+    /**
+     * Return Coordinates as Path, reusing an existing Path instance.
+     * The existing contents of the Path are cleared.
+     *
+     * @param path Path instance to fill
+     * @return coordinates as Path instance (= path parameter)
+     */
+    public final Path toPath(final Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException(
+                    "Parameter path should not be null");
         }
 
-        long[] firstPoint = getFirstCoordinateCartesian();
-        // skip point if it is null
-        while (firstPoint == null) {
-            firstPoint = getNextCoordinateCartesian();
+        path.rewind();
+
+        Points points = mPoints;
+        int totalPoints = points.mRadius.length;
+
+        // 2 points or more are required to draw a line
+        if (totalPoints <= 1) {
+            return path;
         }
 
-        path.moveTo(firstPoint[Coordinate.X], firstPoint[Coordinate.Y]);
+        float[] converted = convertCoordinates(points);
 
-        long[] currentPoint;
-        while (mCoordinateIterator.hasNext()) {
-            currentPoint = getNextCoordinateCartesian();
+        path.moveTo(converted[Coordinate.X], converted[Coordinate.Y]);
 
-            // skip point if it is null
-            if (currentPoint != null) {
-                path.lineTo(currentPoint[Coordinate.X],
-                        currentPoint[Coordinate.Y]);
-            }
+        for (int i = 2; i < totalPoints * 2; i += 2) {
+            path.lineTo(converted[i + Coordinate.X],
+                    converted[i + Coordinate.Y]);
         }
 
         if (mCloseLine) {
@@ -218,7 +264,20 @@ public class Coordinates {
      * @return coordinates as array
      */
     public final float[] toLinesArray() {
-        int totalPoints = getSize();
+        return toLinesArray(null);
+    }
+
+    /**
+     * Return Coordinates as Canvas.DrawLines array,
+     * reusing an existing array if it has the required length.
+     *
+     * @param buffer array to reuse, a new array is created if it is null
+     *               or if the length doesn't match
+     * @return coordinates as array
+     */
+    public final float[] toLinesArray(final float[] buffer) {
+        Points points = mPoints;
+        int totalPoints = points.mRadius.length;
 
         // 2 points or more are required to draw a line
         if (totalPoints <= 1) {
@@ -241,97 +300,151 @@ public class Coordinates {
             arrayLength = (totalPoints - 1) * NUM_COORD_LINE;
         }
 
-        float[] array = new float[arrayLength];
-
-        long[] firstPoint = getFirstCoordinateCartesian();
-        // skip point if it is null
-        while (firstPoint == null) {
-            firstPoint = getNextCoordinateCartesian();
+        float[] array;
+        if (buffer != null && buffer.length == arrayLength) {
+            array = buffer;
+        } else {
+            array = new float[arrayLength];
         }
 
-        long[] previousPoint = firstPoint;
-        long[] currentPoint;
+        float[] converted = convertCoordinates(points);
         int arrayPosition = 0;
 
-        while (mCoordinateIterator.hasNext()) {
-            currentPoint = getNextCoordinateCartesian();
-
-            // skip point if it is null
-            if (currentPoint == null) {
-                continue;
-            }
-
-            // prevent overfilling array in case the
-            // coordinates collection changes
-            if (arrayPosition >= arrayLength) {
-                return array;
-            }
-
-            // add next line
-            array[arrayPosition + POS_START_X] = previousPoint[Coordinate.X];
-            array[arrayPosition + POS_START_Y] = previousPoint[Coordinate.Y];
-            array[arrayPosition + POS_END_X] = currentPoint[Coordinate.X];
-            array[arrayPosition + POS_END_Y] = currentPoint[Coordinate.Y];
+        for (int i = 2; i < totalPoints * 2; i += 2) {
+            // add line from previous to current point
+            array[arrayPosition + POS_START_X]
+                    = converted[i - 2 + Coordinate.X];
+            array[arrayPosition + POS_START_Y]
+                    = converted[i - 2 + Coordinate.Y];
+            array[arrayPosition + POS_END_X] = converted[i + Coordinate.X];
+            array[arrayPosition + POS_END_Y] = converted[i + Coordinate.Y];
 
             arrayPosition += NUM_COORD_LINE;
-            previousPoint = currentPoint;
         }
 
-        // prevent overfilling array in case the
-        // coordinates collection changes
-        // or when line doesn't need to be closed
-        if (!closeLine || arrayPosition >= arrayLength) {
+        // don't close figure when line doesn't need to be closed
+        if (!closeLine) {
             return array;
         }
 
         // close figure
-        array[arrayPosition + POS_START_X] = previousPoint[Coordinate.X];
-        array[arrayPosition + POS_START_Y] = previousPoint[Coordinate.Y];
-        array[arrayPosition + POS_END_X] = firstPoint[Coordinate.X];
-        array[arrayPosition + POS_END_Y] = firstPoint[Coordinate.Y];
+        int last = (totalPoints - 1) * 2;
+        array[arrayPosition + POS_START_X] = converted[last + Coordinate.X];
+        array[arrayPosition + POS_START_Y] = converted[last + Coordinate.Y];
+        array[arrayPosition + POS_END_X] = converted[Coordinate.X];
+        array[arrayPosition + POS_END_Y] = converted[Coordinate.Y];
 
         return array;
     }
 
     /**
-     * Get first Coordinate and return it as Cartesian coordinate array.
+     * Convert a set of coordinates in one pass,
+     * using the defined CoordinateConverter class.
      *
-     * @return Cartesian coordinate array
-     */
-    private long[] getFirstCoordinateCartesian() {
-        mCoordinateIterator = mCoordinates.iterator();
-        return getNextCoordinateCartesian();
-    }
-
-    /**
-     * Get next Coordinate and return it as Cartesian coordinate array.
+     * If the converter supports batch conversion,
+     * the coordinates are converted as one set,
+     * otherwise each Coordinate is converted separately.
+     * The returned array is a buffer of the current thread,
+     * it is reused by the next conversion on the same thread.
      *
-     * @return Cartesian coordinate array
+     * @param points set of coordinates to convert
+     * @return converted Cartesian coordinates (x0, y0, x1, y1, ...)
      */
-    private long[] getNextCoordinateCartesian() {
-        if (mCoordinateIterator != null && mCoordinateIterator.hasNext()) {
-            return convertCoordinate(mCoordinateIterator.next())
-                    .getCartesianCoordinate();
+    private float[] convertCoordinates(final Points points) {
+        int totalPoints = points.mRadius.length;
+
+        float[] converted = CONVERTED_BUFFER.get();
+        if (converted == null || converted.length < totalPoints * 2) {
+            converted = new float[totalPoints * 2];
+            CONVERTED_BUFFER.set(converted);
         }
 
-        return null;
+        CoordinateConverterInterface converter = mCoordinateConverter;
+
+        if (converter instanceof BatchCoordinateConverterInterface) {
+            ((BatchCoordinateConverterInterface) converter).convertCoordinates(
+                    points.mX, points.mY, converted, totalPoints);
+        } else {
+            for (int i = 0; i < totalPoints; i++) {
+                Coordinate coordinate
+                        = convertCoordinate(converter, points.getCoordinate(i));
+                converted[i * 2 + Coordinate.X] = coordinate.getCartesianX();
+                converted[i * 2 + Coordinate.Y] = coordinate.getCartesianY();
+            }
+        }
+
+        return converted;
     }
 
     /**
-     * Converts a Coordinate using the defined CoordinateConverter class,
+     * Converts a Coordinate using a CoordinateConverter class,
      * it returns an unconverted Coordinate if the CoordinateConverter class
      * is not set.
      *
+     * @param converter CoordinateConverter class, can be null
      * @param coordinate Unconverted coordinate
      * @return Converted coordinate
      */
-    private Coordinate convertCoordinate(final Coordinate coordinate) {
+    private static Coordinate convertCoordinate(
+            final CoordinateConverterInterface converter,
+            final Coordinate coordinate) {
         // if CoordinateConverter is not set, return coordinate unconverted
-        if (mCoordinateConverter == null) {
+        if (converter == null) {
             return coordinate;
         }
 
         // convert Coordinate using defined CoordinateConverter
-        return mCoordinateConverter.getConvertedCoordinate(coordinate);
+        return converter.getConvertedCoordinate(coordinate);
+    }
+
+    /**
+     * Immutable set of coordinates, stored as primitive arrays.
+     */
+    private static final class Points {
+        /**
+         * Polar radius coordinates.
+         */
+        private final double[] mRadius;
+
+        /**
+         * Polar angle coordinates in degrees.
+         */
+        private final double[] mAngle;
+
+        /**
+         * Unconverted Cartesian X coordinates.
+         */
+        private final float[] mX;
+
+        /**
+         * Unconverted Cartesian Y coordinates.
+         */
+        private final float[] mY;
+
+        /**
+         * Constructor.
+         *
+         * @param radius Polar radius coordinates
+         * @param angle Polar angle coordinates in degrees
+         * @param x Cartesian X coordinates
+         * @param y Cartesian Y coordinates
+         */
+        private Points(final double[] radius, final double[] angle,
+                       final float[] x, final float[] y) {
+            mRadius = radius;
+            mAngle = angle;
+            mX = x;
+            mY = y;
+        }
+
+        /**
+         * Get a coordinate as a Coordinate instance.
+         *
+         * @param index index of the coordinate
+         * @return new Coordinate instance
+         */
+        private Coordinate getCoordinate(final int index) {
+            return new Coordinate(mRadius[index], mAngle[index]);
+        }
     }
 }
@@ -22,8 +22,6 @@
 package com.github.ruleant.getback_gps.lib;
 
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.preference.PreferenceManager;
 
 import com.github.ruleant.getback_gps.BuildConfig;
 
@@ -44,7 +42,7 @@ public class DebugLevel {
     /**
      * Default debug level (string).
      */
-    private static final String DEFAULT_DEBUG_LEVEL = "0";
+    public static final String DEFAULT_DEBUG_LEVEL = "0";
 
     /**
      * Name of Debug Level in Shared Preferences.
@@ -81,7 +79,7 @@ public class DebugLevel {
     }
 
     /**
-     * Get current debug level from SharedPreferences.
+     * Get current debug level from the settings snapshot.
      *
      * @return current debugLevel
      */
@@ -90,13 +88,7 @@ public class DebugLevel {
             return DEBUG_LEVEL_OFF;
         }
 
-        // Get debug level from SharedPreferences
-        SharedPreferences sharedPref
-                = PreferenceManager.getDefaultSharedPreferences(mContext);
-        String prefDebugLevel
-                = sharedPref.getString(PREF_DEBUG_LEVEL, DEFAULT_DEBUG_LEVEL);
-
-        return Integer.parseInt(prefDebugLevel);
+        return SettingsSnapshot.get(mContext).getDebugLevel();
     }
 
     /**
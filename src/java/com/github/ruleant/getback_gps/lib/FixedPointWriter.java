@@ -0,0 +1,313 @@
+/**
+ * Writes localized fixed point numbers without String.format().
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Writes localized fixed point numbers without String.format().
+ *
+ * The output matches String.format(locale, "%.nf") and "%d",
+ * with or without the grouping flag. The locale symbols are looked up
+ * once per locale, digits are written into a StringBuilder.
+ *
+ * Values are rounded half up on their magnitude, like Formatter does.
+ * Values that are too large, not finite, or so close to a rounding tie
+ * that the binary representation could round differently than
+ * the decimal one, aren't supported and should be formatted
+ * with String.format().
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+final class FixedPointWriter {
+    /**
+     * Returned by round() if a value isn't supported.
+     */
+    static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    /**
+     * Maximum number of decimals.
+     */
+    static final int MAX_PRECISION = 15;
+
+    /**
+     * Maximum rounded magnitude (10^15).
+     */
+    static final long MAX_ROUNDED = 1000000000000000L;
+
+    /**
+     * Number base.
+     */
+    private static final int BASE = 10;
+
+    /**
+     * Distance to a rounding tie, in ulps of the scaled value,
+     * below which the value isn't supported.
+     */
+    private static final int TIE_ULPS = 4;
+
+    /**
+     * Half, a rounding tie.
+     */
+    private static final double HALF = 0.5;
+
+    /**
+     * Powers of 10, from 10^0 to 10^18.
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * BASE;
+        }
+    }
+
+    /**
+     * Writer of the last used locale.
+     */
+    private static volatile FixedPointWriter sInstance = null;
+
+    /**
+     * Locale of the symbols.
+     */
+    private final Locale mLocale;
+
+    /**
+     * Localized zero digit.
+     */
+    private final char mZeroDigit;
+
+    /**
+     * Localized decimal separator.
+     */
+    private final char mDecimalSeparator;
+
+    /**
+     * Localized grouping separator.
+     */
+    private final char mGroupingSeparator;
+
+    /**
+     * Number of digits in a group, 0 if the locale doesn't group digits.
+     */
+    private final int mGroupingSize;
+
+    /**
+     * Builder, reused for every formatted value.
+     */
+    private final StringBuilder mBuilder = new StringBuilder();
+
+    /**
+     * Constructor, looks up the symbols of a locale.
+     *
+     * @param locale Locale
+     */
+    FixedPointWriter(final Locale locale) {
+        mLocale = locale;
+
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        mZeroDigit = symbols.getZeroDigit();
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mGroupingSeparator = symbols.getGroupingSeparator();
+
+        NumberFormat format = NumberFormat.getIntegerInstance(locale);
+        if (format instanceof DecimalFormat && format.isGroupingUsed()) {
+            mGroupingSize = ((DecimalFormat) format).getGroupingSize();
+        } else {
+            mGroupingSize = 0;
+        }
+    }
+
+    /**
+     * Gets a writer for a locale, the writer of the last used locale
+     * is reused.
+     *
+     * @param locale Locale
+     * @return writer for the locale
+     */
+    static FixedPointWriter getInstance(final Locale locale) {
+        FixedPointWriter writer = sInstance;
+        if (writer == null || !writer.mLocale.equals(locale)) {
+            writer = new FixedPointWriter(locale);
+            sInstance = writer;
+        }
+        return writer;
+    }
+
+    /**
+     * Gets the locale of the writer.
+     *
+     * @return Locale
+     */
+    Locale getLocale() {
+        return mLocale;
+    }
+
+    /**
+     * Rounds a value to a number of decimals.
+     * The result is the rounded magnitude scaled by 10^precision,
+     * inverted (~) if the value is negative, including -0.0.
+     *
+     * @param value value to round
+     * @param precision number of decimals
+     * @return rounded value, UNSUPPORTED if the value isn't supported
+     */
+    static long round(final double value, final int precision) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            return UNSUPPORTED;
+        }
+
+        double scaled = Math.abs(value) * POWERS_OF_TEN[precision];
+        // also rejects NaN and infinity
+        if (!(scaled < MAX_ROUNDED)) {
+            return UNSUPPORTED;
+        }
+
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - HALF) <= TIE_ULPS * Math.ulp(scaled)) {
+            return UNSUPPORTED;
+        }
+
+        long rounded = (long) floor;
+        if (fraction > HALF) {
+            rounded++;
+        }
+
+        // sign bit, to keep the sign of -0.0
+        if (Double.doubleToRawLongBits(value) < 0) {
+            return ~rounded;
+        }
+        return rounded;
+    }
+
+    /**
+     * Formats a rounded value with a unit.
+     *
+     * @param rounded value returned by round()
+     * @param precision number of decimals used to round the value
+     * @param grouping true to use the grouping separator
+     * @param unit unit appended to the value
+     * @return formatted value
+     */
+    synchronized String format(final long rounded, final int precision,
+                               final boolean grouping, final String unit) {
+        mBuilder.setLength(0);
+        appendFixed(mBuilder, rounded, precision, grouping);
+        mBuilder.append(unit);
+        return mBuilder.toString();
+    }
+
+    /**
+     * Formats an integer value with a unit.
+     *
+     * @param value integer value
+     * @param grouping true to use the grouping separator
+     * @param unit unit appended to the value
+     * @return formatted value
+     */
+    synchronized String format(final long value, final boolean grouping,
+                               final String unit) {
+        mBuilder.setLength(0);
+        appendInteger(mBuilder, value, grouping);
+        mBuilder.append(unit);
+        return mBuilder.toString();
+    }
+
+    /**
+     * Appends a rounded value.
+     *
+     * @param builder StringBuilder to append to
+     * @param rounded value returned by round()
+     * @param precision number of decimals used to round the value
+     * @param grouping true to use the grouping separator
+     */
+    void appendFixed(final StringBuilder builder, final long rounded,
+                     final int precision, final boolean grouping) {
+        long magnitude = rounded;
+        if (rounded < 0) {
+            builder.append('-');
+            magnitude = ~rounded;
+        }
+
+        long power = POWERS_OF_TEN[precision];
+        appendDigits(builder, magnitude / power, grouping);
+        if (precision > 0) {
+            builder.append(mDecimalSeparator);
+            long fraction = magnitude % power;
+            for (int i = precision - 1; i >= 0; i--) {
+                builder.append((char) (mZeroDigit
+                        + fraction / POWERS_OF_TEN[i] % BASE));
+            }
+        }
+    }
+
+    /**
+     * Appends an integer value.
+     *
+     * @param builder StringBuilder to append to
+     * @param value integer value
+     * @param grouping true to use the grouping separator
+     */
+    void appendInteger(final StringBuilder builder, final long value,
+                       final boolean grouping) {
+        if (value == Long.MIN_VALUE) {
+            // magnitude doesn't fit in a long
+            builder.append(String.format(mLocale,
+                    grouping ? "%,d" : "%d", value));
+            return;
+        }
+        if (value < 0) {
+            builder.append('-');
+        }
+        appendDigits(builder, Math.abs(value), grouping);
+    }
+
+    /**
+     * Appends the digits of a positive integer value.
+     *
+     * @param builder StringBuilder to append to
+     * @param value positive integer value
+     * @param grouping true to use the grouping separator
+     */
+    private void appendDigits(final StringBuilder builder, final long value,
+                              final boolean grouping) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length
+                && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+
+        boolean group = grouping && mGroupingSize > 0;
+        for (int i = digits - 1; i >= 0; i--) {
+            builder.append((char) (mZeroDigit
+                    + value / POWERS_OF_TEN[i] % BASE));
+            if (group && i > 0 && i % mGroupingSize == 0) {
+                builder.append(mGroupingSeparator);
+            }
+        }
+    }
+}
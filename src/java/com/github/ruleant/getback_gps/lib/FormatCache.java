@@ -0,0 +1,188 @@
+/**
+ * Cache of recently formatted values.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.util.Locale;
+
+/**
+ * Small least recently used cache of formatted values.
+ *
+ * An entry is identified by a rounded value, a format variant and a unit.
+ * All entries are dropped when the locale changes.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+final class FormatCache {
+    /**
+     * Default number of entries.
+     */
+    static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Rounded values of the entries.
+     */
+    private final long[] mValues;
+
+    /**
+     * Format variants of the entries.
+     */
+    private final int[] mVariants;
+
+    /**
+     * Units of the entries.
+     */
+    private final String[] mUnits;
+
+    /**
+     * Formatted strings of the entries, null if the entry is empty.
+     */
+    private final String[] mStrings;
+
+    /**
+     * Last use of the entries.
+     */
+    private final long[] mStamps;
+
+    /**
+     * Use counter.
+     */
+    private long mClock = 0;
+
+    /**
+     * Locale of the cached entries.
+     */
+    private Locale mLocale = null;
+
+    /**
+     * Constructor, with default size.
+     */
+    FormatCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param size number of entries
+     */
+    FormatCache(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(
+                    "Parameter size should be positive");
+        }
+
+        mValues = new long[size];
+        mVariants = new int[size];
+        mUnits = new String[size];
+        mStrings = new String[size];
+        mStamps = new long[size];
+    }
+
+    /**
+     * Gets a cached formatted value.
+     *
+     * @param locale Locale of the formatted value
+     * @param value rounded value
+     * @param variant format variant
+     * @param unit unit
+     * @return formatted value, null if it isn't cached
+     */
+    synchronized String get(final Locale locale, final long value,
+                            final int variant, final String unit) {
+        setLocale(locale);
+
+        for (int i = 0; i < mStrings.length; i++) {
+            if (mStrings[i] != null && mValues[i] == value
+                    && mVariants[i] == variant && mUnits[i].equals(unit)) {
+                mStamps[i] = ++mClock;
+                return mStrings[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a formatted value, replacing the least recently used entry.
+     *
+     * @param locale Locale of the formatted value
+     * @param value rounded value
+     * @param variant format variant
+     * @param unit unit
+     * @param formatted formatted value
+     */
+    synchronized void put(final Locale locale, final long value,
+                          final int variant, final String unit,
+                          final String formatted) {
+        if (unit == null) {
+            throw new IllegalArgumentException(
+                    "Parameter unit should not be null");
+        }
+        if (formatted == null) {
+            throw new IllegalArgumentException(
+                    "Parameter formatted should not be null");
+        }
+        setLocale(locale);
+
+        int oldest = 0;
+        for (int i = 0; i < mStrings.length; i++) {
+            if (mStrings[i] == null) {
+                oldest = i;
+                break;
+            }
+            if (mStamps[i] < mStamps[oldest]) {
+                oldest = i;
+            }
+        }
+
+        mValues[oldest] = value;
+        mVariants[oldest] = variant;
+        mUnits[oldest] = unit;
+        mStrings[oldest] = formatted;
+        mStamps[oldest] = ++mClock;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        for (int i = 0; i < mStrings.length; i++) {
+            mUnits[i] = null;
+            mStrings[i] = null;
+        }
+    }
+
+    /**
+     * Drops all entries if the locale changed.
+     *
+     * @param locale Locale of the formatted value
+     */
+    private void setLocale(final Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException(
+                    "Parameter locale should not be null");
+        }
+        if (!locale.equals(mLocale)) {
+            clear();
+            mLocale = locale;
+        }
+    }
+}
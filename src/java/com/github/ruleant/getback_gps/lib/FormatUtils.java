@@ -87,7 +87,98 @@ public class FormatUtils {
      */
     public static final float CIRCLE_FULL = 360;
 
+    /**
+     * Format variant : distance in short unit, as integer.
+     */
+    private static final int DIST_SHORT = 0;
+
+    /**
+     * Format variant : distance in long unit, with 1 decimal.
+     */
+    private static final int DIST_LONG_DECIMAL = 1;
+
+    /**
+     * Format variant : distance in long unit, as integer.
+     */
+    private static final int DIST_LONG = 2;
+
+    /**
+     * Format variant : speed with 1 decimal.
+     */
+    private static final int SPEED_DECIMAL = 0;
+
+    /**
+     * Format variant : speed as integer.
+     */
+    private static final int SPEED_INTEGER = 1;
+
+    /**
+     * Format variant : height as integer.
+     */
+    private static final int HEIGHT_INTEGER = 0;
+
+    /**
+     * Recently formatted distances.
+     */
+    private static final FormatCache DIST_CACHE = new FormatCache();
+
+    /**
+     * Recently formatted heights.
+     */
+    private static final FormatCache HEIGHT_CACHE = new FormatCache();
+
+    /**
+     * Recently formatted speeds.
+     */
+    private static final FormatCache SPEED_CACHE = new FormatCache();
+
+    /**
+     * Recently formatted angles, the format variant is the precision.
+     */
+    private static final FormatCache ANGLE_CACHE = new FormatCache();
+
+    /**
+     * Localized units of the last used locale.
+     */
+    private static volatile Units sUnits = null;
 
+    /**
+     * Localized unit strings, looked up once per locale.
+     */
+    private static final class Units {
+        /**
+         * Locale of the units.
+         */
+        private final Locale mLocale;
+
+        /**
+         * Short distance unit (m).
+         */
+        private final String mDistanceShort;
+
+        /**
+         * Long distance unit (km).
+         */
+        private final String mDistanceLong;
+
+        /**
+         * Speed unit (km/h).
+         */
+        private final String mSpeed;
+
+        /**
+         * Constructor, looks up the unit strings.
+         *
+         * @param locale Locale of the units
+         * @param res App resources
+         */
+        Units(final Locale locale, final Resources res) {
+            mLocale = locale;
+            mDistanceShort = res.getString(R.string.distance_m);
+            mDistanceLong = res.getString(R.string.distance_km);
+            mSpeed = res.getString(R.string.speed_kph);
+        }
+    }
 
     /**
      * Hidden constructor, to prevent instantiating.
@@ -125,8 +216,9 @@ public class FormatUtils {
 
         // if context is defined, use android string
         if (context != null) {
-            shortUnit = context.getResources().getString(R.string.distance_m);
-            longUnit = context.getResources().getString(R.string.distance_km);
+            Units units = getUnits(context);
+            shortUnit = units.mDistanceShort;
+            longUnit = units.mDistanceLong;
         }
 
         // distance shouldn't be negative
@@ -135,22 +227,20 @@ public class FormatUtils {
         // conversion and formatting
         if (Math.round(distanceAbs) < scaleUnit) {
             // display as short unit, as integer
-            return String.format(Locale.getDefault(), "%1$d%2$s",
-                    Math.round(distanceAbs), shortUnit);
+            return formatInteger(DIST_CACHE, DIST_SHORT,
+                    Math.round(distanceAbs), false, shortUnit);
         } else {
             double scaledDistance = distanceAbs / scaleUnit;
             // round to one decimal and check if it is
             // smaller than a 1 decimal difference
             if ((Math.round(scaledDistance * ONE_DEC) / ONE_DEC) < ONE_DEC) {
                 // display as long unit, with 1 decimal
-                return String.format(
-                        Locale.getDefault(), "%1$,.1f%2$s",
-                        scaledDistance, longUnit);
+                return formatFixed(DIST_CACHE, DIST_LONG_DECIMAL,
+                        scaledDistance, 1, true, longUnit);
             } else {
                 // display as long unit, as integer
-                return String.format(
-                        Locale.getDefault(), "%1$,d%2$s",
-                        Math.round(scaledDistance), longUnit);
+                return formatInteger(DIST_CACHE, DIST_LONG,
+                        Math.round(scaledDistance), true, longUnit);
             }
         }
     }
@@ -178,12 +268,11 @@ public class FormatUtils {
 
         // if context is defined, use android string
         if (context != null) {
-            unit = context.getResources().getString(R.string.distance_m);
+            unit = getUnits(context).mDistanceShort;
         }
 
-        return String.format(
-                Locale.getDefault(), "%1$,d%2$s",
-                Math.round(height), unit);
+        return formatInteger(HEIGHT_CACHE, HEIGHT_INTEGER,
+                Math.round(height), true, unit);
     }
 
     /**
@@ -213,7 +302,7 @@ public class FormatUtils {
 
         // if context is defined, use android string
         if (context != null) {
-            unit = context.getResources().getString(R.string.speed_kph);
+            unit = getUnits(context).mSpeed;
         }
 
         // speed shouldn't be negative, conversion to kph
@@ -222,13 +311,12 @@ public class FormatUtils {
         // formatting
         if (convertedSpeed < ONE_DEC) {
             // display with 1 decimal
-            return String.format(
-                    Locale.getDefault(), "%1$,.1f%2$s", convertedSpeed, unit);
+            return formatFixed(SPEED_CACHE, SPEED_DECIMAL,
+                    convertedSpeed, 1, true, unit);
         } else {
             // display as integer
-            return String.format(
-                    Locale.getDefault(), "%1$,d%2$s",
-                    Math.round(convertedSpeed), unit);
+            return formatInteger(SPEED_CACHE, SPEED_INTEGER,
+                    Math.round(convertedSpeed), true, unit);
         }
     }
 
@@ -248,14 +336,92 @@ public class FormatUtils {
 
         String unit = "°";
 
-        // generate format string
-        // format number with variable precision (%s.xf), with x = precision
-        String formatString = "%1$." + String.format(Locale.US, "%d", precision) + "f";
-        // add unit
-        formatString += "%2$s";
-
         // formatting
-        return String.format(Locale.getDefault(), formatString, angle, unit);
+        return formatFixed(ANGLE_CACHE, precision,
+                angle, precision, false, unit);
+    }
+
+    /**
+     * Formats an integer value with a unit,
+     * reusing a recently formatted string if possible.
+     *
+     * @param cache recently formatted values
+     * @param variant format variant
+     * @param value integer value
+     * @param grouping true to use the grouping separator
+     * @param unit unit
+     * @return formatted value with unit
+     */
+    private static String formatInteger(
+            final FormatCache cache, final int variant, final long value,
+            final boolean grouping, final String unit) {
+        Locale locale = Locale.getDefault();
+        String formatted = cache.get(locale, value, variant, unit);
+
+        if (formatted == null) {
+            formatted = FixedPointWriter.getInstance(locale)
+                    .format(value, grouping, unit);
+            cache.put(locale, value, variant, unit, formatted);
+        }
+
+        return formatted;
+    }
+
+    /**
+     * Formats a value with a fixed number of decimals and a unit,
+     * reusing a recently formatted string if possible.
+     * Values that FixedPointWriter doesn't support
+     * are formatted with String.format().
+     *
+     * @param cache recently formatted values
+     * @param variant format variant
+     * @param value value
+     * @param precision number of decimals
+     * @param grouping true to use the grouping separator
+     * @param unit unit
+     * @return formatted value with unit
+     */
+    private static String formatFixed(
+            final FormatCache cache, final int variant, final double value,
+            final int precision, final boolean grouping, final String unit) {
+        Locale locale = Locale.getDefault();
+        long rounded = FixedPointWriter.round(value, precision);
+
+        if (rounded == FixedPointWriter.UNSUPPORTED) {
+            // format number with variable precision (%s.xf),
+            // with x = precision
+            String formatString = "%1$" + (grouping ? "," : "") + "."
+                    + String.format(Locale.US, "%d", precision) + "f%2$s";
+            return String.format(locale, formatString, value, unit);
+        }
+
+        String formatted = cache.get(locale, rounded, variant, unit);
+
+        if (formatted == null) {
+            formatted = FixedPointWriter.getInstance(locale)
+                    .format(rounded, precision, grouping, unit);
+            cache.put(locale, rounded, variant, unit, formatted);
+        }
+
+        return formatted;
+    }
+
+    /**
+     * Gets the localized unit strings of the current locale.
+     *
+     * @param context App context
+     * @return localized units
+     */
+    private static Units getUnits(final Context context) {
+        Locale locale = Locale.getDefault();
+        Units units = sUnits;
+
+        if (units == null || !units.mLocale.equals(locale)) {
+            units = new Units(locale, context.getResources());
+            sUnits = units;
+        }
+
+        return units;
     }
 
     /**
@@ -0,0 +1,409 @@
+/**
+ * Geodesy, distance and bearing between coordinates.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Calculates distance and initial bearing between two coordinates,
+ * with a selectable accuracy mode.
+ *
+ * The result of the last calculated pair of coordinates is kept,
+ * so asking distance and bearing of the same pair calculates only once.
+ * Calculations don't create any objects.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class Geodesy {
+    /**
+     * Accuracy mode.
+     */
+    public enum Mode {
+        /**
+         * Flat earth approximation, using the WGS84 radii of curvature
+         * at the mean latitude. Fast and accurate for short distances.
+         */
+        EQUIRECTANGULAR,
+        /**
+         * Great circle on a sphere with the mean earth radius,
+         * error up to 0.5 %.
+         */
+        HAVERSINE,
+        /**
+         * Vincenty's inverse formula on the WGS84 ellipsoid,
+         * accurate to less than a millimeter.
+         */
+        VINCENTY,
+        /**
+         * Equirectangular for distances shorter than SHORT_RANGE,
+         * Vincenty for longer distances.
+         */
+        AUTO
+    }
+
+    /**
+     * WGS84 semi-major axis in meters.
+     */
+    public static final double WGS84_A = 6378137.0;
+
+    /**
+     * WGS84 flattening.
+     */
+    public static final double WGS84_F = 1 / 298.257223563;
+
+    /**
+     * WGS84 semi-minor axis in meters.
+     */
+    public static final double WGS84_B = WGS84_A * (1 - WGS84_F);
+
+    /**
+     * WGS84 first eccentricity squared.
+     */
+    public static final double WGS84_E2 = WGS84_F * (2 - WGS84_F);
+
+    /**
+     * Mean earth radius in meters.
+     */
+    public static final double MEAN_RADIUS = 6371008.8;
+
+    /**
+     * Maximum distance in meters calculated with EQUIRECTANGULAR
+     * in AUTO mode, the error is smaller than 0.01 % in this range.
+     */
+    public static final double SHORT_RANGE = 20000;
+
+    /**
+     * Maximum number of iterations of Vincenty's formula.
+     */
+    private static final int VINCENTY_MAX_ITERATIONS = 100;
+
+    /**
+     * Convergence limit of Vincenty's formula.
+     */
+    private static final double VINCENTY_LIMIT = 1e-12;
+
+    /**
+     * Mode of the last calculation.
+     */
+    private Mode mMode = null;
+
+    /**
+     * Latitude of the start point of the last calculation.
+     */
+    private double mLatitude1;
+
+    /**
+     * Longitude of the start point of the last calculation.
+     */
+    private double mLongitude1;
+
+    /**
+     * Latitude of the end point of the last calculation.
+     */
+    private double mLatitude2;
+
+    /**
+     * Longitude of the end point of the last calculation.
+     */
+    private double mLongitude2;
+
+    /**
+     * Distance of the last calculation in meters.
+     */
+    private double mDistance;
+
+    /**
+     * Initial bearing of the last calculation in degrees.
+     */
+    private double mBearing;
+
+    /**
+     * Calculate the distance between two coordinates.
+     *
+     * @param mode accuracy mode
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     * @return distance in meters
+     */
+    public final synchronized double getDistance(
+            final Mode mode,
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        calculate(mode, latitude1, longitude1, latitude2, longitude2);
+        return mDistance;
+    }
+
+    /**
+     * Calculate the initial bearing from one coordinate to another.
+     *
+     * @param mode accuracy mode
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     * @return bearing in degrees relative to the North (0° - 360°)
+     */
+    public final synchronized double getBearing(
+            final Mode mode,
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        calculate(mode, latitude1, longitude1, latitude2, longitude2);
+        return mBearing;
+    }
+
+    /**
+     * Calculate distance and bearing, unless the same coordinates
+     * were calculated in the previous call.
+     *
+     * @param mode accuracy mode
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     */
+    private void calculate(
+            final Mode mode,
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        if (mode == null) {
+            throw new IllegalArgumentException(
+                    "Parameter mode should not be null");
+        }
+
+        if (mode == mMode
+                && latitude1 == mLatitude1 && longitude1 == mLongitude1
+                && latitude2 == mLatitude2 && longitude2 == mLongitude2) {
+            return;
+        }
+
+        Mode calculateMode = mode;
+        if (mode == Mode.AUTO) {
+            calculateEquirectangular(
+                    latitude1, longitude1, latitude2, longitude2);
+            if (mDistance > SHORT_RANGE) {
+                calculateMode = Mode.VINCENTY;
+            }
+        }
+
+        switch (calculateMode) {
+            case EQUIRECTANGULAR:
+                calculateEquirectangular(
+                        latitude1, longitude1, latitude2, longitude2);
+                break;
+            case HAVERSINE:
+                calculateHaversine(
+                        latitude1, longitude1, latitude2, longitude2);
+                break;
+            case VINCENTY:
+                calculateVincenty(
+                        latitude1, longitude1, latitude2, longitude2);
+                break;
+            default:
+                // AUTO, short range : already calculated
+                break;
+        }
+
+        mMode = mode;
+        mLatitude1 = latitude1;
+        mLongitude1 = longitude1;
+        mLatitude2 = latitude2;
+        mLongitude2 = longitude2;
+    }
+
+    /**
+     * Calculate distance and bearing with a flat earth approximation,
+     * using the radii of curvature of the WGS84 ellipsoid
+     * at the mean latitude.
+     *
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     */
+    private void calculateEquirectangular(
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        double meanLatitude = Math.toRadians((latitude1 + latitude2) / 2);
+        double sinLatitude = Math.sin(meanLatitude);
+        double w2 = 1 - WGS84_E2 * sinLatitude * sinLatitude;
+        double w = Math.sqrt(w2);
+
+        // prime vertical and meridional radius of curvature
+        double primeRadius = WGS84_A / w;
+        double meridionalRadius = WGS84_A * (1 - WGS84_E2) / (w2 * w);
+
+        double north = meridionalRadius * Math.toRadians(latitude2 - latitude1);
+        double east = primeRadius * Math.cos(meanLatitude)
+                * Math.toRadians(normalizeLongitude(longitude2 - longitude1));
+
+        mDistance = Math.sqrt(north * north + east * east);
+        mBearing = toBearing(Math.atan2(east, north));
+    }
+
+    /**
+     * Calculate distance and initial bearing of the great circle
+     * on a sphere with the mean earth radius.
+     *
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     */
+    private void calculateHaversine(
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double deltaLon = Math.toRadians(longitude2 - longitude1);
+        double cosLat1 = Math.cos(lat1);
+        double cosLat2 = Math.cos(lat2);
+
+        double sinHalfLat = Math.sin((lat2 - lat1) / 2);
+        double sinHalfLon = Math.sin(deltaLon / 2);
+        double a = sinHalfLat * sinHalfLat
+                + cosLat1 * cosLat2 * sinHalfLon * sinHalfLon;
+
+        mDistance = 2 * MEAN_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+        mBearing = toBearing(Math.atan2(
+                Math.sin(deltaLon) * cosLat2,
+                cosLat1 * Math.sin(lat2)
+                        - Math.sin(lat1) * cosLat2 * Math.cos(deltaLon)));
+    }
+
+    /**
+     * Calculate distance and initial bearing on the WGS84 ellipsoid
+     * with Vincenty's inverse formula.
+     * For nearly antipodal points, where the formula doesn't converge,
+     * the haversine result is used.
+     *
+     * @param latitude1 latitude of the start point in degrees
+     * @param longitude1 longitude of the start point in degrees
+     * @param latitude2 latitude of the end point in degrees
+     * @param longitude2 longitude of the end point in degrees
+     */
+    private void calculateVincenty(
+            final double latitude1, final double longitude1,
+            final double latitude2, final double longitude2) {
+        double deltaLon = Math.toRadians(
+                normalizeLongitude(longitude2 - longitude1));
+        // reduced latitudes
+        double u1 = Math.atan((1 - WGS84_F)
+                * Math.tan(Math.toRadians(latitude1)));
+        double u2 = Math.atan((1 - WGS84_F)
+                * Math.tan(Math.toRadians(latitude2)));
+        double sinU1 = Math.sin(u1);
+        double cosU1 = Math.cos(u1);
+        double sinU2 = Math.sin(u2);
+        double cosU2 = Math.cos(u2);
+
+        double lambda = deltaLon;
+        double sinLambda;
+        double cosLambda;
+        double sinSigma;
+        double cosSigma;
+        double sigma;
+        double cos2Alpha;
+        double cos2SigmaM;
+        int iteration = 0;
+        double previousLambda;
+
+        do {
+            sinLambda = Math.sin(lambda);
+            cosLambda = Math.cos(lambda);
+            double a = cosU2 * sinLambda;
+            double b = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            sinSigma = Math.sqrt(a * a + b * b);
+
+            if (sinSigma == 0) {
+                // coincident points
+                mDistance = 0;
+                mBearing = 0;
+                return;
+            }
+
+            cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            cos2Alpha = 1 - sinAlpha * sinAlpha;
+            // on the equator cos2Alpha is 0
+            cos2SigmaM = cos2Alpha == 0
+                    ? 0 : cosSigma - 2 * sinU1 * sinU2 / cos2Alpha;
+            double c = WGS84_F / 16 * cos2Alpha
+                    * (4 + WGS84_F * (4 - 3 * cos2Alpha));
+
+            previousLambda = lambda;
+            lambda = deltaLon + (1 - c) * WGS84_F * sinAlpha
+                    * (sigma + c * sinSigma * (cos2SigmaM
+                    + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+            iteration++;
+        } while (Math.abs(lambda - previousLambda) > VINCENTY_LIMIT
+                && iteration < VINCENTY_MAX_ITERATIONS);
+
+        if (iteration >= VINCENTY_MAX_ITERATIONS) {
+            calculateHaversine(latitude1, longitude1, latitude2, longitude2);
+            return;
+        }
+
+        double uSquared = cos2Alpha * (WGS84_A * WGS84_A - WGS84_B * WGS84_B)
+                / (WGS84_B * WGS84_B);
+        double coefficientA = 1 + uSquared / 16384 * (4096 + uSquared
+                * (-768 + uSquared * (320 - 175 * uSquared)));
+        double coefficientB = uSquared / 1024 * (256 + uSquared
+                * (-128 + uSquared * (74 - 47 * uSquared)));
+        double deltaSigma = coefficientB * sinSigma * (cos2SigmaM
+                + coefficientB / 4 * (cosSigma
+                * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                - coefficientB / 6 * cos2SigmaM
+                * (-3 + 4 * sinSigma * sinSigma)
+                * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+
+        mDistance = WGS84_B * coefficientA * (sigma - deltaSigma);
+        mBearing = toBearing(Math.atan2(cosU2 * sinLambda,
+                cosU1 * sinU2 - sinU1 * cosU2 * cosLambda));
+    }
+
+    /**
+     * Normalize a longitude difference to the range -180° - 180°.
+     *
+     * @param longitude longitude difference in degrees
+     * @return normalized longitude difference in degrees
+     */
+    private static double normalizeLongitude(final double longitude) {
+        double normalized = longitude;
+        if (normalized > FormatUtils.CIRCLE_HALF) {
+            normalized -= FormatUtils.CIRCLE_FULL;
+        } else if (normalized < -FormatUtils.CIRCLE_HALF) {
+            normalized += FormatUtils.CIRCLE_FULL;
+        }
+        return normalized;
+    }
+
+    /**
+     * Convert an angle in radians to a bearing in degrees (0° - 360°).
+     *
+     * @param angle angle in radians
+     * @return bearing in degrees
+     */
+    private static double toBearing(final double angle) {
+        return FormatUtils.normalizeAngle(Math.toDegrees(angle));
+    }
+}
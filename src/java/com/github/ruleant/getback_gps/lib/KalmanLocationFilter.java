@@ -0,0 +1,383 @@
+/**
+ * Kalman filter smoothing location fixes.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Constant velocity Kalman filter estimating position and velocity
+ * from location fixes.
+ *
+ * Latitude and longitude are projected to east and north meters,
+ * relative to an origin close to the fixes. The accuracy of a fix
+ * is used as measurement noise. Measurement noise is the same in
+ * both directions, so east and north share one covariance matrix,
+ * stored as primitive fields. Updating the filter allocates no memory.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class KalmanLocationFilter {
+    /**
+     * Mean earth radius in meters.
+     */
+    private static final double EARTH_RADIUS = Geodesy.MEAN_RADIUS;
+
+    /**
+     * Meters per degree latitude.
+     */
+    private static final double METERS_PER_LATITUDE
+            = Math.toRadians(EARTH_RADIUS);
+
+    /**
+     * Default variance of the acceleration in m²/s⁴,
+     * a standard deviation of about 0.2 m/s², suited for walking.
+     */
+    public static final double DEFAULT_ACCELERATION_VARIANCE = 0.05;
+
+    /**
+     * Initial variance of the velocity in m²/s², unknown velocity.
+     */
+    private static final double INITIAL_VELOCITY_VARIANCE = 100;
+
+    /**
+     * Time without fixes after which the filter restarts, in milliseconds.
+     */
+    public static final long MAX_GAP = 120000;
+
+    /**
+     * Distance from the origin after which the origin is moved, in meters.
+     */
+    private static final double MAX_ORIGIN_DISTANCE = 10000;
+
+    /**
+     * Minimal accuracy of a fix in meters.
+     */
+    private static final double MIN_ACCURACY = 1;
+
+    /**
+     * Speed should be this many times larger than its standard deviation
+     * to have an accurate course.
+     */
+    private static final double COURSE_SIGMA = 2;
+
+    /**
+     * Maximal standard deviation of an accurate speed in m/s.
+     */
+    private static final double MAX_SPEED_SIGMA = 2;
+
+    /**
+     * Variance of the acceleration, process noise.
+     */
+    private final double mAccelerationVariance;
+
+    /**
+     * True if the filter has an estimate.
+     */
+    private boolean mHasEstimate = false;
+
+    /**
+     * Latitude of the origin in degrees.
+     */
+    private double mOriginLatitude;
+
+    /**
+     * Longitude of the origin in degrees.
+     */
+    private double mOriginLongitude;
+
+    /**
+     * Meters per degree longitude at the origin.
+     */
+    private double mMetersPerLongitude;
+
+    /**
+     * Timestamp of the estimate in milliseconds.
+     */
+    private long mTime;
+
+    /**
+     * Estimated east position in meters.
+     */
+    private double mEast;
+
+    /**
+     * Estimated north position in meters.
+     */
+    private double mNorth;
+
+    /**
+     * Estimated east velocity in m/s.
+     */
+    private double mVelocityEast;
+
+    /**
+     * Estimated north velocity in m/s.
+     */
+    private double mVelocityNorth;
+
+    /**
+     * Covariance of position.
+     */
+    private double mP00;
+
+    /**
+     * Covariance of position and velocity.
+     */
+    private double mP01;
+
+    /**
+     * Covariance of velocity.
+     */
+    private double mP11;
+
+    /**
+     * Constructor, with default acceleration variance.
+     */
+    public KalmanLocationFilter() {
+        this(DEFAULT_ACCELERATION_VARIANCE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param accelerationVariance variance of the acceleration in m²/s⁴
+     */
+    public KalmanLocationFilter(final double accelerationVariance) {
+        if (accelerationVariance <= 0) {
+            throw new IllegalArgumentException(
+                    "Parameter accelerationVariance should be positive");
+        }
+
+        mAccelerationVariance = accelerationVariance;
+    }
+
+    /**
+     * Update the estimate with a new fix.
+     *
+     * @param latitude latitude of the fix in degrees
+     * @param longitude longitude of the fix in degrees
+     * @param accuracy accuracy of the fix in meters
+     * @param time timestamp of the fix in milliseconds
+     * @return true if the estimate was updated,
+     *         false if the fix is older than the estimate
+     */
+    public final boolean update(final double latitude, final double longitude,
+                                final float accuracy, final long time) {
+        double variance = Math.max(MIN_ACCURACY, accuracy);
+        variance *= variance;
+
+        if (!mHasEstimate || time - mTime > MAX_GAP) {
+            initialize(latitude, longitude, variance, time);
+            return true;
+        }
+
+        if (time <= mTime) {
+            return false;
+        }
+
+        // move origin, to keep the projection accurate
+        if (Math.abs(mEast) > MAX_ORIGIN_DISTANCE
+                || Math.abs(mNorth) > MAX_ORIGIN_DISTANCE) {
+            setOrigin(getLatitude(), getLongitude());
+            mEast = 0;
+            mNorth = 0;
+        }
+
+        // predict
+        double dt = (time - mTime) / (double) Tools.SECOND_IN_MILLIS;
+        mEast += mVelocityEast * dt;
+        mNorth += mVelocityNorth * dt;
+
+        double dt2 = dt * dt;
+        double q = mAccelerationVariance;
+        double p00 = mP00 + dt * (2 * mP01 + dt * mP11) + q * dt2 * dt2 / 4;
+        double p01 = mP01 + dt * mP11 + q * dt2 * dt / 2;
+        double p11 = mP11 + q * dt2;
+
+        // correct, measurement is the position
+        double gain0 = p00 / (p00 + variance);
+        double gain1 = p01 / (p00 + variance);
+
+        double innovationEast = getEast(longitude) - mEast;
+        double innovationNorth = getNorth(latitude) - mNorth;
+        mEast += gain0 * innovationEast;
+        mNorth += gain0 * innovationNorth;
+        mVelocityEast += gain1 * innovationEast;
+        mVelocityNorth += gain1 * innovationNorth;
+
+        mP00 = (1 - gain0) * p00;
+        mP01 = (1 - gain0) * p01;
+        mP11 = p11 - gain1 * p01;
+        mTime = time;
+
+        return true;
+    }
+
+    /**
+     * Start a new estimate at a fix, with unknown velocity.
+     *
+     * @param latitude latitude of the fix in degrees
+     * @param longitude longitude of the fix in degrees
+     * @param variance variance of the fix in m²
+     * @param time timestamp of the fix in milliseconds
+     */
+    private void initialize(final double latitude, final double longitude,
+                            final double variance, final long time) {
+        setOrigin(latitude, longitude);
+        mEast = 0;
+        mNorth = 0;
+        mVelocityEast = 0;
+        mVelocityNorth = 0;
+        mP00 = variance;
+        mP01 = 0;
+        mP11 = INITIAL_VELOCITY_VARIANCE;
+        mTime = time;
+        mHasEstimate = true;
+    }
+
+    /**
+     * Set origin of the projection.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    private void setOrigin(final double latitude, final double longitude) {
+        mOriginLatitude = latitude;
+        mOriginLongitude = longitude;
+        mMetersPerLongitude = METERS_PER_LATITUDE
+                * Math.cos(Math.toRadians(latitude));
+    }
+
+    /**
+     * Project longitude to meters east of the origin.
+     *
+     * @param longitude longitude in degrees
+     * @return meters east of the origin
+     */
+    private double getEast(final double longitude) {
+        double delta = longitude - mOriginLongitude;
+        // shortest way around the 180° meridian
+        if (delta > FormatUtils.CIRCLE_HALF) {
+            delta -= FormatUtils.CIRCLE_FULL;
+        } else if (delta < -FormatUtils.CIRCLE_HALF) {
+            delta += FormatUtils.CIRCLE_FULL;
+        }
+        return delta * mMetersPerLongitude;
+    }
+
+    /**
+     * Project latitude to meters north of the origin.
+     *
+     * @param latitude latitude in degrees
+     * @return meters north of the origin
+     */
+    private double getNorth(final double latitude) {
+        return (latitude - mOriginLatitude) * METERS_PER_LATITUDE;
+    }
+
+    /**
+     * Forget the estimate.
+     */
+    public final void reset() {
+        mHasEstimate = false;
+    }
+
+    /**
+     * Checks if the filter has an estimate.
+     *
+     * @return true if the filter has an estimate
+     */
+    public final boolean hasEstimate() {
+        return mHasEstimate;
+    }
+
+    /**
+     * Estimated latitude.
+     *
+     * @return latitude in degrees
+     */
+    public final double getLatitude() {
+        return mOriginLatitude + mNorth / METERS_PER_LATITUDE;
+    }
+
+    /**
+     * Estimated longitude.
+     *
+     * @return longitude in degrees
+     */
+    public final double getLongitude() {
+        double longitude = mOriginLongitude;
+        if (mMetersPerLongitude > 0) {
+            longitude += mEast / mMetersPerLongitude;
+        }
+        return FormatUtils.normalizeAngle(longitude + FormatUtils.CIRCLE_HALF)
+                - FormatUtils.CIRCLE_HALF;
+    }
+
+    /**
+     * Accuracy of the estimated position, standard deviation.
+     *
+     * @return accuracy in meters
+     */
+    public final float getAccuracy() {
+        return (float) Math.sqrt(mP00);
+    }
+
+    /**
+     * Estimated speed.
+     *
+     * @return speed in m/s
+     */
+    public final float getSpeed() {
+        return (float) Math.hypot(mVelocityEast, mVelocityNorth);
+    }
+
+    /**
+     * Estimated course.
+     *
+     * @return course in ° relative to the North
+     */
+    public final float getBearing() {
+        return (float) FormatUtils.normalizeAngle(
+                Math.toDegrees(Math.atan2(mVelocityEast, mVelocityNorth)));
+    }
+
+    /**
+     * Checks if the estimated speed is accurate,
+     * the velocity should have converged after the first fixes.
+     *
+     * @return true if the speed is accurate
+     */
+    public final boolean isSpeedAccurate() {
+        return mHasEstimate
+                && mP11 < MAX_SPEED_SIGMA * MAX_SPEED_SIGMA;
+    }
+
+    /**
+     * Checks if the estimated course is accurate,
+     * the speed should be significantly larger than its uncertainty.
+     *
+     * @return true if the course is accurate
+     */
+    public final boolean isBearingAccurate() {
+        return mHasEstimate
+                && getSpeed() > COURSE_SIGMA * Math.sqrt(mP11);
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Latency histogram with fixed buckets.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram with fixed buckets.
+ *
+ * Buckets are log-linear, like HdrHistogram : every power of 2 is split
+ * in SUB_BUCKETS buckets of equal width, so values are recorded
+ * with a relative precision of 1/SUB_BUCKETS (12.5%).
+ * Recording a value is lock-free and doesn't allocate,
+ * reading can happen concurrently, but isn't an atomic snapshot.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LatencyHistogram {
+    /**
+     * Number of bits of the sub buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of sub buckets per power of 2.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Highest power of 2 that is tracked, larger values are
+     * counted in the last bucket (2^40 ns is about 18 minutes).
+     */
+    private static final int MAX_MAGNITUDE = 40;
+
+    /**
+     * Number of buckets.
+     */
+    static final int BUCKET_COUNT
+            = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * Highest value that is counted in its own bucket.
+     */
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+
+    /**
+     * Number of recorded values in each bucket.
+     */
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Sum of all recorded values.
+     */
+    private final AtomicLong mTotal = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param value value to record, negative values are recorded as 0
+     */
+    public final void record(final long value) {
+        mCounts.incrementAndGet(getBucketIndex(value));
+        if (value > 0) {
+            mTotal.addAndGet(value);
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return number of recorded values
+     */
+    public final long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += mCounts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return mean value, 0 if no values were recorded
+     */
+    public final double getMean() {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) mTotal.get() / count;
+    }
+
+    /**
+     * Gets the value below which a percentage of the recorded values fall.
+     * The highest value of the bucket is returned.
+     *
+     * @param percentile percentage (0-100)
+     * @return value at percentile, 0 if no values were recorded
+     * @throws IllegalArgumentException if percentile is not in range
+     */
+    public final long getPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(
+                    "Parameter percentile should be in range 0-100");
+        }
+
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        // rank of the value at the percentile, at least the first value
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += mCounts.get(i);
+            if (cumulative >= rank) {
+                return getBucketLowerBound(i + 1) - 1;
+            }
+        }
+
+        // values were recorded while reading
+        return MAX_VALUE;
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public final void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mCounts.set(i, 0);
+        }
+        mTotal.set(0);
+    }
+
+    /**
+     * Calculates the index of the bucket a value is counted in.
+     *
+     * @param value value
+     * @return bucket index
+     */
+    static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value > MAX_VALUE) {
+            return BUCKET_COUNT - 1;
+        }
+
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS
+                + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Calculates the lowest value that is counted in a bucket.
+     *
+     * @param index bucket index
+     * @return lowest value of the bucket
+     */
+    static long getBucketLowerBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * Location codec, converts a location to a compact binary record.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts a location to a compact binary record, and back.
+ *
+ * Record layout (version 1) :
+ * version (byte), flags (byte), latitude, longitude, altitude (double),
+ * bearing, speed, accuracy (float), time (long),
+ * provider and name (modified UTF-8 strings, name only if flag is set).
+ * Values are stored in binary format, so they don't depend on the locale.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationCodec {
+    /**
+     * Current version of the record layout.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Flag : location has altitude.
+     */
+    private static final int FLAG_ALTITUDE = 1;
+
+    /**
+     * Flag : location has bearing.
+     */
+    private static final int FLAG_BEARING = 1 << 1;
+
+    /**
+     * Flag : location has speed.
+     */
+    private static final int FLAG_SPEED = 1 << 2;
+
+    /**
+     * Flag : location has accuracy.
+     */
+    private static final int FLAG_ACCURACY = 1 << 3;
+
+    /**
+     * Flag : location has a name.
+     */
+    private static final int FLAG_NAME = 1 << 4;
+
+    /**
+     * Position of the latitude in a record.
+     */
+    private static final int LATITUDE_POSITION = 2;
+
+    /**
+     * Position of the longitude in a record.
+     */
+    private static final int LONGITUDE_POSITION = 10;
+
+    /**
+     * Size of the fixed size values in a record,
+     * up to and including the time.
+     */
+    private static final int FIXED_SIZE = 46;
+
+    /**
+     * Hidden constructor, to prevent instantiating.
+     */
+    protected LocationCodec() {
+        // prevents calls from subclass
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Encode a location in a binary record.
+     *
+     * @param location Location to encode
+     * @return binary record
+     */
+    public static byte[] encode(final AriadneLocation location) {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        int flags = 0;
+        if (location.hasAltitude()) {
+            flags |= FLAG_ALTITUDE;
+        }
+        if (location.hasBearing()) {
+            flags |= FLAG_BEARING;
+        }
+        if (location.hasSpeed()) {
+            flags |= FLAG_SPEED;
+        }
+        if (location.hasAccuracy()) {
+            flags |= FLAG_ACCURACY;
+        }
+        if (location.getName() != null) {
+            flags |= FLAG_NAME;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeDouble(location.getLatitude());
+            out.writeDouble(location.getLongitude());
+            out.writeDouble(location.getAltitude());
+            out.writeFloat(location.getBearing());
+            out.writeFloat(location.getSpeed());
+            out.writeFloat(location.getAccuracy());
+            out.writeLong(location.getTime());
+            out.writeUTF(location.getProvider() == null
+                    ? "" : location.getProvider());
+            if ((flags & FLAG_NAME) != 0) {
+                out.writeUTF(location.getName());
+            }
+        } catch (IOException e) {
+            // writing to a byte array doesn't throw an IOException
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Check if a binary record can be decoded.
+     *
+     * @param record binary record
+     * @return true if the record is valid and has a known version
+     */
+    public static boolean isValid(final byte[] record) {
+        if (record == null || record.length < FIXED_SIZE
+                || record[0] != VERSION) {
+            return false;
+        }
+
+        DataInputStream in
+                = new DataInputStream(new ByteArrayInputStream(record));
+
+        try {
+            in.skipBytes(1);
+            int flags = in.readByte();
+            in.skipBytes(FIXED_SIZE - 2);
+            in.readUTF();
+            if ((flags & FLAG_NAME) != 0) {
+                in.readUTF();
+            }
+        } catch (IOException e) {
+            // record is truncated or corrupt
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Decode the name in a valid binary record,
+     * without decoding the other values.
+     *
+     * @param record valid binary record, see isValid()
+     * @return name, null if the location has no name
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    public static String decodeName(final byte[] record) {
+        if (!isValid(record)) {
+            throw new IllegalArgumentException(
+                    "Parameter record should be a valid record");
+        }
+
+        if ((record[1] & FLAG_NAME) == 0) {
+            return null;
+        }
+
+        DataInputStream in
+                = new DataInputStream(new ByteArrayInputStream(record));
+
+        try {
+            in.skipBytes(FIXED_SIZE);
+            in.readUTF();
+            return in.readUTF();
+        } catch (IOException e) {
+            // checked by isValid()
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decode the latitude in a valid binary record.
+     *
+     * @param record valid binary record, see isValid()
+     * @return latitude
+     */
+    public static double decodeLatitude(final byte[] record) {
+        return ByteBuffer.wrap(record).getDouble(LATITUDE_POSITION);
+    }
+
+    /**
+     * Decode the longitude in a valid binary record.
+     *
+     * @param record valid binary record, see isValid()
+     * @return longitude
+     */
+    public static double decodeLongitude(final byte[] record) {
+        return ByteBuffer.wrap(record).getDouble(LONGITUDE_POSITION);
+    }
+
+    /**
+     * Decode a binary record into a location.
+     *
+     * @param record binary record
+     * @param location Location to set the decoded values of
+     * @return true if the record was decoded,
+     *         false if the record is invalid or has an unknown version
+     */
+    public static boolean decode(
+            final byte[] record, final AriadneLocation location) {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        if (record == null || record.length == 0
+                || record[0] != VERSION) {
+            return false;
+        }
+
+        DataInputStream in
+                = new DataInputStream(new ByteArrayInputStream(record));
+
+        try {
+            in.readByte();
+            int flags = in.readByte();
+            double latitude = in.readDouble();
+            double longitude = in.readDouble();
+            double altitude = in.readDouble();
+            float bearing = in.readFloat();
+            float speed = in.readFloat();
+            float accuracy = in.readFloat();
+            long time = in.readLong();
+            String provider = in.readUTF();
+            String name = null;
+            if ((flags & FLAG_NAME) != 0) {
+                name = in.readUTF();
+            }
+
+            location.setLatitude(latitude);
+            location.setLongitude(longitude);
+            if ((flags & FLAG_ALTITUDE) != 0) {
+                location.setAltitude(altitude);
+            }
+            if ((flags & FLAG_BEARING) != 0) {
+                location.setBearing(bearing);
+            }
+            if ((flags & FLAG_SPEED) != 0) {
+                location.setSpeed(speed);
+            }
+            if ((flags & FLAG_ACCURACY) != 0) {
+                location.setAccuracy(accuracy);
+            }
+            location.setTime(time);
+            location.setProvider(provider);
+            location.setName(name);
+        } catch (IOException e) {
+            // record is truncated or corrupt
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Selects the best location estimate from several location providers.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.location.LocationManager;
+
+/**
+ * Selects the best location estimate from fixes of several providers.
+ * Fixes are ranked by accuracy, age and provider trust.
+ * A fix of another provider than the current estimate is only selected
+ * if it is clearly better, to avoid switching between providers
+ * on every fix.
+ * The time of the last fix of the primary (selected) provider is tracked,
+ * so other providers only need to be used when it is stale.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationFusion {
+    /**
+     * Accuracy of a fix without accuracy, in meters.
+     */
+    public static final float UNKNOWN_ACCURACY = 500;
+
+    /**
+     * Growth of the uncertainty of a fix with its age, in m/s.
+     */
+    public static final float AGE_PENALTY = 3;
+
+    /**
+     * Primary provider is stale when it didn't deliver a fix
+     * during this number of update intervals.
+     */
+    public static final int STALE_INTERVALS = 3;
+
+    /**
+     * Minimal time without a fix before the primary provider is stale,
+     * 30 seconds in milliseconds.
+     */
+    public static final long STALE_MIN_TIME = 30000;
+
+    /**
+     * Trust factor of GPS fixes.
+     */
+    private static final float TRUST_GPS = 1;
+
+    /**
+     * Trust factor of network fixes,
+     * their reported accuracy is often optimistic.
+     */
+    private static final float TRUST_NETWORK = 1.5f;
+
+    /**
+     * Trust factor of fixes of other providers.
+     */
+    private static final float TRUST_OTHER = 1.25f;
+
+    /**
+     * Fix of another provider has to be this much better
+     * to replace the current estimate.
+     */
+    private static final float SWITCH_FACTOR = 0.75f;
+
+    /**
+     * Current best estimate.
+     */
+    private AriadneLocation mBest = null;
+
+    /**
+     * Time of the last fix of the primary provider, in milliseconds.
+     */
+    private long mPrimaryFixTime = 0;
+
+    /**
+     * Offer a new fix.
+     *
+     * @param fix new location fix
+     * @param timestamp current time in milliseconds
+     * @return true if the fix is the new best estimate
+     */
+    public final boolean offer(final AriadneLocation fix,
+                               final long timestamp) {
+        if (fix == null) {
+            throw new IllegalArgumentException(
+                    "Parameter fix should not be null");
+        }
+
+        if (mBest != null) {
+            // only newer fixes can update the estimate
+            if (fix.getTime() <= mBest.getTime()) {
+                return false;
+            }
+
+            // a fix of another provider should be clearly better
+            if (!isSameProvider(mBest, fix)
+                    && getScore(fix, timestamp)
+                    > getScore(mBest, timestamp) * SWITCH_FACTOR) {
+                return false;
+            }
+        }
+
+        mBest = fix;
+        return true;
+    }
+
+    /**
+     * Current best estimate.
+     *
+     * @return best location fix, null if no fix was offered
+     */
+    public final AriadneLocation getBest() {
+        return mBest;
+    }
+
+    /**
+     * Set the time of the last fix of the primary provider.
+     * Set it when the primary provider is registered as well,
+     * to give it time to deliver its first fix.
+     *
+     * @param timestamp time of the fix in milliseconds
+     */
+    public final void setPrimaryFixTime(final long timestamp) {
+        mPrimaryFixTime = timestamp;
+    }
+
+    /**
+     * Checks if the primary provider didn't deliver a fix for too long.
+     *
+     * @param timestamp current time in milliseconds
+     * @param updateTime update interval of the primary provider
+     *                   in milliseconds
+     * @return true if the primary provider is stale
+     */
+    public final boolean isPrimaryStale(final long timestamp,
+                                        final long updateTime) {
+        return timestamp - mPrimaryFixTime > getStaleTime(updateTime);
+    }
+
+    /**
+     * Time without a fix before the primary provider is stale.
+     *
+     * @param updateTime update interval of the primary provider
+     *                   in milliseconds
+     * @return stale time in milliseconds
+     */
+    public static long getStaleTime(final long updateTime) {
+        return Math.max(STALE_MIN_TIME, updateTime * STALE_INTERVALS);
+    }
+
+    /**
+     * Forget the current estimate, f.e. when providers change.
+     */
+    public final void reset() {
+        mBest = null;
+    }
+
+    /**
+     * Score of a fix, the uncertainty in meters weighed by the trust
+     * of the provider. A lower score is better.
+     *
+     * @param fix location fix
+     * @param timestamp current time in milliseconds
+     * @return score
+     */
+    public static float getScore(final AriadneLocation fix,
+                                 final long timestamp) {
+        float accuracy = UNKNOWN_ACCURACY;
+        if (fix.hasAccuracy()) {
+            accuracy = fix.getAccuracy();
+        }
+
+        float age = Math.max(0, timestamp - fix.getTime())
+                / (float) Tools.SECOND_IN_MILLIS;
+
+        return (accuracy + age * AGE_PENALTY) * getTrust(fix.getProvider());
+    }
+
+    /**
+     * Trust factor of a provider.
+     *
+     * @param provider provider name
+     * @return trust factor, 1 for the most trusted provider
+     */
+    private static float getTrust(final String provider) {
+        if (LocationManager.GPS_PROVIDER.equals(provider)) {
+            return TRUST_GPS;
+        } else if (LocationManager.NETWORK_PROVIDER.equals(provider)) {
+            return TRUST_NETWORK;
+        }
+
+        return TRUST_OTHER;
+    }
+
+    /**
+     * Checks if two fixes are from the same provider.
+     *
+     * @param fix1 location fix
+     * @param fix2 location fix
+     * @return true if the provider is the same
+     */
+    private static boolean isSameProvider(final AriadneLocation fix1,
+                                          final AriadneLocation fix2) {
+        String provider = fix1.getProvider();
+        return provider != null && provider.equals(fix2.getProvider());
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * Adapts the location update rate to the navigation state.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Adapts the location update rate to the navigation state.
+ * The rate is lowered when the user is stationary or far from
+ * the destination, and raised when the user approaches the destination.
+ * The configured update time and distance are used as base rate.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationUpdateScheduler {
+    /**
+     * Update rate bucket.
+     */
+    public enum Bucket {
+        /**
+         * Close to destination, updates twice as often,
+         * regardless of travelled distance.
+         */
+        Near(0.5f, 0f),
+        /**
+         * Moving, at a moderate distance of the destination,
+         * or no destination is set : configured update rate.
+         */
+        Normal(1f, 1f),
+        /**
+         * Far from destination.
+         */
+        Far(3f, 5f),
+        /**
+         * Not moving.
+         */
+        Stationary(6f, 1f);
+
+        /**
+         * Factor applied to the base update time.
+         */
+        private final float mTimeFactor;
+
+        /**
+         * Factor applied to the base update distance.
+         */
+        private final float mDistanceFactor;
+
+        /**
+         * Constructor.
+         *
+         * @param timeFactor factor applied to the base update time
+         * @param distanceFactor factor applied to the base update distance
+         */
+        Bucket(final float timeFactor, final float distanceFactor) {
+            mTimeFactor = timeFactor;
+            mDistanceFactor = distanceFactor;
+        }
+    }
+
+    /**
+     * Minimal update time in milliseconds.
+     */
+    public static final long MIN_UPDATE_TIME = 1000;
+
+    /**
+     * Speed below which the user is stationary in m/s.
+     */
+    public static final float STATIONARY_SPEED = 0.5f;
+
+    /**
+     * Minimal distance to the destination to be near, in meters.
+     */
+    public static final float NEAR_DISTANCE = 200;
+
+    /**
+     * Distance to the destination, in number of times the location
+     * accuracy, below which the destination is near.
+     */
+    public static final float NEAR_ACCURACY_FACTOR = 10;
+
+    /**
+     * Distance to the destination to be far, in meters.
+     */
+    public static final float FAR_DISTANCE = 5000;
+
+    /**
+     * Factor applied to a threshold to leave the current bucket,
+     * to avoid switching buckets on every update around a threshold.
+     */
+    private static final float HYSTERESIS = 1.5f;
+
+    /**
+     * Base update time in milliseconds.
+     */
+    private long mBaseTime;
+
+    /**
+     * Base update distance in meters.
+     */
+    private float mBaseDistance;
+
+    /**
+     * Current bucket.
+     */
+    private Bucket mBucket = Bucket.Normal;
+
+    /**
+     * Constructor.
+     *
+     * @param baseTime base update time in milliseconds
+     * @param baseDistance base update distance in meters
+     */
+    public LocationUpdateScheduler(final long baseTime,
+                                   final float baseDistance) {
+        setBaseRate(baseTime, baseDistance);
+    }
+
+    /**
+     * Set base update rate, f.e. from the preferences.
+     *
+     * @param baseTime base update time in milliseconds
+     * @param baseDistance base update distance in meters
+     */
+    public final void setBaseRate(final long baseTime,
+                                  final float baseDistance) {
+        if (baseTime < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter baseTime should not be negative");
+        }
+        if (baseDistance < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter baseDistance should not be negative");
+        }
+
+        mBaseTime = baseTime;
+        mBaseDistance = baseDistance;
+    }
+
+    /**
+     * Select the update rate bucket for the navigation state.
+     *
+     * @param navigation current navigation state
+     * @return true if the bucket changed,
+     *         location updates should be requested with the new rate
+     */
+    public final boolean update(final NavigationSnapshot navigation) {
+        if (navigation == null) {
+            throw new IllegalArgumentException(
+                    "Parameter navigation should not be null");
+        }
+
+        Bucket bucket = selectBucket(navigation);
+        if (bucket == mBucket) {
+            return false;
+        }
+
+        mBucket = bucket;
+        return true;
+    }
+
+    /**
+     * Select bucket, keeps the current bucket
+     * until a threshold is crossed by the hysteresis margin.
+     *
+     * @param navigation current navigation state
+     * @return bucket
+     */
+    private Bucket selectBucket(final NavigationSnapshot navigation) {
+        // an inaccurate location needs updates to get accurate
+        if (!navigation.isLocationAccurate()) {
+            return Bucket.Normal;
+        }
+
+        if (navigation.getDestination() != null) {
+            float distance = navigation.getDistance();
+            float near = Math.max(NEAR_DISTANCE, NEAR_ACCURACY_FACTOR
+                    * navigation.getLocation().getAccuracy());
+            if (distance < getThreshold(near, Bucket.Near, true)) {
+                // precision near the destination is more important
+                // than power saving when the user is stationary
+                return Bucket.Near;
+            }
+        }
+
+        float stationary = getThreshold(
+                STATIONARY_SPEED, Bucket.Stationary, true);
+        if (navigation.getCurrentSpeed() < stationary) {
+            return Bucket.Stationary;
+        }
+
+        if (navigation.getDestination() != null
+                && navigation.getDistance()
+                > getThreshold(FAR_DISTANCE, Bucket.Far, false)) {
+            return Bucket.Far;
+        }
+
+        return Bucket.Normal;
+    }
+
+    /**
+     * Get threshold to be in a bucket, widened by the hysteresis margin
+     * if it is the current bucket.
+     *
+     * @param threshold threshold value
+     * @param bucket bucket the threshold is for
+     * @param below true if the bucket is below the threshold
+     * @return threshold
+     */
+    private float getThreshold(final float threshold, final Bucket bucket,
+                               final boolean below) {
+        if (bucket != mBucket) {
+            return threshold;
+        }
+
+        if (below) {
+            return threshold * HYSTERESIS;
+        } else {
+            return threshold / HYSTERESIS;
+        }
+    }
+
+    /**
+     * Base update distance.
+     *
+     * @return base update distance in meters
+     */
+    public final float getBaseDistance() {
+        return mBaseDistance;
+    }
+
+    /**
+     * Current update rate bucket.
+     *
+     * @return bucket
+     */
+    public final Bucket getBucket() {
+        return mBucket;
+    }
+
+    /**
+     * Minimal time between location updates in the current bucket.
+     *
+     * @return update time in milliseconds
+     */
+    public final long getUpdateTime() {
+        long time = (long) (mBaseTime * mBucket.mTimeFactor);
+        return Math.max(Math.min(MIN_UPDATE_TIME, mBaseTime), time);
+    }
+
+    /**
+     * Minimal distance between location updates in the current bucket.
+     *
+     * @return update distance in meters
+     */
+    public final float getUpdateDistance() {
+        return mBaseDistance * mBucket.mDistanceFactor;
+    }
+}
@@ -81,12 +81,50 @@ public class LowPassFilter {
                     "parameter newArray should not be an empty array");
         }
 
-        float[] returnArray = new float[newArray.length];
-
         if (previousArray == null) {
             return newArray;
         }
 
+        return filterValueSet(previousArray, newArray, alpha,
+                new float[newArray.length]);
+    }
+
+    /**
+     * Runs a low pass filter on an array of unrelated values in parallel,
+     * storing the filtered values in a provided array.
+     *
+     * No memory is allocated, so this method can be used on every
+     * sensor event. resultArray can be the same array as previousArray,
+     * to filter the values in place.
+     * If previousArray is null, the new values are copied to resultArray.
+     *
+     * @param previousArray array of previous values
+     * @param newArray array of current values
+     * @param alpha Alpha value of low pass filter (valid range : 0-1)
+     * @param resultArray array the filtered values are stored in
+     * @return resultArray, containing the filtered values.
+     */
+    public static float[] filterValueSet(
+            final float[] previousArray, final float[] newArray,
+            final float alpha, final float[] resultArray) {
+        // newArray should not be empty
+        if (newArray == null || newArray.length == 0) {
+            throw new IllegalArgumentException(
+                    "parameter newArray should not be an empty array");
+        }
+
+        // resultArray should have the same size as newArray
+        if (resultArray == null || newArray.length != resultArray.length) {
+            throw new IllegalArgumentException(
+                    "parameter resultArray should have the same size "
+                        + "as parameter newArray");
+        }
+
+        if (previousArray == null) {
+            System.arraycopy(newArray, 0, resultArray, 0, newArray.length);
+            return resultArray;
+        }
+
         // previousArray should have the same size as newArray
         if (newArray.length != previousArray.length) {
             throw new IllegalArgumentException(
@@ -98,10 +136,10 @@ public class LowPassFilter {
         }
 
         for (int i = 0; i < newArray.length; i++) {
-            returnArray[i] = filterValue(
+            resultArray[i] = filterValue(
                     previousArray[i], newArray[i], alpha);
         }
 
-        return returnArray;
+        return resultArray;
     }
 }
@@ -0,0 +1,268 @@
+/**
+ * Registry of hot path latency metrics.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registry of hot path metrics.
+ *
+ * Each processing stage has a latency histogram,
+ * events that aren't timed have a counter.
+ * Both are lock-free and don't allocate memory.
+ * Metrics are disabled by default, start() returns 0 then
+ * and stop() and increment() don't record anything, so instrumented code
+ * only pays for reading a volatile flag.
+ *
+ * When enabled, timing a stage costs about 100 ns
+ * (95 ns in MetricsBenchmark), most of it spent in
+ * the two System.nanoTime() calls, so it is only enabled
+ * at a high debug level. Incrementing a counter costs
+ * less than 10 ns.
+ *
+ * Usage :
+ * <pre>
+ * long start = Metrics.start();
+ * // process
+ * Metrics.stop(Metrics.Stage.Fusion, start);
+ * Metrics.increment(Metrics.Counter.LocationFix);
+ * </pre>
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public final class Metrics {
+    /**
+     * Instrumented processing stages.
+     */
+    public enum Stage {
+        /**
+         * Processing a sensor event.
+         */
+        SensorIngest,
+        /**
+         * Calculating orientation from sensor values.
+         */
+        Fusion,
+        /**
+         * Deriving navigation values in Navigator.
+         */
+        Navigator,
+        /**
+         * Notifying bound activities.
+         */
+        Broadcast,
+        /**
+         * Drawing NavigationView.
+         */
+        Draw
+    }
+
+    /**
+     * Counted events.
+     */
+    public enum Counter {
+        /**
+         * Location fix received from a provider.
+         */
+        LocationFix,
+        /**
+         * Orientation change, requesting a broadcast.
+         */
+        OrientationUpdate,
+        /**
+         * Orientation change that didn't change the displayed bearing,
+         * no broadcast is needed.
+         */
+        SkippedOrientationUpdate
+    }
+
+    /**
+     * Nanoseconds in a microsecond, as a floating point value.
+     */
+    private static final double MICRO_IN_NANO = Tools.MICRO_IN_NANO;
+
+    /**
+     * Median percentile.
+     */
+    private static final double PERCENTILE_MEDIAN = 50;
+
+    /**
+     * Tail percentile.
+     */
+    private static final double PERCENTILE_TAIL = 99;
+
+    /**
+     * Maximum percentile.
+     */
+    private static final double PERCENTILE_MAX = 100;
+
+    /**
+     * Latency histograms in nanoseconds, indexed by stage.
+     */
+    private static final LatencyHistogram[] HISTOGRAMS
+            = new LatencyHistogram[Stage.values().length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Event counts, indexed by counter.
+     */
+    private static final AtomicLongArray COUNTERS
+            = new AtomicLongArray(Counter.values().length);
+
+    /**
+     * True if timing is enabled.
+     */
+    private static volatile boolean sEnabled = false;
+
+    /**
+     * Hidden constructor, to prevent instantiating.
+     */
+    private Metrics() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Enables or disables timing and counting.
+     *
+     * @param enabled true to enable timing and counting
+     */
+    public static void setEnabled(final boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    /**
+     * Returns true if timing is enabled.
+     *
+     * @return true if timing is enabled
+     */
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Starts timing a stage.
+     *
+     * @return start timestamp in nanoseconds, 0 if timing is disabled
+     */
+    public static long start() {
+        if (!sEnabled) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Stops timing a stage and records the elapsed time.
+     *
+     * @param stage processing stage
+     * @param start start timestamp returned by start()
+     */
+    public static void stop(final Stage stage, final long start) {
+        if (start == 0) {
+            return;
+        }
+        HISTOGRAMS[stage.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Counts an event.
+     *
+     * @param counter counted event
+     */
+    public static void increment(final Counter counter) {
+        if (!sEnabled) {
+            return;
+        }
+        COUNTERS.incrementAndGet(counter.ordinal());
+    }
+
+    /**
+     * Gets the number of counted events.
+     *
+     * @param counter counted event
+     * @return number of events
+     */
+    public static long getCount(final Counter counter) {
+        return COUNTERS.get(counter.ordinal());
+    }
+
+    /**
+     * Gets the latency histogram of a stage.
+     *
+     * @param stage processing stage
+     * @return latency histogram in nanoseconds
+     */
+    public static LatencyHistogram getHistogram(final Stage stage) {
+        return HISTOGRAMS[stage.ordinal()];
+    }
+
+    /**
+     * Resets the histograms of all stages and all counters.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+        for (int i = 0; i < COUNTERS.length(); i++) {
+            COUNTERS.set(i, 0);
+        }
+    }
+
+    /**
+     * Formats a summary of all stages, one line per stage :
+     * number of samples, mean, median, 99th percentile
+     * and maximum latency in microseconds,
+     * followed by one line per counter with the number of events.
+     *
+     * @return formatted summary
+     */
+    public static String format() {
+        StringBuilder summary = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = HISTOGRAMS[stage.ordinal()];
+            if (summary.length() > 0) {
+                summary.append('\n');
+            }
+            summary.append(String.format(Locale.getDefault(),
+                    " %s: n=%d mean=%.1f p50=%.1f p99=%.1f max=%.1f µs",
+                    stage.name(),
+                    histogram.getCount(),
+                    histogram.getMean() / MICRO_IN_NANO,
+                    histogram.getPercentile(PERCENTILE_MEDIAN)
+                            / MICRO_IN_NANO,
+                    histogram.getPercentile(PERCENTILE_TAIL) / MICRO_IN_NANO,
+                    histogram.getPercentile(PERCENTILE_MAX)
+                            / MICRO_IN_NANO));
+        }
+        for (Counter counter : Counter.values()) {
+            summary.append(String.format(Locale.getDefault(),
+                    "\n %s: n=%d", counter.name(), getCount(counter)));
+        }
+        return summary.toString();
+    }
+}
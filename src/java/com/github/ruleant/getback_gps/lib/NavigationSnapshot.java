@@ -0,0 +1,309 @@
+/**
+ * Immutable view of the navigation state.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Immutable view of the navigation state, derived from a Navigator.
+ * Distances and directions are calculated when the snapshot is created,
+ * so they are consistent with each other and can be read from any thread.
+ * The locations are copied, so later changes to the Navigator locations
+ * don't change the snapshot.
+ * Accuracy checks that depend on the age of the locations are evaluated
+ * when they are read, using the timestamps of the copied locations,
+ * so an older snapshot doesn't report an expired location as accurate.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public final class NavigationSnapshot {
+    /**
+     * Snapshot without location and destination.
+     */
+    public static final NavigationSnapshot EMPTY
+            = new NavigationSnapshot(new Navigator());
+
+    /**
+     * Current location (copy).
+     */
+    private final AriadneLocation mLocation;
+
+    /**
+     * Previous location (copy).
+     */
+    private final AriadneLocation mPreviousLocation;
+
+    /**
+     * Current destination (copy).
+     */
+    private final AriadneLocation mDestination;
+
+    /**
+     * Distance to destination.
+     */
+    private final float mDistance;
+
+    /**
+     * Height difference to destination.
+     */
+    private final double mHeightDifference;
+
+    /**
+     * Absolute direction to destination.
+     */
+    private final double mAbsoluteDirection;
+
+    /**
+     * Current speed.
+     */
+    private final float mCurrentSpeed;
+
+    /**
+     * Current sensor based bearing, corrected with the offset.
+     */
+    private final double mSensorBearing;
+
+    /**
+     * Offset of sensor based bearing.
+     */
+    private final double mSensorBearingOffset;
+
+    /**
+     * Bearing from previous to current location.
+     */
+    private final double mTravelledBearing;
+
+    /**
+     * Detected travel direction.
+     */
+    private final Navigator.TravelDirection mTravelDirection;
+
+    /**
+     * Accuracy of the current location is below the limit.
+     */
+    private final boolean mLocationAccuracyOk;
+
+    /**
+     * Sensor based bearing is accurate.
+     */
+    private final boolean mSensorBearingAccurate;
+
+    /**
+     * Travelled distance is larger than the accuracy.
+     */
+    private final boolean mTravelled;
+
+    /**
+     * Distance to destination is smaller than the accuracy.
+     */
+    private final boolean mWithinAccuracy;
+
+    /**
+     * Constructor.
+     *
+     * @param navigator Navigator to take the snapshot of
+     */
+    NavigationSnapshot(final Navigator navigator) {
+        if (navigator == null) {
+            throw new IllegalArgumentException(
+                    "Parameter navigator should not be null");
+        }
+
+        mLocation = copy(navigator.getLocation());
+        mPreviousLocation = copy(navigator.getPreviousLocation());
+        mDestination = copy(navigator.getDestination());
+        mDistance = navigator.getDistance();
+        mHeightDifference = navigator.getHeightDifference();
+        mAbsoluteDirection = navigator.getAbsoluteDirection();
+        mCurrentSpeed = navigator.getCurrentSpeed();
+        mSensorBearingAccurate = navigator.isSensorBearingAccurate();
+        mSensorBearing = navigator.getCurrentBearing();
+        mSensorBearingOffset = navigator.getSensorBearingOffset();
+        mTravelled = navigator.hasTravelled();
+        mTravelledBearing = navigator.getTravelledBearing();
+        mTravelDirection = navigator.getTravelDirection();
+        mLocationAccuracyOk = mLocation != null
+                && mLocation.getAccuracy() <= Navigator.ACCURACY_LIMIT;
+        mWithinAccuracy = mLocation != null && mDestination != null
+                && mDistance < mLocation.getAccuracy();
+    }
+
+    /**
+     * Copy a location.
+     *
+     * @param location location to copy, can be null
+     * @return copy, null if location is null
+     */
+    private static AriadneLocation copy(final AriadneLocation location) {
+        if (location == null) {
+            return null;
+        }
+
+        return location.copy();
+    }
+
+    /**
+     * Retrieve current location.
+     * The location is a copy owned by the snapshot, it shouldn't be changed.
+     *
+     * @return Location
+     */
+    public AriadneLocation getLocation() {
+        return mLocation;
+    }
+
+    /**
+     * Get destination location.
+     * The location is a copy owned by the snapshot, it shouldn't be changed.
+     *
+     * @return Destination
+     */
+    public AriadneLocation getDestination() {
+        return mDestination;
+    }
+
+    /**
+     * Distance to destination.
+     *
+     * @return distance in meters
+     */
+    public float getDistance() {
+        return mDistance;
+    }
+
+    /**
+     * Height difference to destination.
+     *
+     * @return distance in meters
+     */
+    public double getHeightDifference() {
+        return mHeightDifference;
+    }
+
+    /**
+     * Absolute direction to destination.
+     *
+     * @return direction in ° relative to the North
+     */
+    public double getAbsoluteDirection() {
+        return mAbsoluteDirection;
+    }
+
+    /**
+     * Direction to destination, relative to current bearing.
+     *
+     * @return direction in ° relative to current bearing
+     */
+    public double getRelativeDirection() {
+        if (!isBearingAccurate()) {
+            return Navigator.DIR_ZERO;
+        }
+
+        return FormatUtils.normalizeAngle(
+                mAbsoluteDirection - getCurrentBearing());
+    }
+
+    /**
+     * Most accurate current speed.
+     *
+     * @return current speed in m/s
+     */
+    public float getCurrentSpeed() {
+        return mCurrentSpeed;
+    }
+
+    /**
+     * Most accurate current bearing.
+     *
+     * @return current bearing in ° relative to the North
+     */
+    public double getCurrentBearing() {
+        if (mSensorBearingAccurate) {
+            return mSensorBearing;
+        }
+
+        if (mLocation != null && mLocation.hasBearing()) {
+            return mLocation.getBearing();
+        }
+
+        if (isLocationBearingAccurate()) {
+            return mTravelledBearing;
+        }
+
+        return Navigator.DIR_ZERO;
+    }
+
+    /**
+     * Offset between bearing provided by sensors
+     * and bearing provided by geolocation.
+     *
+     * @return offset of sensor based bearing
+     */
+    public double getSensorBearingOffset() {
+        return mSensorBearingOffset;
+    }
+
+    /**
+     * Detected travel direction.
+     *
+     * @return travel direction
+     */
+    public Navigator.TravelDirection getTravelDirection() {
+        return mTravelDirection;
+    }
+
+    /**
+     * Current location is accurate, and still recent.
+     *
+     * @return true if location is accurate
+     */
+    public boolean isLocationAccurate() {
+        return mLocationAccuracyOk && mLocation.isRecent();
+    }
+
+    /**
+     * Current bearing is accurate.
+     *
+     * @return true if bearing is accurate
+     */
+    public boolean isBearingAccurate() {
+        return mSensorBearingAccurate || isLocationBearingAccurate();
+    }
+
+    /**
+     * Location based bearing is accurate,
+     * both current and previous location are still recent.
+     *
+     * @return true if location based bearing is accurate
+     */
+    private boolean isLocationBearingAccurate() {
+        return mTravelled && isLocationAccurate()
+                && mPreviousLocation.isRecent();
+    }
+
+    /**
+     * Current location is destination.
+     *
+     * @return true if current location is destination
+     */
+    public boolean isDestinationReached() {
+        return mWithinAccuracy && isLocationAccurate();
+    }
+}
@@ -50,7 +50,7 @@ public class Navigator {
     /**
      * Required location accuracy in meter.
      */
-    private static final double ACCURACY_LIMIT = 50;
+    static final double ACCURACY_LIMIT = 50;
 
     /**
      * Angle range for travel direction detection in degrees.
@@ -104,6 +104,84 @@ public class Navigator {
      */
     private TravelDirection mTravelDirection = TravelDirection.Unknown;
 
+    /**
+     * Spatial index of stored waypoints.
+     */
+    private WaypointIndex mWaypointIndex = null;
+
+    /**
+     * Geodesy calculator, for distance and bearing between locations.
+     */
+    private final Geodesy mGeodesy = new Geodesy();
+
+    /**
+     * Accuracy mode of distance and bearing calculations.
+     */
+    private Geodesy.Mode mGeodesyMode = Geodesy.Mode.AUTO;
+
+    /**
+     * Version of the navigation state, incremented when current location,
+     * previous location, destination or geodesy mode changes.
+     */
+    private long mVersion = 0;
+
+    /**
+     * Derived values of the current navigation state version.
+     */
+    private volatile DerivedState mDerivedState = null;
+
+    /**
+     * Distance and bearing values derived from the navigation state,
+     * calculated once per state version.
+     */
+    private static final class DerivedState {
+        /**
+         * Version of the navigation state these values are derived from.
+         */
+        private final long mVersion;
+
+        /**
+         * Distance from current location to destination.
+         */
+        private final double mDestinationDistance;
+
+        /**
+         * Bearing from current location to destination.
+         */
+        private final double mDestinationBearing;
+
+        /**
+         * Distance from previous location to current location.
+         */
+        private final double mTravelledDistance;
+
+        /**
+         * Bearing from previous location to current location.
+         */
+        private final double mTravelledBearing;
+
+        /**
+         * Constructor.
+         *
+         * @param version version of the navigation state
+         * @param destinationDistance distance to destination
+         * @param destinationBearing bearing to destination
+         * @param travelledDistance distance from previous location
+         * @param travelledBearing bearing from previous location
+         */
+        private DerivedState(final long version,
+                             final double destinationDistance,
+                             final double destinationBearing,
+                             final double travelledDistance,
+                             final double travelledBearing) {
+            mVersion = version;
+            mDestinationDistance = destinationDistance;
+            mDestinationBearing = destinationBearing;
+            mTravelledDistance = travelledDistance;
+            mTravelledBearing = travelledBearing;
+        }
+    }
+
     /**
      * Constructor.
      */
@@ -132,6 +210,7 @@ public class Navigator {
     public final void setLocation(final AriadneLocation location) {
         mPreviousLocation = mCurrentLocation;
         mCurrentLocation = location;
+        mVersion++;
 
         calculateSensorBearingOffset();
     }
@@ -145,6 +224,7 @@ public class Navigator {
      */
     public final void setPreviousLocation(final AriadneLocation location) {
         mPreviousLocation = location;
+        mVersion++;
     }
 
     /**
@@ -174,6 +254,7 @@ public class Navigator {
      */
     public final void setDestination(final AriadneLocation destination) {
         mDestination = destination;
+        mVersion++;
     }
 
     /**
@@ -185,6 +266,62 @@ public class Navigator {
         return mDestination;
     }
 
+    /**
+     * Set accuracy mode of distance and bearing calculations.
+     * The default mode (AUTO) uses a fast approximation for short distances
+     * and Vincenty's formula for long distances.
+     *
+     * @param mode accuracy mode
+     */
+    public final void setGeodesyMode(final Geodesy.Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException(
+                    "Parameter mode should not be null");
+        }
+
+        mGeodesyMode = mode;
+        mVersion++;
+    }
+
+    /**
+     * Set spatial index of stored waypoints,
+     * used to find the nearest waypoint.
+     *
+     * @param waypointIndex WaypointIndex instance
+     */
+    public final void setWaypointIndex(final WaypointIndex waypointIndex) {
+        mWaypointIndex = waypointIndex;
+    }
+
+    /**
+     * Get the stored waypoint nearest to the current location.
+     *
+     * @return id of the nearest waypoint, WaypointIndex.NO_WAYPOINT
+     *         if location or waypoints are not available
+     */
+    public final long getNearestWaypoint() {
+        if (mCurrentLocation == null || mWaypointIndex == null) {
+            return WaypointIndex.NO_WAYPOINT;
+        }
+
+        return mWaypointIndex.findNearest(
+                mCurrentLocation.getLatitude(),
+                mCurrentLocation.getLongitude());
+    }
+
+    /**
+     * Create an immutable snapshot of the current navigation state.
+     *
+     * @return NavigationSnapshot
+     */
+    public final NavigationSnapshot getSnapshot() {
+        long start = Metrics.start();
+        NavigationSnapshot snapshot = new NavigationSnapshot(this);
+        Metrics.stop(Metrics.Stage.Navigator, start);
+
+        return snapshot;
+    }
+
     /**
      * Calculate distance to current destination.
      *
@@ -197,7 +334,7 @@ public class Navigator {
         if (mCurrentLocation == null || destination == null) {
             return DIST_ZERO;
         }
-        return mCurrentLocation.distanceTo(destination);
+        return (float) getDerivedState().mDestinationDistance;
     }
 
     /**
@@ -227,7 +364,7 @@ public class Navigator {
         if (mCurrentLocation == null || destination == null) {
             return DIR_ZERO;
         }
-        return mCurrentLocation.bearingTo(destination);
+        return getDerivedState().mDestinationBearing;
     }
 
     /**
@@ -300,7 +437,7 @@ public class Navigator {
                     && !mCurrentLocation.equals(mPreviousLocation)) {
                 // calculate speed from difference with previous location
                 float distance
-                        = mCurrentLocation.distanceTo(mPreviousLocation);
+                        = (float) getDerivedState().mTravelledDistance;
                 long time
                         = mCurrentLocation.getTime()
                         - mPreviousLocation.getTime();
@@ -352,7 +489,7 @@ public class Navigator {
             // or if bearing is not accurate
             // (both are checked in isBearingAccurate)
             if (isLocationBearingAccurate()) {
-                currentBearing = mPreviousLocation.bearingTo(mCurrentLocation);
+                currentBearing = getDerivedState().mTravelledBearing;
             }
         }
 
@@ -408,10 +545,100 @@ public class Navigator {
                 && mPreviousLocation != null
                 && mPreviousLocation.isRecent()
                 && !mPreviousLocation.equals(mCurrentLocation)
-                && mPreviousLocation.distanceTo(mCurrentLocation)
+                && getDerivedState().mTravelledDistance
                 > mCurrentLocation.getAccuracy();
     }
 
+    /**
+     * Determines if the distance between previous and current location
+     * is larger than the accuracy, regardless of the age of the locations.
+     *
+     * @return true if a bearing can be derived from the travelled distance
+     */
+    final boolean hasTravelled() {
+        return  mCurrentLocation != null
+                && mPreviousLocation != null
+                && !mPreviousLocation.equals(mCurrentLocation)
+                && getDerivedState().mTravelledDistance
+                > mCurrentLocation.getAccuracy();
+    }
+
+    /**
+     * Bearing from previous to current location.
+     *
+     * @return bearing in ° relative to the North
+     */
+    final double getTravelledBearing() {
+        return getDerivedState().mTravelledBearing;
+    }
+
+    /**
+     * Get values derived from the current navigation state.
+     * Distance and bearing are only calculated when the state version
+     * changed since the last call, all getters share the result.
+     *
+     * @return derived state of the current version
+     */
+    private DerivedState getDerivedState() {
+        DerivedState state = mDerivedState;
+        if (state != null && state.mVersion == mVersion) {
+            return state;
+        }
+
+        double destinationDistance = DIST_ZERO;
+        double destinationBearing = DIR_ZERO;
+        double travelledDistance = DIST_ZERO;
+        double travelledBearing = DIR_ZERO;
+
+        if (mCurrentLocation != null) {
+            if (mDestination != null) {
+                destinationDistance
+                        = getDistance(mCurrentLocation, mDestination);
+                destinationBearing
+                        = getBearing(mCurrentLocation, mDestination);
+            }
+            if (mPreviousLocation != null) {
+                travelledDistance
+                        = getDistance(mPreviousLocation, mCurrentLocation);
+                travelledBearing
+                        = getBearing(mPreviousLocation, mCurrentLocation);
+            }
+        }
+
+        state = new DerivedState(mVersion, destinationDistance,
+                destinationBearing, travelledDistance, travelledBearing);
+        mDerivedState = state;
+        return state;
+    }
+
+    /**
+     * Calculate distance between two locations.
+     *
+     * @param from start location
+     * @param to end location
+     * @return distance in meters
+     */
+    private double getDistance(
+            final AriadneLocation from, final AriadneLocation to) {
+        return mGeodesy.getDistance(mGeodesyMode,
+                from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude());
+    }
+
+    /**
+     * Calculate initial bearing from one location to another.
+     *
+     * @param from start location
+     * @param to end location
+     * @return bearing in ° relative to the North
+     */
+    private double getBearing(
+            final AriadneLocation from, final AriadneLocation to) {
+        return mGeodesy.getBearing(mGeodesyMode,
+                from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude());
+    }
+
     /**
      * Calculate offset between bearing provided by sensors
      * and bearing provided by geolocation.
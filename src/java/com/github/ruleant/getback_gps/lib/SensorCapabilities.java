@@ -0,0 +1,193 @@
+/**
+ * Sensor capabilities of the device.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.annotation.TargetApi;
+import android.hardware.Sensor;
+import android.hardware.SensorManager;
+import android.os.Build;
+
+/**
+ * Sensor capabilities of the device.
+ *
+ * The sensors are probed once, when an instance is created,
+ * so later decisions don't query the SensorManager again.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public final class SensorCapabilities {
+    /**
+     * Probed sensor types.
+     */
+    private static final int[] SENSOR_TYPES = {
+        Sensor.TYPE_ACCELEROMETER,
+        Sensor.TYPE_MAGNETIC_FIELD,
+        Sensor.TYPE_GYROSCOPE,
+        Sensor.TYPE_ROTATION_VECTOR,
+        Sensor.TYPE_ORIENTATION,
+    };
+
+    /**
+     * Microseconds in a second.
+     */
+    private static final float SECOND_IN_MICROS = 1000000;
+
+    /**
+     * Default sensor of each probed type, null if not available.
+     */
+    private final Sensor[] mSensors = new Sensor[SENSOR_TYPES.length];
+
+    /**
+     * Maximum number of events in the FIFO of each probed type.
+     */
+    private final int[] mFifoMaxEventCounts = new int[SENSOR_TYPES.length];
+
+    /**
+     * Minimum delay between events in microseconds of each probed type.
+     */
+    private final int[] mMinDelays = new int[SENSOR_TYPES.length];
+
+    /**
+     * Constructor, probes the sensors of the device.
+     *
+     * @param sensorManager SensorManager, null if there are no sensors
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    public SensorCapabilities(final SensorManager sensorManager) {
+        if (sensorManager == null) {
+            return;
+        }
+
+        for (int i = 0; i < SENSOR_TYPES.length; i++) {
+            Sensor sensor = sensorManager.getDefaultSensor(SENSOR_TYPES[i]);
+            if (sensor == null) {
+                continue;
+            }
+            mSensors[i] = sensor;
+            mMinDelays[i] = sensor.getMinDelay();
+            // FIFO depth is available from Android 4.4 (API 19)
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                mFifoMaxEventCounts[i] = sensor.getFifoMaxEventCount();
+            }
+        }
+    }
+
+    /**
+     * Gets the default sensor of a type.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return sensor, null if not available or the type is not probed
+     */
+    public Sensor getSensor(final int sensorType) {
+        int index = getIndex(sensorType);
+        return index < 0 ? null : mSensors[index];
+    }
+
+    /**
+     * Returns true if a sensor type is available.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return true if a sensor of this type is available
+     */
+    public boolean hasSensor(final int sensorType) {
+        return getSensor(sensorType) != null;
+    }
+
+    /**
+     * Gets the maximum number of events a sensor can batch in its FIFO.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return maximum number of events, 0 if the sensor can't batch
+     */
+    public int getFifoMaxEventCount(final int sensorType) {
+        int index = getIndex(sensorType);
+        return index < 0 ? 0 : mFifoMaxEventCounts[index];
+    }
+
+    /**
+     * Gets the minimum delay between two events of a sensor.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return minimum delay in microseconds, 0 if unknown
+     */
+    public int getMinDelay(final int sensorType) {
+        int index = getIndex(sensorType);
+        return index < 0 ? 0 : mMinDelays[index];
+    }
+
+    /**
+     * Gets the maximum event rate of a sensor.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return maximum rate in Hz, 0 if unknown
+     */
+    public float getMaxRate(final int sensorType) {
+        int minDelay = getMinDelay(sensorType);
+        return minDelay > 0 ? SECOND_IN_MICROS / minDelay : 0;
+    }
+
+    /**
+     * Returns true if the orientation can be calculated from
+     * the accelerometer and magnetic field sensor.
+     *
+     * @return true if accelerometer and magnetic field sensor are available
+     */
+    public boolean hasCompass() {
+        return hasSensor(Sensor.TYPE_ACCELEROMETER)
+                && hasSensor(Sensor.TYPE_MAGNETIC_FIELD);
+    }
+
+    /**
+     * Returns true if an orientation can be provided,
+     * calculated or by the deprecated orientation sensor.
+     *
+     * @return true if the required sensors are available
+     */
+    public boolean hasOrientation() {
+        return hasCompass() || hasSensor(Sensor.TYPE_ORIENTATION);
+    }
+
+    /**
+     * Returns true if the gyroscope can be fused with the compass.
+     *
+     * @return true if gyroscope, accelerometer and magnetic field sensor
+     *         are available
+     */
+    public boolean hasGyroscopeCompass() {
+        return hasSensor(Sensor.TYPE_GYROSCOPE) && hasCompass();
+    }
+
+    /**
+     * Gets the index of a probed sensor type.
+     *
+     * @param sensorType sensor type (Sensor.TYPE_*)
+     * @return index, -1 if the type is not probed
+     */
+    private static int getIndex(final int sensorType) {
+        for (int i = 0; i < SENSOR_TYPES.length; i++) {
+            if (SENSOR_TYPES[i] == sensorType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
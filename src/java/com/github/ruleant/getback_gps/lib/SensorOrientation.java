@@ -26,12 +26,13 @@ import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
-import android.preference.PreferenceManager;
+import android.os.Handler;
 
 import com.github.ruleant.getback_gps.SettingsActivity;
 
-import java.util.ArrayList;
 import java.util.EventListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Calculates current orientation from sensors.
@@ -40,25 +41,34 @@ import java.util.EventListener;
  */
 public class SensorOrientation implements SensorEventListener {
     /**
-     * Accelerometer Sensor.
+     * Context of the Android app.
      */
-    private Sensor mOrientationSensor;
+    private Context mContext;
 
     /**
-     * Context of the Android app.
+     * List with subscribed listeners,
+     * listeners can be added while events are dispatched on a sensor thread.
      */
-    private Context mContext;
+    private List<OrientationEventListener> eventListenerList
+            = new CopyOnWriteArrayList<OrientationEventListener>();
+
+    /**
+     * Subscribed listeners, refreshed when a listener is added or removed,
+     * so notifying them on every sensor event doesn't allocate an iterator.
+     */
+    private volatile OrientationEventListener[] mListeners
+            = new OrientationEventListener[0];
 
     /**
-     * List with subscribed listeners.
+     * Handler of the thread sensor events are delivered on,
+     * null to use the main thread.
      */
-    private ArrayList<OrientationEventListener> eventListenerList
-            = new ArrayList<OrientationEventListener>();
+    private Handler mSensorHandler = null;
 
     /**
      * Current calculated orientation.
      */
-    private double mOrientation = 0;
+    private volatile double mOrientation = 0;
 
     /**
      * Timestamp in milliseconds when current orientation was calculated.
@@ -68,7 +78,7 @@ public class SensorOrientation implements SensorEventListener {
     /**
      * Realtime timestamp in nanoseconds when current orientation was updated.
      */
-    private long mOrientationRTTimestamp = 0;
+    private volatile long mOrientationRTTimestamp = 0;
 
     /**
      * Sensor manager.
@@ -76,14 +86,20 @@ public class SensorOrientation implements SensorEventListener {
     private SensorManager mSensorManager;
 
     /**
-     * Accelerometer Sensor.
+     * Sensor capabilities of the device, probed once.
      */
-    private Sensor mAccelerometer;
+    private final SensorCapabilities mCapabilities;
 
     /**
-     * Accelerometer Sensor values.
+     * Accelerometer Sensor values (filtered).
      */
-    private float[] mAccelerometerValues;
+    private final float[] mAccelerometerValues
+            = new float[SENSOR_VALUES_SIZE];
+
+    /**
+     * True if accelerometer sensor values were set.
+     */
+    private boolean mHasAccelerometerValues = false;
 
     /**
      * Accelerometer Sensor values timestamp.
@@ -93,17 +109,57 @@ public class SensorOrientation implements SensorEventListener {
     /**
      * Realtime timestamp in nanoseconds when accelerometer sensor was updated.
      */
-    private long mAccelerometerRTTimestamp = 0;
+    private volatile long mAccelerometerRTTimestamp = 0;
+
+    /**
+     * Magnetic field sensor values (filtered).
+     */
+    private final float[] mMagneticFieldValues
+            = new float[SENSOR_VALUES_SIZE];
+
+    /**
+     * True if magnetic field sensor values were set.
+     */
+    private boolean mHasMagneticFieldValues = false;
+
+    /**
+     * Rotation vector sensor values, reused when the sensor
+     * reports more components than SensorManager accepts.
+     */
+    private final float[] mRotationVectorValues
+            = new float[ROTATION_VECTOR_SIZE];
+
+    /**
+     * Rotation vector sensor values timestamp.
+     */
+    private long mRotationVectorTimestamp;
+
+    /**
+     * Realtime timestamp in nanoseconds when rotation vector sensor
+     * was updated.
+     */
+    private volatile long mRotationVectorRTTimestamp = 0;
+
+    /**
+     * True if the gyroscope is fused with the magnetic field sensor.
+     */
+    private boolean mGyroscopeFusion = false;
 
     /**
-     * Magnetic field sensor.
+     * Fuses the gyroscope rotation rate with the magnetic heading.
      */
-    private Sensor mMagneticFieldSensor;
+    private final ComplementaryFilter mComplementaryFilter
+            = new ComplementaryFilter();
 
     /**
-     * Magnetic field sensor values.
+     * Rotation matrix, reused for every orientation calculation.
      */
-    private float[] mMagneticFieldValues;
+    private final float[] mRotationMatrix = new float[MATRIX_SIZE];
+
+    /**
+     * Orientation values, reused for every orientation calculation.
+     */
+    private final float[] mOrientationValues = new float[SENSOR_VALUES_SIZE];
 
     /**
      * Magnetic field sensor values timestamp.
@@ -113,7 +169,7 @@ public class SensorOrientation implements SensorEventListener {
     /**
      * Realtime timestamp in nanoseconds when magnetic field sensor was updated.
      */
-    private long mMagneticFieldRTTimestamp = 0;
+    private volatile long mMagneticFieldRTTimestamp = 0;
 
     /**
      * Sensor timestamp expiration,
@@ -126,11 +182,32 @@ public class SensorOrientation implements SensorEventListener {
      */
     private static final int SENSOR_UPDATE_RATE = 200000;
 
+    /**
+     * Types of the sensors that can be registered.
+     */
+    private static final int[] USED_SENSOR_TYPES = {
+        Sensor.TYPE_ACCELEROMETER,
+        Sensor.TYPE_MAGNETIC_FIELD,
+        Sensor.TYPE_GYROSCOPE,
+        Sensor.TYPE_ROTATION_VECTOR,
+        Sensor.TYPE_ORIENTATION,
+    };
+
+    /**
+     * Update rate of the fused sensors in microseconds.
+     */
+    private static final int FUSED_UPDATE_RATE = 20000;
+
     /**
      * Number of sensor value components.
      */
     private static final int SENSOR_VALUES_SIZE = 3;
 
+    /**
+     * Number of rotation vector components accepted by SensorManager.
+     */
+    private static final int ROTATION_VECTOR_SIZE = 4;
+
     /**
      * Number of rotation matrix components.
      */
@@ -147,6 +224,13 @@ public class SensorOrientation implements SensorEventListener {
      */
     private static final float ALPHA_ORIENTATION_SENSORS = 0.05f;
 
+    /**
+     * Alpha value of circular average
+     * of orientation value of fused sensors,
+     * fused sensors are less noisy and need less smoothing.
+     */
+    private static final float ALPHA_ORIENTATION_FUSED = 0.5f;
+
     /**
      * Constructor.
      *
@@ -161,15 +245,7 @@ public class SensorOrientation implements SensorEventListener {
         mContext = context;
         mSensorManager = (SensorManager) mContext.getSystemService(
                 Context.SENSOR_SERVICE);
-
-        if (hasSensors()) {
-            mAccelerometer = mSensorManager.getDefaultSensor(
-                    Sensor.TYPE_ACCELEROMETER);
-            mMagneticFieldSensor = mSensorManager.getDefaultSensor(
-                    Sensor.TYPE_MAGNETIC_FIELD);
-            mOrientationSensor = mSensorManager.getDefaultSensor(
-                    Sensor.TYPE_ORIENTATION);
-        }
+        mCapabilities = new SensorCapabilities(mSensorManager);
     }
 
     /**
@@ -179,15 +255,18 @@ public class SensorOrientation implements SensorEventListener {
      */
     public final void setAcceleration(final SensorEvent event) {
         if (event.sensor.getType() != Sensor.TYPE_ACCELEROMETER
+            || event.values.length != SENSOR_VALUES_SIZE
             // reject values that arrive sooner than the update rate
             || Tools.isTimestampRecent(event.timestamp,
                 mAccelerometerTimestamp,
                 SENSOR_UPDATE_RATE * Tools.MICRO_IN_NANO)) {
             return;
         }
-        mAccelerometerValues
-            = LowPassFilter.filterValueSet(mAccelerometerValues,
-                event.values, LOW_PASS_ALPHA);
+        // filter in place, no arrays are allocated on the sensor path
+        LowPassFilter.filterValueSet(
+                mHasAccelerometerValues ? mAccelerometerValues : null,
+                event.values, LOW_PASS_ALPHA, mAccelerometerValues);
+        mHasAccelerometerValues = true;
         mAccelerometerTimestamp = event.timestamp;
         mAccelerometerRTTimestamp = Tools.getTimestampNano();
 
@@ -202,15 +281,18 @@ public class SensorOrientation implements SensorEventListener {
      */
     public final void setMagneticField(final SensorEvent event) {
         if (event.sensor.getType() != Sensor.TYPE_MAGNETIC_FIELD
+            || event.values.length != SENSOR_VALUES_SIZE
             // reject values that arrive sooner than the update rate
             || Tools.isTimestampRecent(event.timestamp,
                 mMagneticFieldTimestamp,
                 SENSOR_UPDATE_RATE * Tools.MICRO_IN_NANO)) {
             return;
         }
-        mMagneticFieldValues
-            = LowPassFilter.filterValueSet(mMagneticFieldValues,
-                event.values, LOW_PASS_ALPHA);
+        // filter in place, no arrays are allocated on the sensor path
+        LowPassFilter.filterValueSet(
+                mHasMagneticFieldValues ? mMagneticFieldValues : null,
+                event.values, LOW_PASS_ALPHA, mMagneticFieldValues);
+        mHasMagneticFieldValues = true;
         mMagneticFieldTimestamp = event.timestamp;
         mMagneticFieldRTTimestamp = Tools.getTimestampNano();
 
@@ -238,6 +320,63 @@ public class SensorOrientation implements SensorEventListener {
         onOrientationChange();
     }
 
+    /**
+     * Set rotation rate by an event from a TYPE_GYROSCOPE sensor.
+     * The rotation rate around the vertical axis is integrated
+     * into the heading between magnetic field updates.
+     *
+     * @param event Sensor event from TYPE_GYROSCOPE sensor
+     */
+    public final void setRotationRate(final SensorEvent event) {
+        if (event.sensor.getType() != Sensor.TYPE_GYROSCOPE
+            || event.values.length < SENSOR_VALUES_SIZE
+            || !mGyroscopeFusion || !mHasAccelerometerValues) {
+            return;
+        }
+        mComplementaryFilter.integrate(
+                ComplementaryFilter.getHeadingRate(
+                        event.values, mAccelerometerValues),
+                event.timestamp);
+
+        if (mComplementaryFilter.hasHeading()) {
+            updateFusedOrientation(mComplementaryFilter.getHeading());
+            mOrientationTimestamp = event.timestamp;
+            onOrientationChange();
+        }
+    }
+
+    /**
+     * Set orientation by an event from a TYPE_ROTATION_VECTOR sensor.
+     *
+     * @param event Sensor event from TYPE_ROTATION_VECTOR sensor
+     */
+    public final void setRotationVector(final SensorEvent event) {
+        if (event.sensor.getType() != Sensor.TYPE_ROTATION_VECTOR
+            || event.values.length < SENSOR_VALUES_SIZE
+            // reject values that arrive sooner than the update rate
+            || Tools.isTimestampRecent(event.timestamp,
+                mRotationVectorTimestamp,
+                FUSED_UPDATE_RATE * Tools.MICRO_IN_NANO)) {
+            return;
+        }
+        float[] values = event.values;
+        // some devices report more components than SensorManager accepts
+        if (values.length > ROTATION_VECTOR_SIZE) {
+            System.arraycopy(values, 0, mRotationVectorValues, 0,
+                    ROTATION_VECTOR_SIZE);
+            values = mRotationVectorValues;
+        }
+        SensorManager.getRotationMatrixFromVector(mRotationMatrix, values);
+        SensorManager.getOrientation(mRotationMatrix, mOrientationValues);
+
+        updateFusedOrientation(Math.toDegrees(mOrientationValues[0]));
+        mRotationVectorTimestamp = event.timestamp;
+        mOrientationTimestamp = event.timestamp;
+        mRotationVectorRTTimestamp = Tools.getTimestampNano();
+
+        onOrientationChange();
+    }
+
     /**
      * Checks if an orientation can be provided :
      * - required sensors are available
@@ -247,11 +386,13 @@ public class SensorOrientation implements SensorEventListener {
      */
     public boolean hasOrientation() {
         return isSensorsEnabled()
-                && mAccelerometer != null && mMagneticFieldSensor != null
+                && mCapabilities.hasCompass()
                 && isTimestampRecent(mAccelerometerRTTimestamp)
                 && isTimestampRecent(mMagneticFieldRTTimestamp)
-                || (mOrientationSensor != null
-                && isTimestampRecent(mOrientationRTTimestamp));
+                || (mCapabilities.hasSensor(Sensor.TYPE_ORIENTATION)
+                && isTimestampRecent(mOrientationRTTimestamp))
+                || (mCapabilities.hasSensor(Sensor.TYPE_ROTATION_VECTOR)
+                && isTimestampRecent(mRotationVectorRTTimestamp));
     }
 
     /**
@@ -271,13 +412,16 @@ public class SensorOrientation implements SensorEventListener {
      * @return true if required sensors are available
      */
     public final boolean hasSensors() {
-        return mSensorManager != null
-            && (mSensorManager.getSensorList(
-                Sensor.TYPE_MAGNETIC_FIELD).size() > 0
-            && mSensorManager.getSensorList(
-                Sensor.TYPE_ACCELEROMETER).size() > 0
-            || mSensorManager.getSensorList(
-                Sensor.TYPE_ORIENTATION).size() > 0);
+        return mCapabilities.hasOrientation();
+    }
+
+    /**
+     * Gets the sensor capabilities of the device.
+     *
+     * @return sensor capabilities, probed when this instance was created
+     */
+    public final SensorCapabilities getCapabilities() {
+        return mCapabilities;
     }
 
     /**
@@ -288,10 +432,18 @@ public class SensorOrientation implements SensorEventListener {
      * @return true if sensors are enabled
      */
     public final boolean isSensorsEnabled() {
-        return PreferenceManager.getDefaultSharedPreferences(mContext)
-                .getBoolean(
-                        SettingsActivity.KEY_PREF_ENABLE_SENSORS,
-                        SettingsActivity.DEFAULT_PREF_ENABLE_SENSORS);
+        return SettingsSnapshot.get(mContext).isSensorsEnabled();
+    }
+
+    /**
+     * Set the handler of the thread sensor events are delivered on.
+     * Filtering, orientation calculation and notifying event listeners
+     * is done on that thread. Set before adding the first event listener.
+     *
+     * @param handler Handler of the sensor thread, null for the main thread
+     */
+    public final void setSensorHandler(final Handler handler) {
+        mSensorHandler = handler;
     }
 
     /**
@@ -305,81 +457,134 @@ public class SensorOrientation implements SensorEventListener {
             return;
         }
 
-        int sensor = Integer.parseInt(
-                PreferenceManager.getDefaultSharedPreferences(mContext)
-                .getString(
-                        SettingsActivity.KEY_PREF_GEO_ORIENTATION_SENSOR,
-                        SettingsActivity.DEFAULT_PREF_GEO_ORIENTATION_SENSOR));
-
+        int sensor = SettingsSnapshot.get(mContext).getGeoOrientationSensor();
+
+        mGyroscopeFusion = false;
+        mComplementaryFilter.reset();
+
+        if (sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_FUSED
+            && mCapabilities.hasSensor(Sensor.TYPE_ROTATION_VECTOR)) {
+            // rotation vector is fused by the platform
+            registerSensor(listener, Sensor.TYPE_ROTATION_VECTOR,
+                    FUSED_UPDATE_RATE);
+        } else if (sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_FUSED
+            && mCapabilities.hasGyroscopeCompass()) {
+            // fuse gyroscope with magnetic field sensor
+            mGyroscopeFusion = true;
+            registerSensor(listener, Sensor.TYPE_ACCELEROMETER,
+                    SENSOR_UPDATE_RATE);
+            registerSensor(listener, Sensor.TYPE_MAGNETIC_FIELD,
+                    SENSOR_UPDATE_RATE);
+            registerSensor(listener, Sensor.TYPE_GYROSCOPE,
+                    FUSED_UPDATE_RATE);
         // use calculated orientation by default
         // (until raw sensor value is stable)
-        if (sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_CALCULATED
-            || sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_AUTO
-            && mOrientationSensor != null) {
+        } else if ((sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_CALCULATED
+            || sensor == SettingsActivity.GEO_ORIENTATION_SENSOR_AUTO)
+            && mCapabilities.hasSensor(Sensor.TYPE_ORIENTATION)) {
             // orientation sensor is deprecated
-            mSensorManager.registerListener(
-                    listener, mOrientationSensor, SENSOR_UPDATE_RATE);
-        } else if (mAccelerometer != null && mMagneticFieldSensor != null) {
-            mSensorManager.registerListener(
-                    listener, mAccelerometer, SENSOR_UPDATE_RATE);
-            mSensorManager.registerListener(
-                    listener, mMagneticFieldSensor, SENSOR_UPDATE_RATE);
+            registerSensor(listener, Sensor.TYPE_ORIENTATION,
+                    SENSOR_UPDATE_RATE);
+        } else if (mCapabilities.hasCompass()) {
+            registerSensor(listener, Sensor.TYPE_ACCELEROMETER,
+                    SENSOR_UPDATE_RATE);
+            registerSensor(listener, Sensor.TYPE_MAGNETIC_FIELD,
+                    SENSOR_UPDATE_RATE);
         }
     }
 
     /**
-     * Unregister for Sensor events of
-     * TYPE_ACCELEROMETER and TYPE_MAGNETIC_FIELD.
+     * Register a listener for a sensor.
+     *
+     * @param listener SensorEventListener
+     * @param sensorType Type of the sensor to listen to
+     * @param rate Sensor update rate in microseconds
+     */
+    private void registerSensor(final SensorEventListener listener,
+                                final int sensorType, final int rate) {
+        mSensorManager.registerListener(listener,
+                mCapabilities.getSensor(sensorType), rate, mSensorHandler);
+    }
+
+    /**
+     * Unregister for Sensor events of all used sensors.
      *
      * @param listener SensorEventListener
      */
     public final void unRegisterEvents(final SensorEventListener listener) {
-        if (mAccelerometer != null && mMagneticFieldSensor != null) {
-            mSensorManager.unregisterListener(listener, mAccelerometer);
-            mSensorManager.unregisterListener(listener, mMagneticFieldSensor);
-        }
-        if (mOrientationSensor != null) {
-            mSensorManager.unregisterListener(listener, mOrientationSensor);
+        for (int sensorType : USED_SENSOR_TYPES) {
+            Sensor sensor = mCapabilities.getSensor(sensorType);
+            if (sensor != null) {
+                mSensorManager.unregisterListener(listener, sensor);
+            }
         }
     }
 
     /**
      * Calculates current orientation, based on
      * TYPE_MAGNETIC_FIELD and TYPE_ACCELEROMETER sensor values.
+     * The rotation matrix and orientation arrays are reused,
+     * so no memory is allocated.
      *
      * @return current SensorOrientation
      */
     private double calculateOrientation() {
-        if (mAccelerometerValues == null
-                || mAccelerometerValues.length != SENSOR_VALUES_SIZE
-                || mMagneticFieldValues == null
-                || mMagneticFieldValues.length != SENSOR_VALUES_SIZE) {
+        if (!mHasAccelerometerValues || !mHasMagneticFieldValues) {
             return 0;
         }
 
-        float[] rotationMatrixR = new float[MATRIX_SIZE];
-        float[] orientationValues = new float[SENSOR_VALUES_SIZE];
-
-        if (SensorManager.getRotationMatrix(rotationMatrixR, null,
-                mAccelerometerValues, mMagneticFieldValues)) {
-            orientationValues = SensorManager.getOrientation(rotationMatrixR,
-                    orientationValues);
+        long start = Metrics.start();
+        double orientation = fuseOrientation();
+        Metrics.stop(Metrics.Stage.Fusion, start);
 
-            if (orientationValues.length == SENSOR_VALUES_SIZE) {
-                mOrientation = CircularAverage.getAverageValue(
-                        (float) mOrientation,
-                        (float) Math.toDegrees(orientationValues[0]),
-                        ALPHA_ORIENTATION_SENSORS);
-                mOrientationTimestamp = Tools.getMax(mMagneticFieldTimestamp,
-                        mAccelerometerTimestamp);
+        return orientation;
+    }
 
+    /**
+     * Calculates current orientation from the filtered
+     * accelerometer and magnetic field sensor values.
+     *
+     * @return current SensorOrientation
+     */
+    private double fuseOrientation() {
+        if (SensorManager.getRotationMatrix(mRotationMatrix, null,
+                mAccelerometerValues, mMagneticFieldValues)) {
+            SensorManager.getOrientation(mRotationMatrix, mOrientationValues);
+            mOrientationTimestamp = Tools.getMax(mMagneticFieldTimestamp,
+                    mAccelerometerTimestamp);
+
+            if (mGyroscopeFusion) {
+                // magnetic heading corrects the gyroscope drift
+                mComplementaryFilter.correct(
+                        Math.toDegrees(mOrientationValues[0]),
+                        mOrientationTimestamp);
+                updateFusedOrientation(mComplementaryFilter.getHeading());
                 return mOrientation;
             }
+
+            mOrientation = CircularAverage.getAverageValue(
+                    (float) mOrientation,
+                    (float) Math.toDegrees(mOrientationValues[0]),
+                    ALPHA_ORIENTATION_SENSORS);
+
+            return mOrientation;
         }
 
         return 0;
     }
 
+    /**
+     * Updates the current orientation with a fused heading.
+     *
+     * @param heading fused heading in degrees
+     */
+    private void updateFusedOrientation(final double heading) {
+        mOrientation = CircularAverage.getAverageValue(
+                (float) mOrientation,
+                (float) FormatUtils.normalizeAngle(heading),
+                ALPHA_ORIENTATION_FUSED);
+    }
+
     /**
      * Checks if timestamp is recent.
      *
@@ -407,6 +612,7 @@ public class SensorOrientation implements SensorEventListener {
     public final void addEventListener(
             final OrientationEventListener listener) {
         eventListenerList.add(listener);
+        refreshListeners();
 
         // register listening to events when the first listener is added
         if (eventListenerList.size() == 1) {
@@ -421,6 +627,7 @@ public class SensorOrientation implements SensorEventListener {
     public final void removeEventListener(
             final OrientationEventListener listener) {
         eventListenerList.remove(listener);
+        refreshListeners();
 
         // unregister listening to events when the last listener is removed
         if (eventListenerList.size() == 0) {
@@ -428,12 +635,23 @@ public class SensorOrientation implements SensorEventListener {
         }
     }
 
+    /**
+     * Refresh the cached array of subscribed listeners.
+     */
+    private void refreshListeners() {
+        mListeners = eventListenerList.toArray(
+                new OrientationEventListener[0]);
+    }
+
     /**
      * Notify all event listeners.
      */
     private void onOrientationChange() {
-        for (OrientationEventListener eventListener : eventListenerList) {
-            eventListener.onOrientationChanged();
+        // iterate over the cached array,
+        // listeners can be removed on another thread
+        OrientationEventListener[] listeners = mListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onOrientationChanged();
         }
     }
 
@@ -455,6 +673,7 @@ public class SensorOrientation implements SensorEventListener {
      * @param event Sensor event
      */
     public final void onSensorChanged(final SensorEvent event) {
+        long start = Metrics.start();
         switch (event.sensor.getType()) {
             case Sensor.TYPE_ACCELEROMETER:
                 setAcceleration(event);
@@ -465,8 +684,15 @@ public class SensorOrientation implements SensorEventListener {
             case Sensor.TYPE_ORIENTATION:
                 setOrientation(event);
                 break;
+            case Sensor.TYPE_GYROSCOPE:
+                setRotationRate(event);
+                break;
+            case Sensor.TYPE_ROTATION_VECTOR:
+                setRotationVector(event);
+                break;
             default:
                 break;
         }
+        Metrics.stop(Metrics.Stage.SensorIngest, start);
     }
 }
@@ -0,0 +1,210 @@
+/**
+ * Typed snapshot of the settings used on the hot path.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.preference.PreferenceManager;
+
+import com.github.ruleant.getback_gps.SettingsActivity;
+
+/**
+ * Typed snapshot of the settings used on the hot path.
+ *
+ * The settings are read and parsed once, and a new snapshot is loaded
+ * when a setting changes, so sensor events and location updates don't
+ * do a preference lookup and string parsing every time.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public final class SettingsSnapshot {
+    /**
+     * Current snapshot, null until it is first requested.
+     */
+    private static volatile SettingsSnapshot sSnapshot = null;
+
+    /**
+     * Loads a new snapshot when a setting changes.
+     * SharedPreferences only keeps a weak reference to the listener,
+     * so a strong reference is kept here.
+     */
+    private static final OnSharedPreferenceChangeListener LISTENER
+            = new OnSharedPreferenceChangeListener() {
+                @Override
+                public void onSharedPreferenceChanged(
+                        final SharedPreferences sharedPreferences,
+                        final String key) {
+                    sSnapshot = new SettingsSnapshot(sharedPreferences);
+                }
+            };
+
+    /**
+     * True if use of sensors is enabled.
+     */
+    private final boolean mSensorsEnabled;
+
+    /**
+     * Default geo orientation sensor.
+     */
+    private final int mGeoOrientationSensor;
+
+    /**
+     * True if sensor events are processed on a separate thread.
+     */
+    private final boolean mSensorThread;
+
+    /**
+     * True if the track is saved on the device.
+     */
+    private final boolean mRecordTrack;
+
+    /**
+     * True if the fixes of all location providers are combined.
+     */
+    private final boolean mLocationFusion;
+
+    /**
+     * Debug level.
+     */
+    private final int mDebugLevel;
+
+    /**
+     * Constructor, reads and parses the settings.
+     *
+     * @param sharedPreferences shared preferences of the app
+     * @throws IllegalArgumentException if sharedPreferences is null
+     */
+    SettingsSnapshot(final SharedPreferences sharedPreferences) {
+        if (sharedPreferences == null) {
+            throw new IllegalArgumentException(
+                    "Parameter sharedPreferences should not be null");
+        }
+
+        mSensorsEnabled = sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_ENABLE_SENSORS,
+                SettingsActivity.DEFAULT_PREF_ENABLE_SENSORS);
+        mGeoOrientationSensor = Integer.parseInt(sharedPreferences.getString(
+                SettingsActivity.KEY_PREF_GEO_ORIENTATION_SENSOR,
+                SettingsActivity.DEFAULT_PREF_GEO_ORIENTATION_SENSOR));
+        mSensorThread = sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_SENSOR_THREAD,
+                SettingsActivity.DEFAULT_PREF_SENSOR_THREAD);
+        mRecordTrack = sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_RECORD_TRACK,
+                SettingsActivity.DEFAULT_PREF_RECORD_TRACK);
+        mLocationFusion = sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_LOCATION_FUSION,
+                SettingsActivity.DEFAULT_PREF_LOCATION_FUSION);
+        mDebugLevel = Integer.parseInt(sharedPreferences.getString(
+                DebugLevel.PREF_DEBUG_LEVEL,
+                DebugLevel.DEFAULT_DEBUG_LEVEL));
+    }
+
+    /**
+     * Gets the current settings snapshot.
+     * The first call loads the settings and starts listening for changes.
+     *
+     * @param context Context of the App
+     * @return current settings snapshot
+     * @throws IllegalArgumentException if context is null
+     */
+    public static SettingsSnapshot get(final Context context) {
+        SettingsSnapshot snapshot = sSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        if (context == null) {
+            throw new IllegalArgumentException(
+                    "Parameter context should not be null");
+        }
+
+        synchronized (SettingsSnapshot.class) {
+            if (sSnapshot == null) {
+                SharedPreferences sharedPreferences
+                        = PreferenceManager.getDefaultSharedPreferences(
+                                context);
+                sharedPreferences.registerOnSharedPreferenceChangeListener(
+                        LISTENER);
+                sSnapshot = new SettingsSnapshot(sharedPreferences);
+            }
+            return sSnapshot;
+        }
+    }
+
+    /**
+     * Returns true if use of sensors is enabled.
+     *
+     * @return true if sensors are enabled
+     */
+    public boolean isSensorsEnabled() {
+        return mSensorsEnabled;
+    }
+
+    /**
+     * Gets the default geo orientation sensor.
+     *
+     * @return geo orientation sensor,
+     *         one of SettingsActivity.GEO_ORIENTATION_SENSOR_*
+     */
+    public int getGeoOrientationSensor() {
+        return mGeoOrientationSensor;
+    }
+
+    /**
+     * Returns true if sensor events are processed on a separate thread.
+     *
+     * @return true if the sensor thread is enabled
+     */
+    public boolean isSensorThread() {
+        return mSensorThread;
+    }
+
+    /**
+     * Returns true if the track is saved on the device.
+     *
+     * @return true if track recording is enabled
+     */
+    public boolean isRecordTrack() {
+        return mRecordTrack;
+    }
+
+    /**
+     * Returns true if the fixes of all location providers are combined,
+     * instead of only using other providers when the selected provider
+     * is stale.
+     *
+     * @return true if location fusion is enabled
+     */
+    public boolean isLocationFusion() {
+        return mLocationFusion;
+    }
+
+    /**
+     * Gets the debug level, regardless of the build type.
+     *
+     * @return debug level
+     */
+    public int getDebugLevel() {
+        return mDebugLevel;
+    }
+}
@@ -24,8 +24,7 @@ package com.github.ruleant.getback_gps.lib;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.location.Location;
-
-import java.util.Locale;
+import android.util.Base64;
 
 /**
  * StoredLocation saves a location, it will store a location for future use,
@@ -51,7 +50,11 @@ public class StoredLocation {
      */
     public static final String DEFAULT_PREF_NAME = "stored_location";
     /**
-     * Name of Saved object in SharedPreferences.
+     * Name of binary location record (Base64 encoded) in SharedPreferences.
+     */
+    private static final String RECORD = "record";
+    /**
+     * Name of Saved object in SharedPreferences (legacy format).
      */
     private static final String SAVED = "saved";
     /**
@@ -174,82 +177,59 @@ public class StoredLocation {
 
     /**
      * Save stored location in Shared Preferences.
+     *
+     * The location is saved as one binary record (see LocationCodec),
+     * values saved in the legacy format (one key per value) are removed.
      */
     public final void save() {
-        /* Set Locale temporarily to US English to make sure that the data
-         * is always stored with the same locale, to avoid data loss
-         * when the default locale of the device is changed.
-         */
-        Locale originalLocale = Locale.getDefault();
-        Locale.setDefault(Locale.US);
-
         // save location to a SharedPreferences file
         SharedPreferences.Editor editor = mPrefs.edit();
+        editor.clear();
 
         // only save if Location is set
         if (mLocation != null && mHasLocation) {
-            editor.putString(
-                    LONGITUDE,
-                    Location.convert(
-                            mLocation.getLongitude(), Location.FORMAT_DEGREES
-                    )
-            );
-            editor.putString(
-                    LATITUDE,
-                    Location.convert(
-                            mLocation.getLatitude(), Location.FORMAT_DEGREES
-                    )
-            );
-
-            // save altitude, if defined
-            editor.putString(
-                    HAS_ALTITUDE, Boolean.toString(mLocation.hasAltitude()));
-            if (mLocation.hasAltitude()) {
-                editor.putString(
-                        ALTITUDE, Double.toString(mLocation.getAltitude()));
-            }
+            editor.putString(RECORD, Base64.encodeToString(
+                    LocationCodec.encode(mLocation), Base64.NO_WRAP));
+        }
 
-            // save bearing, if defined
-            editor.putString(
-                    HAS_BEARING, Boolean.toString(mLocation.hasBearing()));
-            if (mLocation.hasBearing()) {
-                editor.putString(
-                        BEARING, Float.toString(mLocation.getBearing()));
-            }
+        // Commit the edits!
+        editor.apply();
+    }
 
-            // save speed, if defined
-            editor.putString(
-                    HAS_SPEED, Boolean.toString(mLocation.hasSpeed()));
-            if (mLocation.hasSpeed()) {
-                editor.putString(
-                        SPEED, Float.toString(mLocation.getSpeed()));
-            }
+    /**
+     * Restore stored location from Shared Preferences.
+     *
+     * The legacy format is used if no binary record was saved yet,
+     * or if the binary record can't be decoded.
+     */
+    public final void restore() {
+        mHasLocation = false;
 
-            // save accuracy, if defined
-            editor.putString(
-                    HAS_ACCURACY, Boolean.toString(mLocation.hasAccuracy()));
-            if (mLocation.hasAccuracy()) {
-                editor.putString(
-                        ACCURACY, Float.toString(mLocation.getAccuracy()));
+        if (mPrefs.contains(RECORD)) {
+            AriadneLocation location = new AriadneLocation("");
+
+            try {
+                if (LocationCodec.decode(Base64.decode(
+                        mPrefs.getString(RECORD, ""), Base64.NO_WRAP),
+                        location)) {
+                    setLocation(location);
+                    return;
+                }
+            } catch (IllegalArgumentException e) {
+                // invalid Base64 encoding
+                e.printStackTrace();
             }
-
-            editor.putLong(TIMESTAMP, mLocation.getTime());
-            editor.putString(LOC_PROVIDER, mLocation.getProvider());
-            editor.putString(LOC_NAME, mLocation.getName());
         }
-        editor.putString(
-                SAVED, Boolean.toString(mLocation != null && mHasLocation));
-        // Commit the edits!
-        editor.apply();
 
-        // set default locale back to original
-        Locale.setDefault(originalLocale);
+        restoreLegacy();
     }
 
     /**
-     * Restore stored location from Shared Preferences.
+     * Restore stored location from Shared Preferences,
+     * saved in the legacy format : every value in a separate String.
+     * The location is converted to the binary format on the next save.
      */
-    public final void restore() {
+    private void restoreLegacy() {
         AriadneLocation location = new AriadneLocation("");
 
         // Check if a location is stored.
@@ -258,9 +238,7 @@ public class StoredLocation {
         // then its value is false and there is no saved location data.
         // return (exit method) when not set or exception is thrown
         try {
-            mHasLocation
-                    = Boolean.parseBoolean(mPrefs.getString(SAVED, "false"));
-            if (!mHasLocation) {
+            if (!Boolean.parseBoolean(mPrefs.getString(SAVED, "false"))) {
                 return;
             }
         } catch (Exception e) {
@@ -0,0 +1,402 @@
+/**
+ * Track file, stores a history of locations in a binary file.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.location.Location;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Track file stores a history of locations in a binary file with
+ * a fixed number of records, which is memory mapped,
+ * so adding a location is a memory write.
+ *
+ * The file starts with a header (magic number, version, record size,
+ * capacity), followed by fixed size records (sequence number, latitude,
+ * longitude, altitude, accuracy, time and a CRC32 checksum of these values).
+ * Like TrackRecorder, the records are a ring buffer : when the file is full,
+ * the oldest location is overwritten, so the file doesn't keep growing.
+ * The sequence number of a record determines its position in the ring.
+ * When the file is opened, the track is the newest run of records
+ * with consecutive sequence numbers and a valid checksum, so a record that
+ * was partially written when the app was stopped is discarded.
+ * Any other records are cleared, so they can't be recovered later.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class TrackFile {
+    /**
+     * Magic number at the start of the file ("GBTR").
+     */
+    private static final int MAGIC = 0x47425452;
+
+    /**
+     * File format version.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of the values in a record in bytes : sequence number (long),
+     * latitude, longitude, altitude (double), accuracy (float), time (long).
+     */
+    private static final int VALUES_SIZE = 44;
+
+    /**
+     * Size of a record in bytes : values and checksum (int).
+     */
+    public static final int RECORD_SIZE = VALUES_SIZE + 4;
+
+    /**
+     * Opened file.
+     */
+    private final RandomAccessFile mFile;
+
+    /**
+     * Mapped file.
+     */
+    private final MappedByteBuffer mBuffer;
+
+    /**
+     * Maximum number of records in the file.
+     */
+    private final int mCapacity;
+
+    /**
+     * Number of valid records in the file.
+     */
+    private int mSize = 0;
+
+    /**
+     * Sequence number of the next record.
+     */
+    private long mNextSequence = 0;
+
+    /**
+     * Buffer used to assemble a record before writing it.
+     */
+    private final byte[] mRecord = new byte[RECORD_SIZE];
+
+    /**
+     * Wrapper around mRecord.
+     */
+    private final ByteBuffer mRecordBuffer = ByteBuffer.wrap(mRecord);
+
+    /**
+     * Checksum calculator.
+     */
+    private final CRC32 mChecksum = new CRC32();
+
+    /**
+     * Constructor, opens the file and recovers the valid records,
+     * using the capacity of TrackRecorder.
+     *
+     * @param file File to store the track in
+     * @throws IOException if the file can't be opened
+     */
+    public TrackFile(final File file) throws IOException {
+        this(file, TrackRecorder.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor, opens the file and recovers the valid records.
+     * A new file is created if it doesn't exist, if it doesn't have
+     * a valid header, or if it has a different capacity.
+     *
+     * @param file File to store the track in
+     * @param capacity maximum number of locations kept in the file
+     * @throws IOException if the file can't be opened
+     */
+    public TrackFile(final File file, final int capacity)
+            throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException(
+                    "Parameter file should not be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Parameter capacity should be larger than 0");
+        }
+
+        mCapacity = capacity;
+        mFile = new RandomAccessFile(file, "rw");
+
+        try {
+            long fileSize = getRecordPosition(capacity);
+            boolean resized = mFile.length() != fileSize;
+            if (resized) {
+                mFile.setLength(fileSize);
+            }
+            mBuffer = mFile.getChannel().map(
+                    FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+            if (!resized && isValidHeader()) {
+                recover();
+            } else {
+                writeHeader();
+                clearRecords();
+            }
+        } catch (IOException e) {
+            mFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get number of records in the file.
+     *
+     * @return number of records
+     */
+    public final synchronized int getSize() {
+        return mSize;
+    }
+
+    /**
+     * Get maximum number of records in the file.
+     *
+     * @return capacity
+     */
+    public final int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Add a location to the file, overwriting the oldest location
+     * if the file is full.
+     *
+     * @param location Location to add
+     */
+    public final void addLocation(final Location location) {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        addLocation(location.getLatitude(), location.getLongitude(),
+                location.getAltitude(), location.getAccuracy(),
+                location.getTime());
+    }
+
+    /**
+     * Add a location to the file, overwriting the oldest location
+     * if the file is full.
+     *
+     * @param latitude Latitude
+     * @param longitude Longitude
+     * @param altitude Altitude
+     * @param accuracy Accuracy in meters
+     * @param time Timestamp (milliseconds since epoch)
+     */
+    public final synchronized void addLocation(
+            final double latitude, final double longitude,
+            final double altitude, final float accuracy, final long time) {
+        mRecordBuffer.clear();
+        mRecordBuffer.putLong(mNextSequence);
+        mRecordBuffer.putDouble(latitude);
+        mRecordBuffer.putDouble(longitude);
+        mRecordBuffer.putDouble(altitude);
+        mRecordBuffer.putFloat(accuracy);
+        mRecordBuffer.putLong(time);
+
+        mChecksum.reset();
+        mChecksum.update(mRecord, 0, VALUES_SIZE);
+        mRecordBuffer.putInt((int) mChecksum.getValue());
+
+        mBuffer.position(getRecordPosition(getSlot(mNextSequence)));
+        mBuffer.put(mRecord);
+
+        mNextSequence++;
+        if (mSize < mCapacity) {
+            mSize++;
+        }
+    }
+
+    /**
+     * Add all locations in the file to a track recorder, oldest first.
+     *
+     * @param recorder TrackRecorder to add locations to
+     */
+    public final synchronized void readInto(final TrackRecorder recorder) {
+        if (recorder == null) {
+            throw new IllegalArgumentException(
+                    "Parameter recorder should not be null");
+        }
+
+        // only the last records fit in the recorder
+        long start = mNextSequence
+                - Math.min(mSize, recorder.getCapacity());
+
+        for (long sequence = start; sequence < mNextSequence; sequence++) {
+            int position = getRecordPosition(getSlot(sequence));
+            recorder.addLocation(
+                    mBuffer.getDouble(position + 8),
+                    mBuffer.getDouble(position + 16),
+                    mBuffer.getDouble(position + 24),
+                    mBuffer.getFloat(position + 32),
+                    mBuffer.getLong(position + 36));
+        }
+    }
+
+    /**
+     * Remove all records from the file.
+     */
+    public final synchronized void clear() {
+        clearRecords();
+        mSize = 0;
+        mNextSequence = 0;
+    }
+
+    /**
+     * Write changes to storage and close the file.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    public final synchronized void close() throws IOException {
+        mBuffer.force();
+        mFile.close();
+    }
+
+    /**
+     * Get position of the record of a sequence number in the ring.
+     *
+     * @param sequence sequence number
+     * @return index of the record
+     */
+    private int getSlot(final long sequence) {
+        return (int) (sequence % mCapacity);
+    }
+
+    /**
+     * Get position of a record in the file.
+     *
+     * @param index index of the record
+     * @return position in bytes
+     */
+    private static int getRecordPosition(final int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    /**
+     * Check if the file has a valid header.
+     *
+     * @return true if the header is valid
+     */
+    private boolean isValidHeader() {
+        return mBuffer.getInt(0) == MAGIC
+                && mBuffer.getInt(4) == VERSION
+                && mBuffer.getInt(8) == RECORD_SIZE
+                && mBuffer.getInt(12) == mCapacity;
+    }
+
+    /**
+     * Write the header of an empty file.
+     */
+    private void writeHeader() {
+        mBuffer.putInt(0, MAGIC);
+        mBuffer.putInt(4, VERSION);
+        mBuffer.putInt(8, RECORD_SIZE);
+        mBuffer.putInt(12, mCapacity);
+        mSize = 0;
+        mNextSequence = 0;
+    }
+
+    /**
+     * Get the sequence number of a valid record.
+     *
+     * @param index index of the record
+     * @return sequence number, -1 if the record is invalid
+     *         or doesn't belong at this position in the ring
+     */
+    private long getSequence(final int index) {
+        int position = getRecordPosition(index);
+        mBuffer.position(position);
+        mBuffer.get(mRecord);
+
+        mChecksum.reset();
+        mChecksum.update(mRecord, 0, VALUES_SIZE);
+        if ((int) mChecksum.getValue()
+                != mBuffer.getInt(position + VALUES_SIZE)) {
+            return -1;
+        }
+
+        long sequence = mBuffer.getLong(position);
+        if (sequence < 0 || getSlot(sequence) != index) {
+            return -1;
+        }
+        return sequence;
+    }
+
+    /**
+     * Find the newest run of valid records with consecutive
+     * sequence numbers, and clear all other records.
+     */
+    private void recover() {
+        long last = -1;
+        for (int i = 0; i < mCapacity; i++) {
+            last = Math.max(last, getSequence(i));
+        }
+
+        mSize = 0;
+        mNextSequence = last + 1;
+        while (mSize < mCapacity && mSize <= last
+                && getSequence(getSlot(last - mSize)) == last - mSize) {
+            mSize++;
+        }
+
+        // clear records that aren't part of the track
+        for (long sequence = mNextSequence;
+             sequence < mNextSequence + mCapacity - mSize; sequence++) {
+            clearRecord(getSlot(sequence));
+        }
+    }
+
+    /**
+     * Overwrite all records with zeros (= an invalid checksum).
+     */
+    private void clearRecords() {
+        for (int i = 0; i < mCapacity; i++) {
+            clearRecord(i);
+        }
+    }
+
+    /**
+     * Overwrite a record with zeros (= an invalid checksum).
+     *
+     * @param index index of the record
+     */
+    private void clearRecord(final int index) {
+        int position = getRecordPosition(index);
+        for (int j = 0; j < RECORD_SIZE; j += 4) {
+            mBuffer.putInt(position + j, 0);
+        }
+    }
+}
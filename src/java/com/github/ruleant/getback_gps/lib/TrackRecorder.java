@@ -0,0 +1,326 @@
+/**
+ * Track recorder, keeps a history of locations.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.location.Location;
+
+/**
+ * Track recorder keeps a history of locations (breadcrumbs)
+ * in a ring buffer with a fixed capacity.
+ *
+ * The location values are stored in primitive arrays,
+ * so adding a location doesn't create any objects.
+ * When the buffer is full, the oldest location is overwritten.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class TrackRecorder {
+    /**
+     * Default capacity : number of locations kept in the track.
+     */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    /**
+     * Latitude values.
+     */
+    private final double[] mLatitude;
+
+    /**
+     * Longitude values.
+     */
+    private final double[] mLongitude;
+
+    /**
+     * Altitude values.
+     */
+    private final double[] mAltitude;
+
+    /**
+     * Accuracy values.
+     */
+    private final float[] mAccuracy;
+
+    /**
+     * Timestamps (milliseconds since epoch).
+     */
+    private final long[] mTime;
+
+    /**
+     * Position in the buffer where the next location is stored.
+     */
+    private int mHead = 0;
+
+    /**
+     * Number of locations in the buffer.
+     */
+    private int mSize = 0;
+
+    /**
+     * Constructor, using the default capacity.
+     */
+    public TrackRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity maximum number of locations kept in the track
+     */
+    public TrackRecorder(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Parameter capacity should be larger than 0");
+        }
+
+        mLatitude = new double[capacity];
+        mLongitude = new double[capacity];
+        mAltitude = new double[capacity];
+        mAccuracy = new float[capacity];
+        mTime = new long[capacity];
+    }
+
+    /**
+     * Add a location to the track.
+     *
+     * @param location Location to add
+     */
+    public final void addLocation(final Location location) {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        addLocation(location.getLatitude(), location.getLongitude(),
+                location.getAltitude(), location.getAccuracy(),
+                location.getTime());
+    }
+
+    /**
+     * Add a location to the track.
+     *
+     * @param latitude Latitude
+     * @param longitude Longitude
+     * @param altitude Altitude
+     * @param accuracy Accuracy in meters
+     * @param time Timestamp (milliseconds since epoch)
+     */
+    public final synchronized void addLocation(
+            final double latitude, final double longitude,
+            final double altitude, final float accuracy, final long time) {
+        mLatitude[mHead] = latitude;
+        mLongitude[mHead] = longitude;
+        mAltitude[mHead] = altitude;
+        mAccuracy[mHead] = accuracy;
+        mTime[mHead] = time;
+
+        mHead++;
+        if (mHead == mTime.length) {
+            mHead = 0;
+        }
+
+        if (mSize < mTime.length) {
+            mSize++;
+        }
+    }
+
+    /**
+     * Remove all locations from the track.
+     */
+    public final synchronized void clear() {
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /**
+     * Get number of locations in the track.
+     *
+     * @return number of locations
+     */
+    public final synchronized int getSize() {
+        return mSize;
+    }
+
+    /**
+     * Get timestamp of the most recent location in the track.
+     *
+     * @return timestamp (milliseconds since epoch), 0 if the track is empty
+     */
+    public final synchronized long getLastTime() {
+        if (mSize == 0) {
+            return 0;
+        }
+
+        int last = mHead == 0 ? mTime.length - 1 : mHead - 1;
+        return mTime[last];
+    }
+
+    /**
+     * Get maximum number of locations kept in the track.
+     *
+     * @return capacity
+     */
+    public final int getCapacity() {
+        return mTime.length;
+    }
+
+    /**
+     * Get a read-only copy of the track, oldest location first.
+     *
+     * @return Snapshot of the track
+     */
+    public final synchronized Snapshot getSnapshot() {
+        Snapshot snapshot = new Snapshot(mSize);
+
+        // oldest location is at the head when the buffer is full
+        int start = mSize < mTime.length ? 0 : mHead;
+        int firstPart = Math.min(mSize, mTime.length - start);
+
+        copyRange(start, snapshot, 0, firstPart);
+        copyRange(0, snapshot, firstPart, mSize - firstPart);
+
+        return snapshot;
+    }
+
+    /**
+     * Copy a range of the ring buffer to a snapshot.
+     *
+     * @param srcPos start position in the ring buffer
+     * @param snapshot Snapshot to copy to
+     * @param destPos start position in the snapshot
+     * @param length number of locations to copy
+     */
+    private void copyRange(final int srcPos, final Snapshot snapshot,
+                           final int destPos, final int length) {
+        System.arraycopy(mLatitude, srcPos, snapshot.mLatitude, destPos,
+                length);
+        System.arraycopy(mLongitude, srcPos, snapshot.mLongitude, destPos,
+                length);
+        System.arraycopy(mAltitude, srcPos, snapshot.mAltitude, destPos,
+                length);
+        System.arraycopy(mAccuracy, srcPos, snapshot.mAccuracy, destPos,
+                length);
+        System.arraycopy(mTime, srcPos, snapshot.mTime, destPos, length);
+    }
+
+    /**
+     * Read-only copy of a track, oldest location first.
+     */
+    public static final class Snapshot {
+        /**
+         * Latitude values.
+         */
+        private final double[] mLatitude;
+
+        /**
+         * Longitude values.
+         */
+        private final double[] mLongitude;
+
+        /**
+         * Altitude values.
+         */
+        private final double[] mAltitude;
+
+        /**
+         * Accuracy values.
+         */
+        private final float[] mAccuracy;
+
+        /**
+         * Timestamps (milliseconds since epoch).
+         */
+        private final long[] mTime;
+
+        /**
+         * Constructor.
+         *
+         * @param size number of locations
+         */
+        private Snapshot(final int size) {
+            mLatitude = new double[size];
+            mLongitude = new double[size];
+            mAltitude = new double[size];
+            mAccuracy = new float[size];
+            mTime = new long[size];
+        }
+
+        /**
+         * Get number of locations.
+         *
+         * @return number of locations
+         */
+        public int getSize() {
+            return mTime.length;
+        }
+
+        /**
+         * Get latitude of a location.
+         *
+         * @param index index of the location
+         * @return latitude
+         */
+        public double getLatitude(final int index) {
+            return mLatitude[index];
+        }
+
+        /**
+         * Get longitude of a location.
+         *
+         * @param index index of the location
+         * @return longitude
+         */
+        public double getLongitude(final int index) {
+            return mLongitude[index];
+        }
+
+        /**
+         * Get altitude of a location.
+         *
+         * @param index index of the location
+         * @return altitude
+         */
+        public double getAltitude(final int index) {
+            return mAltitude[index];
+        }
+
+        /**
+         * Get accuracy of a location.
+         *
+         * @param index index of the location
+         * @return accuracy in meters
+         */
+        public float getAccuracy(final int index) {
+            return mAccuracy[index];
+        }
+
+        /**
+         * Get timestamp of a location.
+         *
+         * @param index index of the location
+         * @return timestamp (milliseconds since epoch)
+         */
+        public long getTime(final int index) {
+            return mTime[index];
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Coalesces update requests from a worker thread.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces update requests, f.e. from a sensor thread.
+ * An update is handed to the executor (f.e. posting to the main thread)
+ * only if no update is pending yet, requests made while an update
+ * is pending are served by that update.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class UpdateCoalescer {
+    /**
+     * Executor running the update.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * Update to run.
+     */
+    private final Runnable mUpdate;
+
+    /**
+     * True if an update was handed to the executor, but didn't run yet.
+     */
+    private final AtomicBoolean mPending = new AtomicBoolean(false);
+
+    /**
+     * Runs the update, clears the pending flag first,
+     * so requests made during the update schedule a new update.
+     */
+    private final Runnable mRunner = new Runnable() {
+        @Override
+        public void run() {
+            mPending.set(false);
+            mUpdate.run();
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param executor Executor running the update
+     * @param update update to run
+     */
+    public UpdateCoalescer(final Executor executor, final Runnable update) {
+        if (executor == null) {
+            throw new IllegalArgumentException(
+                    "Parameter executor should not be null");
+        }
+        if (update == null) {
+            throw new IllegalArgumentException(
+                    "Parameter update should not be null");
+        }
+
+        mExecutor = executor;
+        mUpdate = update;
+    }
+
+    /**
+     * Request an update. Can be called from any thread.
+     *
+     * @return true if a new update was scheduled,
+     *         false if a pending update will serve the request
+     */
+    public final boolean request() {
+        if (!mPending.compareAndSet(false, true)) {
+            return false;
+        }
+
+        mExecutor.execute(mRunner);
+        return true;
+    }
+
+    /**
+     * Checks if an update is pending.
+     *
+     * @return true if an update is pending
+     */
+    public final boolean isPending() {
+        return mPending.get();
+    }
+}
@@ -0,0 +1,495 @@
+/**
+ * Waypoint index, spatial index for nearest waypoint queries.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spatial index of waypoints, to find the nearest waypoints
+ * or all waypoints within a radius, without calculating the distance
+ * to every waypoint.
+ *
+ * Waypoints are converted to points on a unit sphere (x, y, z)
+ * and stored in a KD-tree. The straight line (chord) distance
+ * between two points on the sphere increases with the distance
+ * over the surface, so the tree can be searched with
+ * euclidean distances, without special cases at the poles
+ * or at the 180° meridian.
+ * The tree is rebuilt on the first query after waypoints were changed.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class WaypointIndex {
+    /**
+     * Id returned when no waypoint is found.
+     */
+    public static final long NO_WAYPOINT = -1;
+
+    /**
+     * Mean earth radius in meters.
+     */
+    public static final double EARTH_RADIUS = 6371008.8;
+
+    /**
+     * Number of dimensions of a point.
+     */
+    private static final int DIMENSIONS = 3;
+
+    /**
+     * Waypoints, as points on the unit sphere, indexed by id.
+     */
+    private final Map<Long, double[]> mWaypoints
+            = new HashMap<Long, double[]>();
+
+    /**
+     * Waypoint ids, in KD-tree order.
+     */
+    private long[] mTreeIds = new long[0];
+
+    /**
+     * Waypoint coordinates (x0, y0, z0, x1, ...), in KD-tree order.
+     */
+    private double[] mTreePoints = new double[0];
+
+    /**
+     * Buffer for the ids found by a radius search, grown when needed.
+     */
+    private long[] mRadiusResult = new long[16];
+
+    /**
+     * True if the KD-tree needs to be rebuilt.
+     */
+    private boolean mDirty = false;
+
+    /**
+     * Add or update a waypoint.
+     *
+     * @param id id of the waypoint
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public final synchronized void put(
+            final long id, final double latitude, final double longitude) {
+        mWaypoints.put(id, toPoint(latitude, longitude));
+        mDirty = true;
+    }
+
+    /**
+     * Remove a waypoint.
+     *
+     * @param id id of the waypoint
+     */
+    public final synchronized void remove(final long id) {
+        if (mWaypoints.remove(id) != null) {
+            mDirty = true;
+        }
+    }
+
+    /**
+     * Remove all waypoints.
+     */
+    public final synchronized void clear() {
+        mWaypoints.clear();
+        mDirty = true;
+    }
+
+    /**
+     * Get number of waypoints.
+     *
+     * @return number of waypoints
+     */
+    public final synchronized int getSize() {
+        return mWaypoints.size();
+    }
+
+    /**
+     * Find the nearest waypoint.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return id of the nearest waypoint, NO_WAYPOINT if the index is empty
+     */
+    public final long findNearest(
+            final double latitude, final double longitude) {
+        long[] nearest = findNearest(latitude, longitude, 1);
+
+        if (nearest.length == 0) {
+            return NO_WAYPOINT;
+        }
+
+        return nearest[0];
+    }
+
+    /**
+     * Find the k nearest waypoints.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @param k maximum number of waypoints to return
+     * @return ids of the nearest waypoints, nearest first
+     */
+    public final synchronized long[] findNearest(
+            final double latitude, final double longitude, final int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException(
+                    "Parameter k should be larger than 0");
+        }
+
+        rebuildIfNeeded();
+
+        int count = Math.min(k, mTreeIds.length);
+        Nearest nearest = new Nearest(count);
+        if (count > 0) {
+            searchNearest(0, mTreeIds.length, 0,
+                    toPoint(latitude, longitude), nearest);
+        }
+
+        return nearest.mIds;
+    }
+
+    /**
+     * Find all waypoints within a radius.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @param radius radius in meters
+     * @return ids of the waypoints within the radius, in no specific order
+     */
+    public final synchronized long[] findWithinRadius(
+            final double latitude, final double longitude,
+            final double radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter radius should not be negative");
+        }
+
+        rebuildIfNeeded();
+
+        // convert distance over the surface to chord length
+        double chord = 2 * Math.sin(
+                Math.min(radius / EARTH_RADIUS, Math.PI) / 2);
+
+        int count = searchRadius(0, mTreeIds.length, 0,
+                toPoint(latitude, longitude), chord * chord, 0);
+
+        return Arrays.copyOf(mRadiusResult, count);
+    }
+
+    /**
+     * Convert a coordinate to a point on the unit sphere.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return point (x, y, z)
+     */
+    private static double[] toPoint(
+            final double latitude, final double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+
+        return new double[] {
+                Math.cos(lat) * Math.cos(lon),
+                Math.cos(lat) * Math.sin(lon),
+                Math.sin(lat),
+        };
+    }
+
+    /**
+     * Rebuild the KD-tree if waypoints were changed.
+     */
+    private void rebuildIfNeeded() {
+        if (!mDirty) {
+            return;
+        }
+
+        int size = mWaypoints.size();
+        mTreeIds = new long[size];
+        mTreePoints = new double[size * DIMENSIONS];
+
+        int i = 0;
+        for (Map.Entry<Long, double[]> entry : mWaypoints.entrySet()) {
+            mTreeIds[i] = entry.getKey();
+            System.arraycopy(entry.getValue(), 0,
+                    mTreePoints, i * DIMENSIONS, DIMENSIONS);
+            i++;
+        }
+
+        build(0, size, 0);
+        mDirty = false;
+    }
+
+    /**
+     * Build a KD-tree in a range of the tree arrays :
+     * the median on the split axis is moved to the middle of the range,
+     * smaller values before it, larger values after it.
+     *
+     * @param from first index of the range
+     * @param to index after the last index of the range
+     * @param axis split axis
+     */
+    private void build(final int from, final int to, final int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        select(from, to - 1, middle, axis);
+
+        int nextAxis = (axis + 1) % DIMENSIONS;
+        build(from, middle, nextAxis);
+        build(middle + 1, to, nextAxis);
+    }
+
+    /**
+     * Move the n-th smallest value on an axis to position n (quickselect).
+     *
+     * @param first first index of the range
+     * @param last last index of the range
+     * @param n position to select
+     * @param axis axis to compare
+     */
+    private void select(final int first, final int last, final int n,
+                        final int axis) {
+        int left = first;
+        int right = last;
+
+        while (left < right) {
+            double pivot = getValue((left + right) >>> 1, axis);
+            int i = left;
+            int j = right;
+
+            while (i <= j) {
+                while (getValue(i, axis) < pivot) {
+                    i++;
+                }
+                while (getValue(j, axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (n <= j) {
+                right = j;
+            } else if (n >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get a coordinate of a point in the tree.
+     *
+     * @param index index of the point
+     * @param axis axis
+     * @return coordinate value
+     */
+    private double getValue(final int index, final int axis) {
+        return mTreePoints[index * DIMENSIONS + axis];
+    }
+
+    /**
+     * Swap two points in the tree.
+     *
+     * @param a index of the first point
+     * @param b index of the second point
+     */
+    private void swap(final int a, final int b) {
+        long id = mTreeIds[a];
+        mTreeIds[a] = mTreeIds[b];
+        mTreeIds[b] = id;
+
+        for (int i = 0; i < DIMENSIONS; i++) {
+            double value = mTreePoints[a * DIMENSIONS + i];
+            mTreePoints[a * DIMENSIONS + i] = mTreePoints[b * DIMENSIONS + i];
+            mTreePoints[b * DIMENSIONS + i] = value;
+        }
+    }
+
+    /**
+     * Get the squared distance between a point in the tree
+     * and another point.
+     *
+     * @param index index of the point in the tree
+     * @param point other point
+     * @return squared euclidean distance
+     */
+    private double getSquaredDistance(final int index, final double[] point) {
+        double sum = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            double delta = mTreePoints[index * DIMENSIONS + i] - point[i];
+            sum += delta * delta;
+        }
+        return sum;
+    }
+
+    /**
+     * Search the nearest points in a range of the tree.
+     *
+     * @param from first index of the range
+     * @param to index after the last index of the range
+     * @param axis split axis
+     * @param point point to search the nearest points of
+     * @param nearest nearest points found so far
+     */
+    private void searchNearest(final int from, final int to, final int axis,
+                               final double[] point, final Nearest nearest) {
+        if (from >= to) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        nearest.offer(mTreeIds[middle], getSquaredDistance(middle, point));
+
+        double delta = point[axis] - getValue(middle, axis);
+        int nextAxis = (axis + 1) % DIMENSIONS;
+
+        // search the side of the point first,
+        // the other side only if it can contain a nearer point
+        if (delta < 0) {
+            searchNearest(from, middle, nextAxis, point, nearest);
+            if (delta * delta < nearest.getMaxDistance()) {
+                searchNearest(middle + 1, to, nextAxis, point, nearest);
+            }
+        } else {
+            searchNearest(middle + 1, to, nextAxis, point, nearest);
+            if (delta * delta < nearest.getMaxDistance()) {
+                searchNearest(from, middle, nextAxis, point, nearest);
+            }
+        }
+    }
+
+    /**
+     * Search all points within a distance in a range of the tree.
+     *
+     * @param from first index of the range
+     * @param to index after the last index of the range
+     * @param axis split axis
+     * @param point center point
+     * @param maxDistance squared euclidean distance
+     * @param count number of ids already found
+     * @return number of ids found, including the already found ids
+     */
+    private int searchRadius(final int from, final int to, final int axis,
+                             final double[] point, final double maxDistance,
+                             final int count) {
+        if (from >= to) {
+            return count;
+        }
+
+        int middle = (from + to) >>> 1;
+        int found = count;
+
+        if (getSquaredDistance(middle, point) <= maxDistance) {
+            if (found == mRadiusResult.length) {
+                mRadiusResult = Arrays.copyOf(mRadiusResult, found * 2);
+            }
+            mRadiusResult[found++] = mTreeIds[middle];
+        }
+
+        double delta = point[axis] - getValue(middle, axis);
+        int nextAxis = (axis + 1) % DIMENSIONS;
+
+        if (delta <= 0 || delta * delta <= maxDistance) {
+            found = searchRadius(from, middle, nextAxis, point, maxDistance,
+                    found);
+        }
+        if (delta >= 0 || delta * delta <= maxDistance) {
+            found = searchRadius(middle + 1, to, nextAxis, point, maxDistance,
+                    found);
+        }
+
+        return found;
+    }
+
+    /**
+     * Nearest points found during a search, sorted by distance.
+     */
+    private static final class Nearest {
+        /**
+         * Ids of the nearest points.
+         */
+        private final long[] mIds;
+
+        /**
+         * Squared distances of the nearest points.
+         */
+        private final double[] mDistances;
+
+        /**
+         * Number of points found.
+         */
+        private int mCount = 0;
+
+        /**
+         * Constructor.
+         *
+         * @param k number of points to find
+         */
+        private Nearest(final int k) {
+            mIds = new long[k];
+            mDistances = new double[k];
+        }
+
+        /**
+         * Get the squared distance a point should be smaller than,
+         * to be added.
+         *
+         * @return squared distance
+         */
+        private double getMaxDistance() {
+            if (mCount < mIds.length) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return mDistances[mCount - 1];
+        }
+
+        /**
+         * Add a point if it is one of the nearest points found so far.
+         *
+         * @param id id of the point
+         * @param distance squared distance of the point
+         */
+        private void offer(final long id, final double distance) {
+            if (distance >= getMaxDistance()) {
+                return;
+            }
+
+            // insertion sort, the number of points is small
+            int i = mCount < mIds.length ? mCount++ : mCount - 1;
+            while (i > 0 && mDistances[i - 1] > distance) {
+                mIds[i] = mIds[i - 1];
+                mDistances[i] = mDistances[i - 1];
+                i--;
+            }
+            mIds[i] = id;
+            mDistances[i] = distance;
+        }
+    }
+}
@@ -0,0 +1,595 @@
+/**
+ * Waypoint repository, stores named locations.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Waypoint repository stores named locations (waypoints), identified by an id.
+ *
+ * Waypoints are kept in memory, indexed by id (hash map)
+ * and by name (sorted map, for name prefix lookups).
+ * Changes are appended to a log file, so the whole set isn't rewritten
+ * on each change. Each log record contains an operation (put or remove),
+ * the waypoint id, the location (encoded with LocationCodec)
+ * and a CRC32 checksum. When the file is opened, the log is replayed
+ * up to the first invalid record.
+ * The log is compacted when it contains a lot of outdated records.
+ * Waypoint names are unique (case insensitive) when waypoints are stored
+ * with putByName() or rename().
+ * The locations of the waypoints are kept in a WaypointIndex,
+ * for nearest waypoint queries. The index is only created when it is used.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class WaypointRepository {
+    /**
+     * Operation : add or update a waypoint.
+     */
+    private static final byte OP_PUT = 1;
+
+    /**
+     * Operation : remove a waypoint.
+     */
+    private static final byte OP_REMOVE = 2;
+
+    /**
+     * Size of the record header : operation, id and length of the location.
+     */
+    private static final int RECORD_HEADER_SIZE = 13;
+
+    /**
+     * Size of the record checksum.
+     */
+    private static final int CHECKSUM_SIZE = 4;
+
+    /**
+     * Minimum number of records before the log is compacted.
+     */
+    private static final int COMPACT_MIN_RECORDS = 64;
+
+    /**
+     * Separator between name and id in the name index.
+     */
+    private static final char NAME_SEPARATOR = '\u0000';
+
+    /**
+     * Log file.
+     */
+    private final File mFile;
+
+    /**
+     * Waypoints, indexed by id.
+     */
+    private final Map<Long, Waypoint> mWaypoints
+            = new HashMap<Long, Waypoint>();
+
+    /**
+     * Waypoint ids, indexed by lowercase name (followed by the id).
+     */
+    private final TreeMap<String, Long> mNameIndex
+            = new TreeMap<String, Long>();
+
+    /**
+     * Spatial index of the waypoints, null until it is used.
+     */
+    private WaypointIndex mIndex = null;
+
+    /**
+     * Number of records in the log file.
+     */
+    private int mRecordCount = 0;
+
+    /**
+     * Id of the next new waypoint.
+     */
+    private long mNextId = 1;
+
+    /**
+     * Checksum calculator.
+     */
+    private final CRC32 mChecksum = new CRC32();
+
+    /**
+     * Constructor, loads the waypoints from the log file.
+     * The file is created when the first waypoint is added.
+     *
+     * @param file log file
+     * @throws IOException if the file can't be read
+     */
+    public WaypointRepository(final File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException(
+                    "Parameter file should not be null");
+        }
+
+        mFile = file;
+        load();
+    }
+
+    /**
+     * Add a new waypoint.
+     *
+     * @param location Location of the waypoint
+     * @return id of the new waypoint
+     * @throws IOException if the waypoint can't be saved
+     */
+    public final synchronized long add(final AriadneLocation location)
+            throws IOException {
+        long id = mNextId;
+        put(id, location);
+        return id;
+    }
+
+    /**
+     * Add or update the waypoint with the name of a location
+     * (case insensitive).
+     * Locations without a name update the unnamed waypoint.
+     *
+     * @param location Location of the waypoint
+     * @return id of the waypoint
+     * @throws IOException if the waypoint can't be saved
+     */
+    public final synchronized long putByName(final AriadneLocation location)
+            throws IOException {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        return rename(location.getName(), location);
+    }
+
+    /**
+     * Update the waypoint with a previous name to a location with a new name.
+     * The waypoint is added if no waypoint has the previous name.
+     * Another waypoint with the new name is replaced.
+     *
+     * @param previousName previous name of the waypoint,
+     *                     null for the unnamed waypoint
+     * @param location Location of the waypoint, with the new name
+     * @return id of the waypoint
+     * @throws IOException if the waypoint can't be saved
+     */
+    public final synchronized long rename(
+            final String previousName, final AriadneLocation location)
+            throws IOException {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        long id = findByName(previousName);
+        long existing = findByName(location.getName());
+        if (existing != WaypointIndex.NO_WAYPOINT && existing != id) {
+            if (id == WaypointIndex.NO_WAYPOINT) {
+                id = existing;
+            } else {
+                remove(existing);
+            }
+        }
+        if (id == WaypointIndex.NO_WAYPOINT) {
+            id = mNextId;
+        }
+
+        put(id, location);
+        return id;
+    }
+
+    /**
+     * Add or update a waypoint.
+     *
+     * @param id id of the waypoint
+     * @param location Location of the waypoint
+     * @throws IOException if the waypoint can't be saved
+     */
+    public final synchronized void put(
+            final long id, final AriadneLocation location) throws IOException {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        byte[] record = LocationCodec.encode(location);
+        append(OP_PUT, id, record);
+        apply(id, new Waypoint(record, location.getName()));
+        compactIfNeeded();
+    }
+
+    /**
+     * Remove a waypoint.
+     *
+     * @param id id of the waypoint
+     * @return true if the waypoint existed
+     * @throws IOException if the change can't be saved
+     */
+    public final synchronized boolean remove(final long id)
+            throws IOException {
+        if (!mWaypoints.containsKey(id)) {
+            return false;
+        }
+
+        append(OP_REMOVE, id, new byte[0]);
+        apply(id, null);
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Get a waypoint.
+     *
+     * @param id id of the waypoint
+     * @return new Location instance, null if the waypoint doesn't exist
+     */
+    public final synchronized AriadneLocation get(final long id) {
+        Waypoint waypoint = mWaypoints.get(id);
+        if (waypoint == null) {
+            return null;
+        }
+
+        AriadneLocation location = new AriadneLocation("");
+        LocationCodec.decode(waypoint.mRecord, location);
+        return location;
+    }
+
+    /**
+     * Get a waypoint, without creating a new Location instance.
+     *
+     * @param id id of the waypoint
+     * @param location Location the waypoint is decoded into
+     * @return true if the waypoint exists
+     */
+    public final synchronized boolean get(
+            final long id, final AriadneLocation location) {
+        if (location == null) {
+            throw new IllegalArgumentException(
+                    "Parameter location should not be null");
+        }
+
+        Waypoint waypoint = mWaypoints.get(id);
+        return waypoint != null
+                && LocationCodec.decode(waypoint.mRecord, location);
+    }
+
+    /**
+     * Get the name of a waypoint.
+     *
+     * @param id id of the waypoint
+     * @return name, null if the waypoint doesn't exist or has no name
+     */
+    public final synchronized String getName(final long id) {
+        Waypoint waypoint = mWaypoints.get(id);
+        if (waypoint == null) {
+            return null;
+        }
+
+        return waypoint.mName;
+    }
+
+    /**
+     * Get number of waypoints.
+     *
+     * @return number of waypoints
+     */
+    public final synchronized int getSize() {
+        return mWaypoints.size();
+    }
+
+    /**
+     * Get ids of all waypoints with a name starting with a prefix
+     * (case insensitive), sorted by name.
+     *
+     * @param prefix name prefix, an empty prefix returns all named waypoints
+     * @return list of waypoint ids
+     */
+    public final synchronized List<Long> findByNamePrefix(
+            final String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException(
+                    "Parameter prefix should not be null");
+        }
+
+        String from = prefix.toLowerCase(Locale.ROOT);
+        return new ArrayList<Long>(
+                mNameIndex.subMap(from, from + Character.MAX_VALUE).values());
+    }
+
+    /**
+     * Get id of the waypoint with a name (case insensitive).
+     *
+     * @param name name of the waypoint, null for the unnamed waypoint
+     * @return waypoint id, WaypointIndex.NO_WAYPOINT if there is none
+     */
+    public final synchronized long findByName(final String name) {
+        if (name == null) {
+            for (Map.Entry<Long, Waypoint> entry : mWaypoints.entrySet()) {
+                if (entry.getValue().mName == null) {
+                    return entry.getKey();
+                }
+            }
+            return WaypointIndex.NO_WAYPOINT;
+        }
+
+        String from = name.toLowerCase(Locale.ROOT) + NAME_SEPARATOR;
+        SortedMap<String, Long> matches
+                = mNameIndex.subMap(from, from + Character.MAX_VALUE);
+        if (matches.isEmpty()) {
+            return WaypointIndex.NO_WAYPOINT;
+        }
+
+        return matches.get(matches.firstKey());
+    }
+
+    /**
+     * Get the spatial index of the waypoints.
+     * The index is created on the first call,
+     * and updated when waypoints are changed after that.
+     *
+     * @return WaypointIndex
+     */
+    public final synchronized WaypointIndex getIndex() {
+        if (mIndex == null) {
+            mIndex = new WaypointIndex();
+            for (Map.Entry<Long, Waypoint> entry : mWaypoints.entrySet()) {
+                byte[] record = entry.getValue().mRecord;
+                mIndex.put(entry.getKey(),
+                        LocationCodec.decodeLatitude(record),
+                        LocationCodec.decodeLongitude(record));
+            }
+        }
+
+        return mIndex;
+    }
+
+    /**
+     * Rewrite the log file, with only one record per waypoint.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public final synchronized void compact() throws IOException {
+        File tempFile = new File(mFile.getPath() + ".tmp");
+        FileOutputStream out = new FileOutputStream(tempFile);
+
+        try {
+            for (Map.Entry<Long, Waypoint> entry : mWaypoints.entrySet()) {
+                out.write(encodeRecord(
+                        OP_PUT, entry.getKey(), entry.getValue().mRecord));
+            }
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(mFile)) {
+            throw new IOException("Unable to replace " + mFile);
+        }
+
+        mRecordCount = mWaypoints.size();
+    }
+
+    /**
+     * Update the in memory indexes.
+     *
+     * @param id id of the waypoint
+     * @param waypoint new waypoint, null to remove the waypoint
+     */
+    private void apply(final long id, final Waypoint waypoint) {
+        Waypoint previous;
+        if (waypoint == null) {
+            previous = mWaypoints.remove(id);
+        } else {
+            previous = mWaypoints.put(id, waypoint);
+        }
+
+        if (previous != null && previous.mName != null) {
+            mNameIndex.remove(getNameKey(previous.mName, id));
+        }
+        if (waypoint != null && waypoint.mName != null) {
+            mNameIndex.put(getNameKey(waypoint.mName, id), id);
+        }
+
+        if (mIndex != null) {
+            if (waypoint == null) {
+                mIndex.remove(id);
+            } else {
+                mIndex.put(id, LocationCodec.decodeLatitude(waypoint.mRecord),
+                        LocationCodec.decodeLongitude(waypoint.mRecord));
+            }
+        }
+
+        if (id >= mNextId) {
+            mNextId = id + 1;
+        }
+    }
+
+    /**
+     * Get key of a waypoint in the name index.
+     *
+     * @param name name of the waypoint
+     * @param id id of the waypoint
+     * @return key
+     */
+    private static String getNameKey(final String name, final long id) {
+        return name.toLowerCase(Locale.ROOT) + NAME_SEPARATOR + id;
+    }
+
+    /**
+     * Append a record to the log file.
+     *
+     * @param operation operation
+     * @param id id of the waypoint
+     * @param location encoded location
+     * @throws IOException if the file can't be written
+     */
+    private void append(final byte operation, final long id,
+                        final byte[] location) throws IOException {
+        FileOutputStream out = new FileOutputStream(mFile, true);
+        try {
+            out.write(encodeRecord(operation, id, location));
+        } finally {
+            out.close();
+        }
+        mRecordCount++;
+    }
+
+    /**
+     * Compact the log file when more than half of its records are outdated.
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void compactIfNeeded() throws IOException {
+        if (mRecordCount > COMPACT_MIN_RECORDS
+                && mRecordCount > 2 * mWaypoints.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Encode a log record.
+     *
+     * @param operation operation
+     * @param id id of the waypoint
+     * @param location encoded location
+     * @return log record
+     */
+    private byte[] encodeRecord(final byte operation, final long id,
+                                final byte[] location) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                RECORD_HEADER_SIZE + location.length + CHECKSUM_SIZE);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeByte(operation);
+            out.writeLong(id);
+            out.writeInt(location.length);
+            out.write(location);
+
+            mChecksum.reset();
+            mChecksum.update(bytes.toByteArray());
+            out.writeInt((int) mChecksum.getValue());
+        } catch (IOException e) {
+            // writing to a byte array doesn't throw an IOException
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Load waypoints from the log file, up to the first invalid record.
+     * An invalid tail of the file is removed.
+     *
+     * @throws IOException if the file can't be read
+     */
+    private void load() throws IOException {
+        if (!mFile.exists()) {
+            return;
+        }
+
+        RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        try {
+            byte[] data = new byte[(int) file.length()];
+            file.readFully(data);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+
+            while (buffer.remaining() >= RECORD_HEADER_SIZE + CHECKSUM_SIZE) {
+                int start = buffer.position();
+                byte operation = buffer.get();
+                long id = buffer.getLong();
+                int length = buffer.getInt();
+
+                if (length < 0
+                        || length > buffer.remaining() - CHECKSUM_SIZE) {
+                    buffer.position(start);
+                    break;
+                }
+
+                mChecksum.reset();
+                mChecksum.update(data, start, RECORD_HEADER_SIZE + length);
+                byte[] location = new byte[length];
+                buffer.get(location);
+                if ((int) mChecksum.getValue() != buffer.getInt()) {
+                    buffer.position(start);
+                    break;
+                }
+
+                if (operation == OP_PUT) {
+                    if (LocationCodec.isValid(location)) {
+                        apply(id, new Waypoint(
+                                location, LocationCodec.decodeName(location)));
+                    }
+                } else if (operation == OP_REMOVE) {
+                    apply(id, null);
+                }
+                mRecordCount++;
+            }
+
+            // remove invalid tail, so new records are appended after
+            // the last valid record
+            if (buffer.hasRemaining()) {
+                file.setLength(buffer.position());
+            }
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Waypoint, as stored in memory.
+     */
+    private static final class Waypoint {
+        /**
+         * Encoded location.
+         */
+        private final byte[] mRecord;
+
+        /**
+         * Name of the waypoint, can be null.
+         */
+        private final String mName;
+
+        /**
+         * Constructor.
+         *
+         * @param record Encoded location
+         * @param name Name of the waypoint
+         */
+        private Waypoint(final byte[] record, final String name) {
+            mRecord = record;
+            mName = name;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Location with fixed values, used in benchmarks.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+/**
+ * Location with fixed values, used in benchmarks.
+ *
+ * The android.location.Location methods are not available on the JVM,
+ * so the getters used by Navigator are overridden.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class BenchmarkLocation extends AriadneLocation {
+    /**
+     * Latitude in degrees.
+     */
+    private final double mLatitude;
+
+    /**
+     * Longitude in degrees.
+     */
+    private final double mLongitude;
+
+    /**
+     * Accuracy in meter.
+     */
+    private final float mAccuracy;
+
+    /**
+     * Timestamp in milliseconds.
+     */
+    private final long mTime;
+
+    /**
+     * Constructor.
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @param accuracy Accuracy in meter
+     * @param time Timestamp in milliseconds
+     */
+    public BenchmarkLocation(final double latitude, final double longitude,
+                             final float accuracy, final long time) {
+        super("benchmark");
+        mLatitude = latitude;
+        mLongitude = longitude;
+        mAccuracy = accuracy;
+        mTime = time;
+    }
+
+    @Override
+    public final double getLatitude() {
+        return mLatitude;
+    }
+
+    @Override
+    public final double getLongitude() {
+        return mLongitude;
+    }
+
+    @Override
+    public final float getAccuracy() {
+        return mAccuracy;
+    }
+
+    @Override
+    public final long getTime() {
+        return mTime;
+    }
+
+    @Override
+    public final boolean isRecent() {
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Benchmarks for the Coordinates class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.graphics.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Coordinates class,
+ * using the arrow shape drawn by NavigationView.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CoordinatesBenchmark {
+    /**
+     * Arrow side angle.
+     */
+    private static final double ARROW_ANGLE = 35.0;
+
+    /**
+     * Scale of the view (half of the view height in pixels).
+     */
+    private static final double VIEW_SCALE = 240.0;
+
+    /**
+     * Arrow shape, rotated and scaled.
+     */
+    private Coordinates mArrowLines;
+
+    /**
+     * Rotation converter.
+     */
+    private CoordinateRotation mRotation;
+
+    /**
+     * Rotation angle, changed every invocation.
+     */
+    private double mAngle = 0;
+
+    /**
+     * Sets up the arrow shape.
+     */
+    @Setup
+    public final void setUp() {
+        mRotation = new CoordinateRotation(
+                new Coordinate(VIEW_SCALE, VIEW_SCALE), 0.0, VIEW_SCALE);
+        mArrowLines = new Coordinates(mRotation);
+        mArrowLines.addCoordinate(0.8, 0);
+        mArrowLines.addCoordinate(-0.4, -1 * ARROW_ANGLE);
+        mArrowLines.addCoordinate(-0.1, 0);
+        mArrowLines.addCoordinate(-0.4, ARROW_ANGLE);
+        mArrowLines.addCoordinate(0.8, 0);
+        mArrowLines.addCoordinate(-0.1, 0);
+        mArrowLines.setCloseLine(false);
+    }
+
+    /**
+     * Benchmark Coordinates.toLinesArray().
+     *
+     * @return lines array
+     */
+    @Benchmark
+    public final float[] toLinesArray() {
+        mAngle += 1;
+        mRotation.setRotationAngle(mAngle);
+        return mArrowLines.toLinesArray();
+    }
+
+    /**
+     * Benchmark Coordinates.toPath().
+     *
+     * @return path
+     */
+    @Benchmark
+    public final Path toPath() {
+        mAngle += 1;
+        mRotation.setRotationAngle(mAngle);
+        return mArrowLines.toPath();
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Benchmarks for the LowPassFilter and CircularAverage classes.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the LowPassFilter and CircularAverage classes,
+ * they are called for every sensor event.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterBenchmark {
+    /**
+     * Low pass filter alpha value.
+     */
+    private static final float ALPHA = 0.6f;
+
+    /**
+     * Previous sensor values.
+     */
+    private float[] mPreviousValues = {0.1f, 9.7f, 0.3f};
+
+    /**
+     * New sensor values.
+     */
+    private float[] mNewValues = {0.2f, 9.8f, 0.1f};
+
+    /**
+     * Filtered sensor values, reused.
+     */
+    private float[] mFilteredValues = {0.1f, 9.7f, 0.3f};
+
+    /**
+     * Previous angle, close to the maximum of the range.
+     */
+    private float mPreviousAngle = 355f;
+
+    /**
+     * New angle, crossing the maximum of the range.
+     */
+    private float mNewAngle = 5f;
+
+    /**
+     * Benchmark LowPassFilter.filterValueSet().
+     *
+     * @return filtered values
+     */
+    @Benchmark
+    public final float[] filterValueSet() {
+        return LowPassFilter.filterValueSet(
+                mPreviousValues, mNewValues, ALPHA);
+    }
+
+    /**
+     * Benchmark LowPassFilter.filterValueSet(), filtering in place.
+     *
+     * @return filtered values
+     */
+    @Benchmark
+    public final float[] filterValueSetInPlace() {
+        return LowPassFilter.filterValueSet(
+                mFilteredValues, mNewValues, ALPHA, mFilteredValues);
+    }
+
+    /**
+     * Benchmark CircularAverage.getAverageValue().
+     *
+     * @return average value
+     */
+    @Benchmark
+    public final float getAverageValue() {
+        return CircularAverage.getAverageValue(
+                mPreviousAngle, mNewAngle, ALPHA);
+    }
+}
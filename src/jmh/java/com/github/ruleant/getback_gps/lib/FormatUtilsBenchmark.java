@@ -0,0 +1,112 @@
+/**
+ * Benchmarks for the FormatUtils class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the FormatUtils class, called on every display refresh.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatUtilsBenchmark {
+    /**
+     * Distance formatted in meter.
+     */
+    private double mDistanceShort = 123.4;
+
+    /**
+     * Distance formatted in kilometer, with 1 decimal.
+     */
+    private double mDistanceLong = 4567.8;
+
+    /**
+     * Speed in m/s, changing on every call.
+     */
+    private double mSpeed = 0;
+
+    /**
+     * Speed increment in m/s, so every call formats a new value.
+     */
+    private static final double SPEED_STEP = 0.0281;
+
+    /**
+     * Benchmark formatDist() for a distance in meter.
+     *
+     * @return formatted distance
+     */
+    @Benchmark
+    public final String formatDistShort() {
+        return FormatUtils.formatDist(mDistanceShort);
+    }
+
+    /**
+     * Benchmark formatDist() for a distance in kilometer.
+     *
+     * @return formatted distance
+     */
+    @Benchmark
+    public final String formatDistLong() {
+        return FormatUtils.formatDist(mDistanceLong);
+    }
+
+    /**
+     * Benchmark formatSpeed() for a speed that changes on every call,
+     * so recently formatted values can't be reused.
+     *
+     * @return formatted speed
+     */
+    @Benchmark
+    public final String formatSpeedChanging() {
+        mSpeed += SPEED_STEP;
+        if (mSpeed > 1) {
+            mSpeed = 0;
+        }
+        return FormatUtils.formatSpeed(mSpeed);
+    }
+
+    /**
+     * Benchmark formatAngle() with 2 decimals.
+     *
+     * @return formatted angle
+     */
+    @Benchmark
+    public final String formatAngle() {
+        return FormatUtils.formatAngle(mDistanceShort, 2);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Benchmarks for the Geodesy class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Geodesy class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeodesyBenchmark {
+    /**
+     * Accuracy mode.
+     */
+    @Param({"EQUIRECTANGULAR", "HAVERSINE", "VINCENTY", "AUTO"})
+    private Geodesy.Mode mMode;
+
+    /**
+     * Geodesy instance.
+     */
+    private Geodesy mGeodesy;
+
+    /**
+     * Latitude of the destination, alternated on every call,
+     * so the result of the previous call can't be reused.
+     */
+    private double mLatitude;
+
+    /**
+     * Sets up the geodesy instance.
+     */
+    @Setup
+    public final void setUp() {
+        mGeodesy = new Geodesy();
+        mLatitude = 50.8466;
+    }
+
+    /**
+     * Benchmark distance and bearing of a short range pair (about 500 m).
+     *
+     * @return sum of distance and bearing
+     */
+    @Benchmark
+    public final double distanceAndBearing() {
+        mLatitude = mLatitude == 50.8466 ? 50.8467 : 50.8466;
+        return mGeodesy.getDistance(mMode, 50.8503, 4.3517, mLatitude, 4.3528)
+                + mGeodesy.getBearing(
+                        mMode, 50.8503, 4.3517, mLatitude, 4.3528);
+    }
+}
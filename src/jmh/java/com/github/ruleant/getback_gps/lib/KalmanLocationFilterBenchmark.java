@@ -0,0 +1,111 @@
+/**
+ * Benchmarks for the KalmanLocationFilter class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the KalmanLocationFilter class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KalmanLocationFilterBenchmark {
+    /**
+     * Number of precalculated fixes.
+     */
+    private static final int FIXES = 1024;
+
+    /**
+     * Time between fixes in milliseconds.
+     */
+    private static final long INTERVAL = 1000;
+
+    /**
+     * Latitudes of the fixes.
+     */
+    private final double[] mLatitude = new double[FIXES];
+
+    /**
+     * Longitudes of the fixes.
+     */
+    private final double[] mLongitude = new double[FIXES];
+
+    /**
+     * Filter instance.
+     */
+    private KalmanLocationFilter mFilter;
+
+    /**
+     * Index of the next fix.
+     */
+    private int mIndex = 0;
+
+    /**
+     * Timestamp of the next fix.
+     */
+    private long mTime = 0;
+
+    /**
+     * Sets up noisy fixes of a user walking north.
+     */
+    @Setup
+    public final void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < FIXES; i++) {
+            mLatitude[i] = 50.85 + (i * 1.5 + random.nextGaussian() * 10)
+                    / 111195;
+            mLongitude[i] = 4.35 + random.nextGaussian() * 10 / 70000;
+        }
+        mFilter = new KalmanLocationFilter();
+    }
+
+    /**
+     * Benchmark update() with a new fix and reading the estimate.
+     *
+     * @return estimated speed
+     */
+    @Benchmark
+    public final float update() {
+        int i = mIndex++ & (FIXES - 1);
+        mTime += INTERVAL;
+        mFilter.update(mLatitude[i], mLongitude[i], 10, mTime);
+        return mFilter.getSpeed() + mFilter.getBearing();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Benchmarks for the Metrics and LatencyHistogram classes.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Metrics and LatencyHistogram classes.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    /**
+     * Histogram instance.
+     */
+    private final LatencyHistogram mHistogram = new LatencyHistogram();
+
+    /**
+     * Value to record.
+     */
+    private long mValue = 0;
+
+    /**
+     * Enables timing for the duration of a benchmark.
+     */
+    @State(Scope.Benchmark)
+    public static class Enabled {
+        /**
+         * Enables timing.
+         */
+        @Setup
+        public final void setUp() {
+            Metrics.setEnabled(true);
+        }
+
+        /**
+         * Disables timing.
+         */
+        @TearDown
+        public final void tearDown() {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    /**
+     * Benchmark recording a value in a histogram.
+     */
+    @Benchmark
+    public final void record() {
+        mValue += 997;
+        mHistogram.record(mValue & 0xFFFFFF);
+    }
+
+    /**
+     * Benchmark timing a stage, with timing enabled.
+     *
+     * @param enabled state enabling timing
+     */
+    @Benchmark
+    public final void timeEnabled(final Enabled enabled) {
+        Metrics.stop(Metrics.Stage.Fusion, Metrics.start());
+    }
+
+    /**
+     * Benchmark timing a stage, with timing disabled.
+     */
+    @Benchmark
+    public final void timeDisabled() {
+        Metrics.stop(Metrics.Stage.Fusion, Metrics.start());
+    }
+
+    /**
+     * Benchmark counting an event, with counting enabled.
+     *
+     * @param enabled state enabling counting
+     */
+    @Benchmark
+    public final void incrementEnabled(final Enabled enabled) {
+        Metrics.increment(Metrics.Counter.LocationFix);
+    }
+
+    /**
+     * Benchmark counting an event, with counting disabled.
+     */
+    @Benchmark
+    public final void incrementDisabled() {
+        Metrics.increment(Metrics.Counter.LocationFix);
+    }
+}
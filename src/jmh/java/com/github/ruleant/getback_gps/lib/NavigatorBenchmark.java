@@ -0,0 +1,88 @@
+/**
+ * Benchmarks for the Navigator class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Navigator class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NavigatorBenchmark {
+    /**
+     * Navigator instance.
+     */
+    private Navigator mNavigator;
+
+    /**
+     * Sets up a navigator with a previous, current location
+     * and a destination.
+     */
+    @Setup
+    public final void setUp() {
+        mNavigator = new Navigator();
+        mNavigator.setLocation(
+                new BenchmarkLocation(50.8503, 4.3517, 10, 5000));
+        mNavigator.setLocation(
+                new BenchmarkLocation(50.8508, 4.3524, 10, 15000));
+        mNavigator.setDestination(
+                new BenchmarkLocation(50.8466, 4.3528, 0, 0));
+    }
+
+    /**
+     * Benchmark getRelativeDirection().
+     *
+     * @return relative direction
+     */
+    @Benchmark
+    public final double getRelativeDirection() {
+        return mNavigator.getRelativeDirection();
+    }
+
+    /**
+     * Benchmark getCurrentSpeed().
+     *
+     * @return current speed
+     */
+    @Benchmark
+    public final float getCurrentSpeed() {
+        return mNavigator.getCurrentSpeed();
+    }
+}
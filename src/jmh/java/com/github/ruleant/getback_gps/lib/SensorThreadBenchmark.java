@@ -0,0 +1,201 @@
+/**
+ * Benchmarks for processing sensor events on a sensor thread.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the work done on the main thread for every sensor event.
+ * Without a sensor thread, filtering, orientation calculation and
+ * publishing the navigation state run on the main thread for every event.
+ * With a sensor thread, the main thread only runs the coalesced update.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SensorThreadBenchmark {
+    /**
+     * Low pass filter alpha value.
+     */
+    private static final float LOW_PASS_ALPHA = 0.6f;
+
+    /**
+     * Alpha value of circular average of orientation value.
+     */
+    private static final float ALPHA_ORIENTATION = 0.05f;
+
+    /**
+     * Accelerometer sensor event values.
+     */
+    private final float[][] mAccelerometerEvents = {
+            {0.2f, 9.8f, 0.1f}, {0.1f, 9.7f, 0.3f}};
+
+    /**
+     * Magnetic field sensor event values.
+     */
+    private final float[][] mMagneticFieldEvents = {
+            {22.1f, -5.3f, -40.2f}, {21.7f, -5.1f, -40.8f}};
+
+    /**
+     * Filtered accelerometer values.
+     */
+    private final float[] mAccelerometerValues = {0.1f, 9.7f, 0.3f};
+
+    /**
+     * Filtered magnetic field values.
+     */
+    private final float[] mMagneticFieldValues = {22f, -5f, -40f};
+
+    /**
+     * Current orientation.
+     */
+    private float mOrientation = 0;
+
+    /**
+     * Event counter, to alternate sensor values.
+     */
+    private int mEvent = 0;
+
+    /**
+     * Navigator instance.
+     */
+    private Navigator mNavigator;
+
+    /**
+     * Coalescer of orientation updates,
+     * its executor never runs the update, like a busy main thread.
+     */
+    private UpdateCoalescer mCoalescer;
+
+    /**
+     * Sets up a navigator and the update coalescer.
+     */
+    @Setup
+    public final void setUp() {
+        mNavigator = new Navigator();
+        mNavigator.setLocation(
+                new BenchmarkLocation(50.8503, 4.3517, 10, 5000));
+        mNavigator.setLocation(
+                new BenchmarkLocation(50.8508, 4.3524, 10, 15000));
+        mNavigator.setDestination(
+                new BenchmarkLocation(50.8466, 4.3528, 0, 0));
+
+        mCoalescer = new UpdateCoalescer(
+                new Executor() {
+                    @Override
+                    public void execute(final Runnable command) {
+                        // update stays pending
+                    }
+                },
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        mNavigator.getSnapshot();
+                    }
+                });
+    }
+
+    /**
+     * Filter sensor values and calculate the orientation,
+     * the same calculation as SensorManager.getRotationMatrix()
+     * and SensorManager.getOrientation().
+     *
+     * @return orientation in degrees
+     */
+    private float processSensorEvent() {
+        int event = mEvent++ & 1;
+        LowPassFilter.filterValueSet(mAccelerometerValues,
+                mAccelerometerEvents[event], LOW_PASS_ALPHA,
+                mAccelerometerValues);
+        LowPassFilter.filterValueSet(mMagneticFieldValues,
+                mMagneticFieldEvents[event], LOW_PASS_ALPHA,
+                mMagneticFieldValues);
+
+        float[] a = mAccelerometerValues;
+        float[] e = mMagneticFieldValues;
+        // H = E x A, M = A x H (normalized)
+        float hx = e[1] * a[2] - e[2] * a[1];
+        float hy = e[2] * a[0] - e[0] * a[2];
+        float hz = e[0] * a[1] - e[1] * a[0];
+        float invH = 1f / (float) Math.sqrt(hx * hx + hy * hy + hz * hz);
+        float invA = 1f / (float) Math.sqrt(
+                a[0] * a[0] + a[1] * a[1] + a[2] * a[2]);
+        hy *= invH;
+        float my = (a[2] * hx * invH - a[0] * hz * invH) * invA;
+        float azimuth = (float) Math.toDegrees(Math.atan2(hy, my));
+
+        mOrientation = CircularAverage.getAverageValue(
+                mOrientation, azimuth, ALPHA_ORIENTATION);
+        return mOrientation;
+    }
+
+    /**
+     * Main thread work per sensor event without a sensor thread :
+     * process the event and publish the navigation state.
+     *
+     * @return navigation snapshot
+     */
+    @Benchmark
+    public final NavigationSnapshot mainThreadProcessing() {
+        processSensorEvent();
+        return mNavigator.getSnapshot();
+    }
+
+    /**
+     * Sensor thread work per sensor event :
+     * process the event and request a coalesced update.
+     *
+     * @return true if an update was scheduled
+     */
+    @Benchmark
+    public final boolean sensorThreadProcessing() {
+        processSensorEvent();
+        return mCoalescer.request();
+    }
+
+    /**
+     * Main thread work per coalesced update with a sensor thread.
+     *
+     * @return navigation snapshot
+     */
+    @Benchmark
+    public final NavigationSnapshot coalescedUpdate() {
+        return mNavigator.getSnapshot();
+    }
+}
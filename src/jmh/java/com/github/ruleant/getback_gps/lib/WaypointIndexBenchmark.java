@@ -0,0 +1,121 @@
+/**
+ * Benchmarks for the WaypointIndex class.
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps.lib
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the WaypointIndex class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WaypointIndexBenchmark {
+    /**
+     * Number of waypoints in the index.
+     */
+    @Param({"10000", "100000"})
+    private int mWaypoints;
+
+    /**
+     * WaypointIndex instance.
+     */
+    private WaypointIndex mIndex;
+
+    /**
+     * Query latitude.
+     */
+    private double mLatitude;
+
+    /**
+     * Query longitude.
+     */
+    private double mLongitude;
+
+    /**
+     * Sets up an index with random waypoints in Europe.
+     */
+    @Setup
+    public final void setUp() {
+        Random random = new Random(1);
+        mIndex = new WaypointIndex();
+
+        for (int i = 0; i < mWaypoints; i++) {
+            mIndex.put(i, 36 + random.nextDouble() * 35,
+                    -10 + random.nextDouble() * 40);
+        }
+
+        mLatitude = 50.8503;
+        mLongitude = 4.3517;
+
+        // build KD-tree outside of the measurement
+        mIndex.findNearest(mLatitude, mLongitude);
+    }
+
+    /**
+     * Benchmark findNearest().
+     *
+     * @return id of the nearest waypoint
+     */
+    @Benchmark
+    public final long findNearest() {
+        return mIndex.findNearest(mLatitude, mLongitude);
+    }
+
+    /**
+     * Benchmark findNearest() with k = 10.
+     *
+     * @return ids of the nearest waypoints
+     */
+    @Benchmark
+    public final long[] findNearest10() {
+        return mIndex.findNearest(mLatitude, mLongitude, 10);
+    }
+
+    /**
+     * Benchmark findWithinRadius() with a 10 km radius.
+     *
+     * @return ids of the waypoints within the radius
+     */
+    @Benchmark
+    public final long[] findWithinRadius() {
+        return mIndex.findWithinRadius(mLatitude, mLongitude, 10000);
+    }
+}
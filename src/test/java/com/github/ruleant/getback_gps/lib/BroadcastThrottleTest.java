@@ -0,0 +1,136 @@
+/**
+ * Unit tests for BroadcastThrottle class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for BroadcastThrottle class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class BroadcastThrottleTest {
+    /**
+     * Minimal interval between notifications in nanoseconds.
+     */
+    private static final long INTERVAL = 16000000;
+
+    /**
+     * Minimal orientation change in degrees.
+     */
+    private static final double EPSILON = 0.5;
+
+    /**
+     * Instance of the throttle class.
+     */
+    private BroadcastThrottle throttle;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        throttle = new BroadcastThrottle(INTERVAL, EPSILON);
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new BroadcastThrottle(-1, EPSILON);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new BroadcastThrottle(INTERVAL, -1);
+        });
+    }
+
+    /**
+     * Tests if location and orientation updates are merged.
+     */
+    @Test
+    public final void testCoalesce() {
+        Assertions.assertFalse(throttle.isPending());
+        Assertions.assertEquals(BroadcastThrottle.UPDATE_NONE,
+                throttle.dispatch(0));
+
+        Assertions.assertTrue(throttle.requestOrientationUpdate(10));
+        Assertions.assertFalse(throttle.requestLocationUpdate());
+        Assertions.assertFalse(throttle.requestOrientationUpdate(20));
+        Assertions.assertTrue(throttle.isPending());
+
+        Assertions.assertEquals(BroadcastThrottle.UPDATE_LOCATION
+                        | BroadcastThrottle.UPDATE_ORIENTATION,
+                throttle.dispatch(0));
+        Assertions.assertFalse(throttle.isPending());
+
+        Assertions.assertTrue(throttle.requestLocationUpdate());
+        Assertions.assertEquals(BroadcastThrottle.UPDATE_LOCATION,
+                throttle.dispatch(INTERVAL));
+    }
+
+    /**
+     * Tests rate limiting.
+     */
+    @Test
+    public final void testDelay() {
+        final long start = 1000000000;
+
+        // first notification is sent immediately
+        Assertions.assertEquals(0, throttle.getDelay(start));
+        throttle.requestLocationUpdate();
+        throttle.dispatch(start);
+
+        Assertions.assertEquals(INTERVAL, throttle.getDelay(start));
+        Assertions.assertEquals(INTERVAL / 4,
+                throttle.getDelay(start + INTERVAL * 3 / 4));
+        Assertions.assertEquals(0, throttle.getDelay(start + INTERVAL * 2));
+    }
+
+    /**
+     * Tests if small orientation changes are dropped.
+     */
+    @Test
+    public final void testAngleEpsilon() {
+        throttle.requestOrientationUpdate(359.9);
+        throttle.dispatch(0);
+
+        // change of 0.2° across north is dropped
+        Assertions.assertFalse(throttle.requestOrientationUpdate(0.1));
+        Assertions.assertFalse(throttle.isPending());
+
+        // change of 1° is notified
+        Assertions.assertTrue(throttle.requestOrientationUpdate(0.9));
+        Assertions.assertEquals(BroadcastThrottle.UPDATE_ORIENTATION,
+                throttle.dispatch(INTERVAL));
+
+        // pending update is replaced by a small change
+        Assertions.assertTrue(throttle.requestOrientationUpdate(10));
+        Assertions.assertFalse(throttle.requestOrientationUpdate(0.9));
+        throttle.dispatch(INTERVAL * 2);
+        Assertions.assertFalse(throttle.requestOrientationUpdate(1.0));
+    }
+}
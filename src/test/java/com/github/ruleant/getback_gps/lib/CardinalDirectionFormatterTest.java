@@ -0,0 +1,177 @@
+/**
+ * Unit tests for CardinalDirectionFormatter class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Unit tests for CardinalDirectionFormatter class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class CardinalDirectionFormatterTest {
+    /**
+     * Number of random angles.
+     */
+    private static final int RANDOM_ANGLES = 10000;
+
+    /**
+     * Instance of the formatter class.
+     */
+    private CardinalDirectionFormatter formatter;
+
+    /**
+     * Locale before the test.
+     */
+    private Locale originalLocale;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        originalLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        formatter = new CardinalDirectionFormatter(null);
+    }
+
+    /**
+     * Tears down the test fixture.
+     * (Called after every test case method.)
+     */
+    @AfterEach
+    public final void tearDown() {
+        Locale.setDefault(originalLocale);
+    }
+
+    /**
+     * Asserts an angle is formatted like CardinalDirection.
+     *
+     * @param angle Angle in °
+     */
+    private void assertFormat(final double angle) {
+        CardinalDirection direction = new CardinalDirection(angle);
+
+        Assertions.assertEquals(direction.format(), formatter.format(angle),
+                Double.toString(angle));
+        Assertions.assertEquals(direction.getSegmentUnit(),
+                formatter.getSegmentUnit(angle), Double.toString(angle));
+    }
+
+    /**
+     * Tests formatting.
+     */
+    @Test
+    public final void testFormat() {
+        Assertions.assertEquals("0° NE", formatter.format(0));
+        Assertions.assertEquals("45° NE", formatter.format(45.2));
+        Assertions.assertEquals("90° NE", formatter.format(90));
+        Assertions.assertEquals("90° SE", formatter.format(90.04));
+        Assertions.assertEquals("181° SW", formatter.format(180.5));
+        Assertions.assertEquals("360° NW", formatter.format(359.7));
+        // cached label is reused
+        Assertions.assertSame(formatter.format(45.2), formatter.format(45.3));
+    }
+
+    /**
+     * Tests segment limits and angles next to them.
+     */
+    @Test
+    public final void testSegmentLimits() {
+        double[] limits = {
+                CardinalDirection.SEGMENT_NE_LOW,
+                CardinalDirection.SEGMENT_NE_HIGH,
+                CardinalDirection.SEGMENT_SE_HIGH,
+                CardinalDirection.SEGMENT_SW_HIGH,
+                CardinalDirection.SEGMENT_NW_HIGH,
+        };
+
+        for (double limit : limits) {
+            assertFormat(limit);
+            if (limit > CardinalDirection.SEGMENT_NE_LOW) {
+                assertFormat(Math.nextDown(limit));
+            }
+            if (limit < CardinalDirection.SEGMENT_NW_HIGH) {
+                assertFormat(Math.nextUp(limit));
+            }
+        }
+    }
+
+    /**
+     * Tests lookupSegment() against CardinalDirection.getSegment().
+     */
+    @Test
+    public final void testLookupSegment() {
+        Random random = new Random(1);
+
+        for (int i = 0; i < RANDOM_ANGLES; i++) {
+            double angle = random.nextDouble()
+                    * CardinalDirection.SEGMENT_NW_HIGH;
+            assertFormat(angle);
+        }
+
+        // every 0.1° cell limit
+        for (int i = 0; i <= 3600; i++) {
+            assertFormat(i / 10.0);
+        }
+
+        Assertions.assertEquals(0, CardinalDirection.lookupSegment(-1));
+        Assertions.assertEquals(0, CardinalDirection.lookupSegment(361));
+        Assertions.assertEquals(0,
+                CardinalDirection.lookupSegment(Double.NaN));
+    }
+
+    /**
+     * Tests labels are formatted again when the locale changes.
+     */
+    @Test
+    public final void testLocaleChange() {
+        Assertions.assertEquals("45° NE", formatter.format(45));
+
+        Locale.setDefault(new Locale("ar", "EG"));
+        Assertions.assertEquals(new CardinalDirection(45).format(),
+                formatter.format(45));
+        Assertions.assertNotEquals("45° NE", formatter.format(45));
+    }
+
+    /**
+     * Tests out of range angles.
+     */
+    @Test
+    public final void testOutOfRange() {
+        Assertions.assertEquals(CardinalDirectionFormatter.NONE,
+                formatter.format(-1));
+        Assertions.assertEquals(CardinalDirectionFormatter.NONE,
+                formatter.format(400));
+        Assertions.assertEquals(CardinalDirectionFormatter.NONE,
+                formatter.format(Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> formatter.getSegmentUnit(Double.NaN));
+    }
+}
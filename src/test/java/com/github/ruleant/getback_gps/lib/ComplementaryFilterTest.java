@@ -0,0 +1,194 @@
+/**
+ * Unit tests for ComplementaryFilter class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ComplementaryFilter class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class ComplementaryFilterTest {
+    /**
+     * Allowed deviation.
+     */
+    private static final double DELTA = 0.0001;
+
+    /**
+     * One second in nanoseconds.
+     */
+    private static final long SECOND = 1000000000L;
+
+    /**
+     * Interval between gyroscope events in nanoseconds.
+     */
+    private static final long RATE_INTERVAL = 20000000L;
+
+    /**
+     * Standard gravity.
+     */
+    private static final float GRAVITY = 9.81f;
+
+    /**
+     * Instance of the filter class.
+     */
+    private ComplementaryFilter filter;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        filter = new ComplementaryFilter();
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ComplementaryFilter(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ComplementaryFilter(Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ComplementaryFilter.getHeadingRate(
+                        null, new float[] {0, 0, GRAVITY}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ComplementaryFilter.getHeadingRate(
+                        new float[] {0, 0, 1}, null));
+    }
+
+    /**
+     * Tests the first reference heading.
+     */
+    @Test
+    public final void testFirstReference() {
+        Assertions.assertFalse(filter.hasHeading());
+
+        // rotation rates are ignored without a heading
+        filter.integrate(90, SECOND);
+        filter.integrate(90, SECOND + RATE_INTERVAL);
+        Assertions.assertFalse(filter.hasHeading());
+        Assertions.assertEquals(0, filter.getHeading(), DELTA);
+
+        filter.correct(-10, SECOND);
+        Assertions.assertTrue(filter.hasHeading());
+        Assertions.assertEquals(350, filter.getHeading(), DELTA);
+    }
+
+    /**
+     * Tests integrating the rotation rate.
+     */
+    @Test
+    public final void testIntegrate() {
+        filter.correct(0, SECOND);
+
+        // turn 90° in one second
+        long timestamp = SECOND;
+        for (int i = 0; i <= SECOND / RATE_INTERVAL; i++) {
+            filter.integrate(90, timestamp);
+            timestamp += RATE_INTERVAL;
+        }
+        Assertions.assertEquals(90, filter.getHeading(), DELTA);
+
+        // turn back past north
+        for (int i = 0; i < SECOND / RATE_INTERVAL; i++) {
+            filter.integrate(-180, timestamp);
+            timestamp += RATE_INTERVAL;
+        }
+        Assertions.assertEquals(270, filter.getHeading(), DELTA);
+
+        // a gap in the rotation rates is not integrated
+        filter.integrate(-180, timestamp + SECOND);
+        Assertions.assertEquals(270, filter.getHeading(), DELTA);
+
+        // older rotation rates are not integrated
+        filter.integrate(90, timestamp);
+        Assertions.assertEquals(270, filter.getHeading(), DELTA);
+    }
+
+    /**
+     * Tests correcting with a reference heading.
+     */
+    @Test
+    public final void testCorrect() {
+        filter.correct(0, SECOND);
+
+        // after one time constant, the reference has half the weight
+        filter.correct(10, 2 * SECOND);
+        Assertions.assertEquals(5, filter.getHeading(), DELTA);
+
+        // older references are ignored
+        filter.correct(90, SECOND);
+        Assertions.assertEquals(5, filter.getHeading(), DELTA);
+
+        // correct along the shortest way, past north
+        filter.correct(335, 3 * SECOND);
+        Assertions.assertEquals(350, filter.getHeading(), DELTA);
+
+        // the reference takes over when rotation rates stop
+        for (int i = 4; i < 20; i++) {
+            filter.correct(20, i * SECOND);
+        }
+        Assertions.assertEquals(20, filter.getHeading(), 0.01);
+
+        filter.reset();
+        Assertions.assertFalse(filter.hasHeading());
+        Assertions.assertEquals(0, filter.getHeading(), DELTA);
+    }
+
+    /**
+     * Tests the rotation rate around the vertical axis.
+     */
+    @Test
+    public final void testGetHeadingRate() {
+        // device lying flat, counter clockwise rotation around z-axis
+        Assertions.assertEquals(-Math.toDegrees(1),
+                ComplementaryFilter.getHeadingRate(
+                        new float[] {0, 0, 1}, new float[] {0, 0, GRAVITY}),
+                DELTA);
+
+        // device held upright, clockwise rotation around y-axis
+        Assertions.assertEquals(Math.toDegrees(0.5),
+                ComplementaryFilter.getHeadingRate(
+                        new float[] {0.3f, -0.5f, 0.2f},
+                        new float[] {0, GRAVITY, 0}),
+                DELTA);
+
+        // rotation around a horizontal axis doesn't change the heading
+        Assertions.assertEquals(0,
+                ComplementaryFilter.getHeadingRate(
+                        new float[] {1, 0, 0}, new float[] {0, 0, GRAVITY}),
+                DELTA);
+
+        // no gravity
+        Assertions.assertEquals(0,
+                ComplementaryFilter.getHeadingRate(
+                        new float[] {0, 0, 1}, new float[] {0, 0, 0}),
+                DELTA);
+    }
+}
@@ -265,4 +265,67 @@ public class CoordinateRotationTest {
         Assertions.assertEquals(CENTER_X - UNIT_30, converted.getCartesianX());
         Assertions.assertEquals(CENTER_Y, converted.getCartesianY());
     }
+
+    /**
+     * Tests batch conversion, it should give the same result
+     * as converting each coordinate separately.
+     */
+    @Test
+    public final void testConvertCoordinates() {
+        rotationCenter.setCartesianCoordinate(CENTER_X, CENTER_Y);
+        converter.setScaleRadius(SCALE_HALF);
+
+        Coordinate[] coordinates = {
+                new Coordinate(UNIT_30, UNIT_40),
+                new Coordinate(-1 * UNIT_40, UNIT_30),
+                new Coordinate(0, 0),
+                new Coordinate((double) UNIT_40, ANGLE_270),
+        };
+
+        // unconverted Cartesian coordinates
+        float[] sourceX = new float[coordinates.length];
+        float[] sourceY = new float[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            double angle = Math.toRadians(coordinates[i].getPolarAngle());
+            double radius = coordinates[i].getPolarRadius();
+            sourceX[i] = (float) (Math.cos(angle) * radius);
+            sourceY[i] = (float) (Math.sin(angle) * radius);
+        }
+        float[] destination = new float[coordinates.length * 2];
+
+        for (double angle = 0; angle < ANGLE_360; angle += 7.5) {
+            converter.setRotationAngle(angle);
+            converter.convertCoordinates(
+                    sourceX, sourceY, destination, coordinates.length);
+
+            for (int i = 0; i < coordinates.length; i++) {
+                Coordinate converted
+                        = converter.getConvertedCoordinate(coordinates[i]);
+                Assertions.assertEquals(converted.getCartesianX(),
+                        destination[i * 2 + Coordinate.X], 1,
+                        "X of coordinate " + i + " at " + angle + "°");
+                Assertions.assertEquals(converted.getCartesianY(),
+                        destination[i * 2 + Coordinate.Y], 1,
+                        "Y of coordinate " + i + " at " + angle + "°");
+            }
+        }
+    }
+
+    /**
+     * Tests batch conversion with arrays that are too small.
+     */
+    @Test
+    public final void testConvertCoordinatesInvalidArrays() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            converter.convertCoordinates(
+                    new float[1], new float[2], new float[4], 2);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            converter.convertCoordinates(
+                    new float[2], new float[2], new float[2], 2);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            converter.convertCoordinates(null, new float[1], new float[2], 1);
+        });
+    }
 }
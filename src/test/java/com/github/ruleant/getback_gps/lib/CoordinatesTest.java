@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -91,13 +92,26 @@ public class CoordinatesTest {
         // create mock object
         converter = mock(CoordinateConverterInterface.class);
 
-        // setup mock object
-        when(converter.getConvertedCoordinate(coordinate1))
+        // setup mock object,
+        // Coordinates converts copies of the added coordinates
+        when(converter.getConvertedCoordinate(sameCartesian(coordinate1)))
                 .thenReturn(convertedCoordinate1);
-        when(converter.getConvertedCoordinate(coordinate2))
+        when(converter.getConvertedCoordinate(sameCartesian(coordinate2)))
                 .thenReturn(convertedCoordinate2);
     }
 
+    /**
+     * Matches a coordinate with the same Cartesian coordinates.
+     *
+     * @param expected expected coordinate
+     * @return null, the matcher is registered with Mockito
+     */
+    private static Coordinate sameCartesian(final Coordinate expected) {
+        return argThat(coordinate -> coordinate != null
+                && coordinate.getCartesianX() == expected.getCartesianX()
+                && coordinate.getCartesianY() == expected.getCartesianY());
+    }
+
     /**
      * Tests empty collection.
      */
@@ -344,6 +358,82 @@ public class CoordinatesTest {
                 coordinates.toLinesArray().length);
     }
 
+    /**
+     * Tests toLinesArray with a buffer, reused if the length matches.
+     */
+    @Test
+    public final void testToLinesArrayBuffer() {
+        coordinates.setCoordinateConverter(converter);
+        coordinates.addCoordinate(coordinate1);
+        coordinates.addCoordinate(coordinate2);
+
+        // buffer with the right length is reused
+        float[] buffer = new float[Coordinates.NUM_COORD_LINE];
+        float[] linesArray = coordinates.toLinesArray(buffer);
+        Assertions.assertSame(buffer, linesArray);
+        assertConvertedCoordinates(linesArray);
+
+        // buffer with a wrong length is not used
+        float[] wrongBuffer = new float[1];
+        linesArray = coordinates.toLinesArray(wrongBuffer);
+        Assertions.assertNotSame(wrongBuffer, linesArray);
+        assertConvertedCoordinates(linesArray);
+
+        // no buffer
+        assertConvertedCoordinates(coordinates.toLinesArray(null));
+    }
+
+    /**
+     * Tests toLinesArray with a batch converter (CoordinateRotation),
+     * result should be the same as converting each coordinate separately.
+     */
+    @Test
+    public final void testToLinesArrayBatchConverter() {
+        Coordinate center = new Coordinate(CoordinateTest.UNIT_40,
+                CoordinateTest.UNIT_30);
+        CoordinateRotation rotation = new CoordinateRotation(center, 0, 2);
+        coordinates.setCoordinateConverter(rotation);
+        coordinates.addCoordinate(coordinate1);
+        coordinates.addCoordinate(coordinate2);
+        coordinates.addCoordinate(coordinate0);
+
+        for (double angle = 0; angle < FormatUtils.CIRCLE_FULL; angle += 15) {
+            rotation.setRotationAngle(angle);
+            float[] linesArray = coordinates.toLinesArray();
+
+            Coordinate[] expected = {
+                    rotation.getConvertedCoordinate(coordinate1),
+                    rotation.getConvertedCoordinate(coordinate2),
+                    rotation.getConvertedCoordinate(coordinate0),
+                    rotation.getConvertedCoordinate(coordinate1),
+            };
+            Assertions.assertEquals(
+                    NUM_POINTS_3 * Coordinates.NUM_COORD_LINE,
+                    linesArray.length);
+            for (int i = 0; i < NUM_POINTS_3; i++) {
+                int offset = i * Coordinates.NUM_COORD_LINE;
+                Assertions.assertEquals(expected[i].getCartesianX(),
+                        linesArray[offset + Coordinates.POS_START_X], 1);
+                Assertions.assertEquals(expected[i].getCartesianY(),
+                        linesArray[offset + Coordinates.POS_START_Y], 1);
+                Assertions.assertEquals(expected[i + 1].getCartesianX(),
+                        linesArray[offset + Coordinates.POS_END_X], 1);
+                Assertions.assertEquals(expected[i + 1].getCartesianY(),
+                        linesArray[offset + Coordinates.POS_END_Y], 1);
+            }
+        }
+    }
+
+    /**
+     * Tests toPath with a null Path instance.
+     */
+    @Test
+    public final void testToPathNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            coordinates.toPath(null);
+        });
+    }
+
     /**
      * Tests setting CoordinateConverter class.
      */
@@ -421,4 +511,52 @@ public class CoordinatesTest {
             coordinates.setCoordinateConverter(null);
         });
     }
+
+    /**
+     * Tests if added coordinates are copied,
+     * toArray() returns copies of the stored values,
+     * and previously exported arrays don't change.
+     */
+    @Test
+    public final void testAddCoordinateCopy() {
+        coordinates.addCoordinate(coordinate1);
+        Object[] coordinatesArray = coordinates.toArray();
+        Coordinate exported = (Coordinate) coordinatesArray[0];
+
+        // a copy of the values is returned, not the added instance
+        Assertions.assertNotSame(coordinate1, exported);
+        assertCartesian(coordinate1, exported);
+
+        // changing the original Coordinate doesn't change the collection
+        coordinate1.setCartesianCoordinate(
+                CoordinateTest.UNIT_30, CoordinateTest.UNIT_40);
+        assertCartesian(exported, (Coordinate) coordinates.toArray()[0]);
+
+        // changing an exported Coordinate doesn't change the collection
+        exported.setCartesianCoordinate(
+                CoordinateTest.UNIT_30, CoordinateTest.UNIT_40);
+        Coordinate stored = (Coordinate) coordinates.toArray()[0];
+        Assertions.assertEquals(0, stored.getCartesianX());
+        Assertions.assertEquals(CoordinateTest.UNIT_20, stored.getCartesianY());
+
+        // adding a coordinate doesn't change previously exported arrays
+        coordinates.addCoordinate(coordinate2);
+        Assertions.assertEquals(1, coordinatesArray.length);
+        Assertions.assertEquals(2, coordinates.getSize());
+        assertCartesian(coordinate2, (Coordinate) coordinates.toArray()[1]);
+    }
+
+    /**
+     * Asserts that two coordinates have the same Cartesian coordinates.
+     *
+     * @param expected expected coordinate
+     * @param actual actual coordinate
+     */
+    private static void assertCartesian(final Coordinate expected,
+                                        final Coordinate actual) {
+        Assertions.assertEquals(
+                expected.getCartesianX(), actual.getCartesianX());
+        Assertions.assertEquals(
+                expected.getCartesianY(), actual.getCartesianY());
+    }
 }
@@ -0,0 +1,216 @@
+/**
+ * Unit tests for FixedPointWriter class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Unit tests for FixedPointWriter class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class FixedPointWriterTest {
+    /**
+     * Locales with different separators, digits and grouping.
+     */
+    private static final Locale[] LOCALES = {
+            Locale.US,
+            new Locale("nl", "BE"),
+            Locale.FRANCE,
+            new Locale("de", "CH"),
+            new Locale("ar", "EG"),
+            new Locale("hi", "IN"),
+    };
+
+    /**
+     * Number of random values per locale.
+     */
+    private static final int RANDOM_VALUES = 2000;
+
+    /**
+     * Formats a value with FixedPointWriter,
+     * or returns null if the value isn't supported.
+     *
+     * @param writer FixedPointWriter
+     * @param value value
+     * @param precision number of decimals
+     * @param grouping true to use the grouping separator
+     * @return formatted value, or null
+     */
+    private static String format(final FixedPointWriter writer,
+                                 final double value, final int precision,
+                                 final boolean grouping) {
+        long rounded = FixedPointWriter.round(value, precision);
+        if (rounded == FixedPointWriter.UNSUPPORTED) {
+            return null;
+        }
+        return writer.format(rounded, precision, grouping, "");
+    }
+
+    /**
+     * Asserts a value is formatted like String.format(), if supported.
+     *
+     * @param locale Locale
+     * @param value value
+     * @param precision number of decimals
+     */
+    private static void assertFormat(final Locale locale, final double value,
+                                     final int precision) {
+        FixedPointWriter writer = new FixedPointWriter(locale);
+
+        String formatted = format(writer, value, precision, false);
+        if (formatted != null) {
+            Assertions.assertEquals(
+                    String.format(locale, "%." + precision + "f", value),
+                    formatted, value + " " + locale);
+        }
+
+        formatted = format(writer, value, precision, true);
+        if (formatted != null) {
+            Assertions.assertEquals(
+                    String.format(locale, "%,." + precision + "f", value),
+                    formatted, value + " " + locale);
+        }
+    }
+
+    /**
+     * Tests formatting fixed point values.
+     */
+    @Test
+    public final void testFormatFixed() {
+        FixedPointWriter writer = new FixedPointWriter(Locale.US);
+
+        Assertions.assertEquals("1,234.6km",
+                writer.format(FixedPointWriter.round(1234.56, 1), 1,
+                        true, "km"));
+        Assertions.assertEquals("1234.6",
+                writer.format(FixedPointWriter.round(1234.56, 1), 1,
+                        false, ""));
+        Assertions.assertEquals("-0.05",
+                writer.format(FixedPointWriter.round(-0.049, 2), 2,
+                        false, ""));
+        Assertions.assertEquals("3.1415926536",
+                writer.format(FixedPointWriter.round(Math.PI, 10), 10,
+                        false, ""));
+        Assertions.assertEquals("0",
+                writer.format(FixedPointWriter.round(0.4, 0), 0,
+                        false, ""));
+    }
+
+    /**
+     * Tests formatting integer values.
+     */
+    @Test
+    public final void testFormatInteger() {
+        FixedPointWriter writer = new FixedPointWriter(
+                new Locale("nl", "BE"));
+
+        Assertions.assertEquals("12.345.000m",
+                writer.format(12345000, true, "m"));
+        Assertions.assertEquals("-9000m", writer.format(-9000, false, "m"));
+        Assertions.assertEquals("0m", writer.format(0, true, "m"));
+
+        for (Locale locale : LOCALES) {
+            writer = new FixedPointWriter(locale);
+            for (long value : new long[] {Long.MIN_VALUE, Long.MAX_VALUE,
+                    -1000, 999, 1000000}) {
+                Assertions.assertEquals(
+                        String.format(locale, "%,d", value),
+                        writer.format(value, true, ""));
+                Assertions.assertEquals(
+                        String.format(locale, "%d", value),
+                        writer.format(value, false, ""));
+            }
+        }
+    }
+
+    /**
+     * Tests the sign of negative values that round to zero.
+     */
+    @Test
+    public final void testNegativeZero() {
+        for (Locale locale : LOCALES) {
+            assertFormat(locale, -0.0, 1);
+            assertFormat(locale, -0.01, 1);
+            assertFormat(locale, 0.0, 1);
+        }
+    }
+
+    /**
+     * Tests values that aren't supported.
+     */
+    @Test
+    public final void testRoundUnsupported() {
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(Double.NaN, 1));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(Double.POSITIVE_INFINITY, 1));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(Double.NEGATIVE_INFINITY, 1));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(1e15, 0));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(1, -1));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(1, FixedPointWriter.MAX_PRECISION + 1));
+        // rounding ties are left to String.format()
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(0.25, 1));
+        Assertions.assertEquals(FixedPointWriter.UNSUPPORTED,
+                FixedPointWriter.round(1.005, 2));
+    }
+
+    /**
+     * Tests random values against String.format().
+     */
+    @Test
+    public final void testRandomValues() {
+        Random random = new Random(1);
+
+        for (Locale locale : LOCALES) {
+            for (int i = 0; i < RANDOM_VALUES; i++) {
+                double value = (random.nextDouble() - 0.5)
+                        * Math.pow(10, random.nextInt(12));
+                assertFormat(locale, value, random.nextInt(6));
+            }
+        }
+    }
+
+    /**
+     * Tests getInstance() returns a writer for the requested locale.
+     */
+    @Test
+    public final void testGetInstance() {
+        Locale dutch = new Locale("nl", "BE");
+
+        Assertions.assertEquals(Locale.US,
+                FixedPointWriter.getInstance(Locale.US).getLocale());
+        Assertions.assertSame(FixedPointWriter.getInstance(dutch),
+                FixedPointWriter.getInstance(dutch));
+        Assertions.assertEquals(dutch,
+                FixedPointWriter.getInstance(dutch).getLocale());
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Unit tests for FormatCache class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+/**
+ * Unit tests for FormatCache class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class FormatCacheTest {
+    /**
+     * Cache size used in the tests.
+     */
+    private static final int SIZE = 2;
+
+    /**
+     * Instance of the cache class.
+     */
+    private FormatCache cache;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        cache = new FormatCache(SIZE);
+    }
+
+    /**
+     * Tests a cached value is found by value, variant and unit.
+     */
+    @Test
+    public final void testGet() {
+        Assertions.assertNull(cache.get(Locale.US, 1, 0, "m"));
+
+        cache.put(Locale.US, 1, 0, "m", "1m");
+        Assertions.assertEquals("1m", cache.get(Locale.US, 1, 0, "m"));
+        Assertions.assertNull(cache.get(Locale.US, 2, 0, "m"));
+        Assertions.assertNull(cache.get(Locale.US, 1, 1, "m"));
+        Assertions.assertNull(cache.get(Locale.US, 1, 0, "km"));
+    }
+
+    /**
+     * Tests the least recently used entry is replaced.
+     */
+    @Test
+    public final void testEviction() {
+        cache.put(Locale.US, 1, 0, "m", "1m");
+        cache.put(Locale.US, 2, 0, "m", "2m");
+        // use 1, so 2 is the least recently used
+        cache.get(Locale.US, 1, 0, "m");
+        cache.put(Locale.US, 3, 0, "m", "3m");
+
+        Assertions.assertEquals("1m", cache.get(Locale.US, 1, 0, "m"));
+        Assertions.assertNull(cache.get(Locale.US, 2, 0, "m"));
+        Assertions.assertEquals("3m", cache.get(Locale.US, 3, 0, "m"));
+    }
+
+    /**
+     * Tests entries are dropped when the locale changes.
+     */
+    @Test
+    public final void testLocaleChange() {
+        cache.put(Locale.US, 1, 0, "m", "1m");
+
+        Assertions.assertNull(cache.get(Locale.FRANCE, 1, 0, "m"));
+        Assertions.assertNull(cache.get(Locale.US, 1, 0, "m"));
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new FormatCache(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> cache.get(null, 1, 0, "m"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> cache.put(Locale.US, 1, 0, null, "1m"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> cache.put(Locale.US, 1, 0, "m", null));
+    }
+}
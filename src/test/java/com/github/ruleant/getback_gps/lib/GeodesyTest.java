@@ -0,0 +1,241 @@
+/**
+ * Unit tests for Geodesy class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Geodesy class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class GeodesyTest {
+    /**
+     * Latitude of Flinders Peak (Vincenty's reference example).
+     */
+    private static final double FLINDERS_LAT = -(37 + 57 / 60.0
+            + 3.72030 / 3600);
+
+    /**
+     * Longitude of Flinders Peak.
+     */
+    private static final double FLINDERS_LON = 144 + 25 / 60.0
+            + 29.52440 / 3600;
+
+    /**
+     * Latitude of Buninyong.
+     */
+    private static final double BUNINYONG_LAT = -(37 + 39 / 60.0
+            + 10.15610 / 3600);
+
+    /**
+     * Longitude of Buninyong.
+     */
+    private static final double BUNINYONG_LON = 143 + 55 / 60.0
+            + 35.38390 / 3600;
+
+    /**
+     * Distance between Flinders Peak and Buninyong.
+     */
+    private static final double FLINDERS_BUNINYONG_DIST = 54972.271;
+
+    /**
+     * Initial bearing from Flinders Peak to Buninyong (306°52'05.37").
+     */
+    private static final double FLINDERS_BUNINYONG_BEARING = 306
+            + 52 / 60.0 + 5.37 / 3600;
+
+    /**
+     * Distance accuracy of Vincenty's formula (1 mm).
+     */
+    private static final double VINCENTY_ACCURACY = 0.001;
+
+    /**
+     * Bearing accuracy (0.01").
+     */
+    private static final double BEARING_ACCURACY = 0.01 / 3600;
+
+    /**
+     * Instance of the geodesy class.
+     */
+    private Geodesy geodesy;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        geodesy = new Geodesy();
+    }
+
+    /**
+     * Tests Vincenty's formula with the reference example.
+     */
+    @Test
+    public final void testVincenty() {
+        Assertions.assertEquals(FLINDERS_BUNINYONG_DIST,
+                geodesy.getDistance(Geodesy.Mode.VINCENTY,
+                        FLINDERS_LAT, FLINDERS_LON,
+                        BUNINYONG_LAT, BUNINYONG_LON),
+                VINCENTY_ACCURACY);
+        Assertions.assertEquals(FLINDERS_BUNINYONG_BEARING,
+                geodesy.getBearing(Geodesy.Mode.VINCENTY,
+                        FLINDERS_LAT, FLINDERS_LON,
+                        BUNINYONG_LAT, BUNINYONG_LON),
+                BEARING_ACCURACY);
+    }
+
+    /**
+     * Tests haversine formula, accuracy should be within 0.5 %.
+     */
+    @Test
+    public final void testHaversine() {
+        Assertions.assertEquals(FLINDERS_BUNINYONG_DIST,
+                geodesy.getDistance(Geodesy.Mode.HAVERSINE,
+                        FLINDERS_LAT, FLINDERS_LON,
+                        BUNINYONG_LAT, BUNINYONG_LON),
+                FLINDERS_BUNINYONG_DIST * 0.005);
+
+        // a quarter of the equator
+        Assertions.assertEquals(Geodesy.MEAN_RADIUS * Math.PI / 2,
+                geodesy.getDistance(Geodesy.Mode.HAVERSINE, 0, 0, 0, 90),
+                VINCENTY_ACCURACY);
+        Assertions.assertEquals(90, geodesy.getBearing(
+                Geodesy.Mode.HAVERSINE, 0, 0, 0, 90), BEARING_ACCURACY);
+    }
+
+    /**
+     * Tests equirectangular approximation against Vincenty's formula
+     * for short distances at different latitudes and directions.
+     */
+    @Test
+    public final void testEquirectangularShortRange() {
+        final double delta = 0.1;
+        Geodesy vincenty = new Geodesy();
+
+        for (double latitude = -80; latitude <= 80; latitude += 20) {
+            for (int direction = 0; direction < 8; direction++) {
+                double angle = Math.toRadians(direction * 45);
+                double latitude2 = latitude + delta * Math.cos(angle);
+                double longitude2 = 4 + delta * Math.sin(angle);
+
+                double expected = vincenty.getDistance(Geodesy.Mode.VINCENTY,
+                        latitude, 4, latitude2, longitude2);
+                Assertions.assertEquals(expected,
+                        geodesy.getDistance(Geodesy.Mode.EQUIRECTANGULAR,
+                                latitude, 4, latitude2, longitude2),
+                        expected * 0.0001);
+                Assertions.assertEquals(
+                        vincenty.getBearing(Geodesy.Mode.VINCENTY,
+                                latitude, 4, latitude2, longitude2),
+                        geodesy.getBearing(Geodesy.Mode.EQUIRECTANGULAR,
+                                latitude, 4, latitude2, longitude2),
+                        0.1);
+            }
+        }
+    }
+
+    /**
+     * Tests distance across the 180° meridian.
+     */
+    @Test
+    public final void testAntimeridian() {
+        double expected = geodesy.getDistance(
+                Geodesy.Mode.VINCENTY, 10, 179.99, 10, -179.99);
+        Assertions.assertTrue(expected < 2500);
+
+        Assertions.assertEquals(expected, geodesy.getDistance(
+                Geodesy.Mode.EQUIRECTANGULAR, 10, 179.99, 10, -179.99),
+                expected * 0.0001);
+        Assertions.assertEquals(90, geodesy.getBearing(
+                Geodesy.Mode.EQUIRECTANGULAR, 10, 179.99, 10, -179.99),
+                0.1);
+    }
+
+    /**
+     * Tests AUTO mode : equirectangular for short distances,
+     * Vincenty for long distances.
+     */
+    @Test
+    public final void testAuto() {
+        Geodesy reference = new Geodesy();
+
+        Assertions.assertEquals(
+                reference.getDistance(Geodesy.Mode.EQUIRECTANGULAR,
+                        51, 4, 51.01, 4.01),
+                geodesy.getDistance(Geodesy.Mode.AUTO, 51, 4, 51.01, 4.01));
+        Assertions.assertEquals(FLINDERS_BUNINYONG_DIST,
+                geodesy.getDistance(Geodesy.Mode.AUTO,
+                        FLINDERS_LAT, FLINDERS_LON,
+                        BUNINYONG_LAT, BUNINYONG_LON),
+                VINCENTY_ACCURACY);
+    }
+
+    /**
+     * Tests coincident and nearly antipodal points.
+     */
+    @Test
+    public final void testSpecialCases() {
+        Assertions.assertEquals(0, geodesy.getDistance(
+                Geodesy.Mode.VINCENTY, 51, 4, 51, 4));
+        Assertions.assertEquals(0, geodesy.getDistance(
+                Geodesy.Mode.EQUIRECTANGULAR, 51, 4, 51, 4));
+
+        // Vincenty's formula doesn't converge, haversine is used
+        double distance = geodesy.getDistance(
+                Geodesy.Mode.VINCENTY, 0, 0, 0.5, 179.7);
+        Assertions.assertEquals(Geodesy.MEAN_RADIUS * Math.PI, distance,
+                distance * 0.005);
+    }
+
+    /**
+     * Tests if changing mode or coordinates recalculates the result.
+     */
+    @Test
+    public final void testCache() {
+        double vincenty = geodesy.getDistance(Geodesy.Mode.VINCENTY,
+                FLINDERS_LAT, FLINDERS_LON, BUNINYONG_LAT, BUNINYONG_LON);
+        double haversine = geodesy.getDistance(Geodesy.Mode.HAVERSINE,
+                FLINDERS_LAT, FLINDERS_LON, BUNINYONG_LAT, BUNINYONG_LON);
+        Assertions.assertNotEquals(vincenty, haversine);
+
+        Assertions.assertEquals(vincenty, geodesy.getDistance(
+                Geodesy.Mode.VINCENTY,
+                FLINDERS_LAT, FLINDERS_LON, BUNINYONG_LAT, BUNINYONG_LON));
+        Assertions.assertNotEquals(vincenty, geodesy.getDistance(
+                Geodesy.Mode.VINCENTY,
+                BUNINYONG_LAT, BUNINYONG_LON, 0, 0));
+    }
+
+    /**
+     * Tests null mode.
+     */
+    @Test
+    public final void testModeNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            geodesy.getDistance(null, 0, 0, 0, 0);
+        });
+    }
+}
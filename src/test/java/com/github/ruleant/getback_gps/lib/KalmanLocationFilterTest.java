@@ -0,0 +1,200 @@
+/**
+ * Unit tests for KalmanLocationFilter class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for KalmanLocationFilter class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class KalmanLocationFilterTest {
+    /**
+     * Meters per degree latitude.
+     */
+    private static final double METERS_PER_DEGREE
+            = Math.toRadians(Geodesy.MEAN_RADIUS);
+
+    /**
+     * Accuracy of the fixes in meters.
+     */
+    private static final float ACCURACY = 10;
+
+    /**
+     * Time between fixes in milliseconds.
+     */
+    private static final long INTERVAL = 5000;
+
+    /**
+     * Number of fixes.
+     */
+    private static final int FIXES = 60;
+
+    /**
+     * Instance of the filter class.
+     */
+    private KalmanLocationFilter filter;
+
+    /**
+     * Random generator for measurement noise.
+     */
+    private Random random;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        filter = new KalmanLocationFilter();
+        random = new Random(1);
+    }
+
+    /**
+     * Feed fixes of a track with constant velocity and noise.
+     *
+     * @param speed speed in m/s
+     * @param bearing course in degrees
+     */
+    private void feedTrack(final double speed, final double bearing) {
+        final double latitude = 51;
+        double metersPerLongitude = METERS_PER_DEGREE
+                * Math.cos(Math.toRadians(latitude));
+
+        for (int i = 0; i < FIXES; i++) {
+            double t = i * INTERVAL / 1000.0;
+            double north = speed * t * Math.cos(Math.toRadians(bearing))
+                    + random.nextGaussian() * ACCURACY;
+            double east = speed * t * Math.sin(Math.toRadians(bearing))
+                    + random.nextGaussian() * ACCURACY;
+            Assertions.assertTrue(filter.update(
+                    latitude + north / METERS_PER_DEGREE,
+                    4 + east / metersPerLongitude, ACCURACY,
+                    i * INTERVAL));
+        }
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new KalmanLocationFilter(0);
+        });
+    }
+
+    /**
+     * Tests first fix.
+     */
+    @Test
+    public final void testFirstFix() {
+        Assertions.assertFalse(filter.hasEstimate());
+        Assertions.assertFalse(filter.isSpeedAccurate());
+        Assertions.assertFalse(filter.isBearingAccurate());
+
+        Assertions.assertTrue(filter.update(51, 4, ACCURACY, 1000));
+        Assertions.assertTrue(filter.hasEstimate());
+        Assertions.assertEquals(51, filter.getLatitude(), 1e-9);
+        Assertions.assertEquals(4, filter.getLongitude(), 1e-9);
+        Assertions.assertEquals(ACCURACY, filter.getAccuracy(), 1e-6);
+        Assertions.assertEquals(0, filter.getSpeed());
+        Assertions.assertFalse(filter.isSpeedAccurate());
+        Assertions.assertFalse(filter.isBearingAccurate());
+
+        // velocity hasn't converged after the second fix
+        Assertions.assertTrue(filter.update(51, 4, ACCURACY, 1000 + INTERVAL));
+        Assertions.assertFalse(filter.isSpeedAccurate());
+
+        // older fix is rejected
+        Assertions.assertFalse(filter.update(52, 4, ACCURACY, 1000));
+        Assertions.assertEquals(51, filter.getLatitude(), 1e-9);
+
+        filter.reset();
+        Assertions.assertFalse(filter.hasEstimate());
+    }
+
+    /**
+     * Tests speed and course estimate of a moving user,
+     * with a low fix rate.
+     */
+    @Test
+    public final void testMoving() {
+        final double speed = 5;
+        final double bearing = 60;
+        feedTrack(speed, bearing);
+
+        Assertions.assertEquals(speed, filter.getSpeed(), 1);
+        Assertions.assertEquals(bearing, filter.getBearing(), 15);
+        Assertions.assertTrue(filter.isSpeedAccurate());
+        Assertions.assertTrue(filter.isBearingAccurate());
+        Assertions.assertTrue(filter.getAccuracy() < ACCURACY);
+    }
+
+    /**
+     * Tests if a stationary user has no accurate course,
+     * though the fixes move within the accuracy.
+     */
+    @Test
+    public final void testStationary() {
+        feedTrack(0, 0);
+
+        Assertions.assertTrue(filter.getSpeed() < 2);
+        Assertions.assertTrue(filter.isSpeedAccurate());
+        Assertions.assertFalse(filter.isBearingAccurate());
+    }
+
+    /**
+     * Tests if the filter restarts after a long gap.
+     */
+    @Test
+    public final void testGap() {
+        feedTrack(1.5, 90);
+        long time = (FIXES - 1) * INTERVAL + KalmanLocationFilter.MAX_GAP + 1;
+
+        Assertions.assertTrue(filter.update(10, 20, ACCURACY, time));
+        Assertions.assertEquals(10, filter.getLatitude(), 1e-9);
+        Assertions.assertEquals(20, filter.getLongitude(), 1e-9);
+        Assertions.assertEquals(0, filter.getSpeed());
+    }
+
+    /**
+     * Tests moving across the 180° meridian.
+     */
+    @Test
+    public final void testAntimeridian() {
+        double step = 10 / METERS_PER_DEGREE;
+        for (int i = 0; i < FIXES; i++) {
+            filter.update(0, 179.999 + i * step - (i * step > 0.001 ? 360 : 0),
+                    ACCURACY, i * 1000L);
+        }
+
+        Assertions.assertEquals(10, filter.getSpeed(), 0.5);
+        Assertions.assertEquals(90, filter.getBearing(), 1);
+        Assertions.assertTrue(filter.getLongitude() < 0);
+    }
+}
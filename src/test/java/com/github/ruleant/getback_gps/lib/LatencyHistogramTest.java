@@ -0,0 +1,138 @@
+/**
+ * Unit tests for LatencyHistogram class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LatencyHistogram class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LatencyHistogramTest {
+    /**
+     * Allowed deviation.
+     */
+    private static final double DELTA = 0.0001;
+
+    /**
+     * Instance of the histogram class.
+     */
+    private LatencyHistogram histogram;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Tests bucket index and bounds.
+     */
+    @Test
+    public final void testBuckets() {
+        // linear buckets for small values
+        Assertions.assertEquals(0, LatencyHistogram.getBucketIndex(-5));
+        Assertions.assertEquals(0, LatencyHistogram.getBucketIndex(0));
+        Assertions.assertEquals(7, LatencyHistogram.getBucketIndex(7));
+
+        // 8 buckets per power of 2
+        Assertions.assertEquals(8, LatencyHistogram.getBucketIndex(8));
+        Assertions.assertEquals(15, LatencyHistogram.getBucketIndex(15));
+        Assertions.assertEquals(16, LatencyHistogram.getBucketIndex(16));
+        Assertions.assertEquals(16, LatencyHistogram.getBucketIndex(17));
+        Assertions.assertEquals(23, LatencyHistogram.getBucketIndex(31));
+        Assertions.assertEquals(24, LatencyHistogram.getBucketIndex(32));
+
+        // large values are counted in the last bucket
+        Assertions.assertEquals(LatencyHistogram.BUCKET_COUNT - 1,
+                LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+
+        // every value is in the bucket between its bounds
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long lower = LatencyHistogram.getBucketLowerBound(i);
+            long upper = LatencyHistogram.getBucketLowerBound(i + 1) - 1;
+            Assertions.assertEquals(i, LatencyHistogram.getBucketIndex(lower));
+            Assertions.assertEquals(i, LatencyHistogram.getBucketIndex(upper));
+            // relative precision is 12.5%
+            Assertions.assertTrue(upper - lower <= lower / 8);
+        }
+    }
+
+    /**
+     * Tests an empty histogram.
+     */
+    @Test
+    public final void testEmpty() {
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMean(), DELTA);
+        Assertions.assertEquals(0, histogram.getPercentile(50));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> histogram.getPercentile(-1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> histogram.getPercentile(101));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> histogram.getPercentile(Double.NaN));
+    }
+
+    /**
+     * Tests recording values.
+     */
+    @Test
+    public final void testRecord() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(50500, histogram.getMean(), DELTA);
+
+        // percentiles have the precision of a bucket
+        assertPercentile(1000, histogram.getPercentile(0));
+        assertPercentile(50000, histogram.getPercentile(50));
+        assertPercentile(99000, histogram.getPercentile(99));
+        assertPercentile(100000, histogram.getPercentile(100));
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMean(), DELTA);
+    }
+
+    /**
+     * Checks that a percentile is the upper bound
+     * of the bucket of the expected value.
+     *
+     * @param expected expected value
+     * @param actual percentile value
+     */
+    private void assertPercentile(final long expected, final long actual) {
+        Assertions.assertEquals(LatencyHistogram.getBucketIndex(expected),
+                LatencyHistogram.getBucketIndex(actual));
+        Assertions.assertTrue(actual >= expected);
+    }
+}
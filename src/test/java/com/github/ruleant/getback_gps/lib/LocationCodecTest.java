@@ -0,0 +1,219 @@
+/**
+ * Unit tests for LocationCodec class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LocationCodec class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationCodecTest {
+    /**
+     * Latitude.
+     */
+    private static final double LATITUDE = 51.2194;
+
+    /**
+     * Longitude.
+     */
+    private static final double LONGITUDE = 4.4025;
+
+    /**
+     * Altitude.
+     */
+    private static final double ALTITUDE = 12.5;
+
+    /**
+     * Bearing.
+     */
+    private static final float BEARING = 45.5f;
+
+    /**
+     * Speed.
+     */
+    private static final float SPEED = 1.5f;
+
+    /**
+     * Accuracy.
+     */
+    private static final float ACCURACY = 4f;
+
+    /**
+     * Timestamp.
+     */
+    private static final long TIME = 1234567890123L;
+
+    /**
+     * Provider.
+     */
+    private static final String PROVIDER = "gps";
+
+    /**
+     * Location name.
+     */
+    private static final String NAME = "Grote Markt é";
+
+    /**
+     * Location to encode.
+     */
+    private AriadneLocation location;
+
+    /**
+     * Location to decode into.
+     */
+    private AriadneLocation decoded;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        location = mock(AriadneLocation.class);
+        when(location.getLatitude()).thenReturn(LATITUDE);
+        when(location.getLongitude()).thenReturn(LONGITUDE);
+        when(location.getAltitude()).thenReturn(ALTITUDE);
+        when(location.getBearing()).thenReturn(BEARING);
+        when(location.getSpeed()).thenReturn(SPEED);
+        when(location.getAccuracy()).thenReturn(ACCURACY);
+        when(location.getTime()).thenReturn(TIME);
+        when(location.getProvider()).thenReturn(PROVIDER);
+
+        decoded = mock(AriadneLocation.class);
+    }
+
+    /**
+     * Tests encoding and decoding a location with all values.
+     */
+    @Test
+    public final void testEncodeDecode() {
+        when(location.hasAltitude()).thenReturn(true);
+        when(location.hasBearing()).thenReturn(true);
+        when(location.hasSpeed()).thenReturn(true);
+        when(location.hasAccuracy()).thenReturn(true);
+        location.setName(NAME);
+
+        byte[] record = LocationCodec.encode(location);
+        Assertions.assertEquals(LocationCodec.VERSION, record[0]);
+
+        Assertions.assertTrue(LocationCodec.decode(record, decoded));
+        verify(decoded).setLatitude(LATITUDE);
+        verify(decoded).setLongitude(LONGITUDE);
+        verify(decoded).setAltitude(ALTITUDE);
+        verify(decoded).setBearing(BEARING);
+        verify(decoded).setSpeed(SPEED);
+        verify(decoded).setAccuracy(ACCURACY);
+        verify(decoded).setTime(TIME);
+        verify(decoded).setProvider(PROVIDER);
+        Assertions.assertEquals(NAME, decoded.getName());
+    }
+
+    /**
+     * Tests if optional values that aren't set, aren't decoded.
+     */
+    @Test
+    public final void testOptionalValues() {
+        byte[] record = LocationCodec.encode(location);
+
+        Assertions.assertTrue(LocationCodec.decode(record, decoded));
+        verify(decoded).setLatitude(LATITUDE);
+        verify(decoded).setLongitude(LONGITUDE);
+        verify(decoded, never()).setAltitude(anyDouble());
+        verify(decoded, never()).setBearing(anyFloat());
+        verify(decoded, never()).setSpeed(anyFloat());
+        verify(decoded, never()).setAccuracy(anyFloat());
+        Assertions.assertNull(decoded.getName());
+    }
+
+    /**
+     * Tests decoding invalid records.
+     */
+    @Test
+    public final void testDecodeInvalid() {
+        byte[] record = LocationCodec.encode(location);
+
+        Assertions.assertFalse(LocationCodec.decode(null, decoded));
+        Assertions.assertFalse(LocationCodec.decode(new byte[0], decoded));
+
+        // truncated record
+        Assertions.assertFalse(LocationCodec.decode(
+                Arrays.copyOf(record, record.length - 1), decoded));
+
+        // unknown version
+        record[0] = LocationCodec.VERSION + 1;
+        Assertions.assertFalse(LocationCodec.decode(record, decoded));
+
+        verify(decoded, never()).setLatitude(anyDouble());
+    }
+
+    /**
+     * Tests decoding single values, without decoding the location.
+     */
+    @Test
+    public final void testDecodeValues() {
+        byte[] record = LocationCodec.encode(location);
+        Assertions.assertTrue(LocationCodec.isValid(record));
+        Assertions.assertEquals(LATITUDE,
+                LocationCodec.decodeLatitude(record));
+        Assertions.assertEquals(LONGITUDE,
+                LocationCodec.decodeLongitude(record));
+        Assertions.assertNull(LocationCodec.decodeName(record));
+
+        location.setName(NAME);
+        record = LocationCodec.encode(location);
+        Assertions.assertTrue(LocationCodec.isValid(record));
+        Assertions.assertEquals(NAME, LocationCodec.decodeName(record));
+
+        Assertions.assertFalse(LocationCodec.isValid(null));
+        Assertions.assertFalse(LocationCodec.isValid(
+                Arrays.copyOf(record, record.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            LocationCodec.decodeName(new byte[1]);
+        });
+    }
+
+    /**
+     * Tests null location.
+     */
+    @Test
+    public final void testLocationNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            LocationCodec.encode(null);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            LocationCodec.decode(new byte[1], null);
+        });
+    }
+}
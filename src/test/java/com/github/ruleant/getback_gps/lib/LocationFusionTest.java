@@ -0,0 +1,194 @@
+/**
+ * Unit tests for LocationFusion class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LocationFusion class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationFusionTest {
+    /**
+     * GPS provider name.
+     */
+    private static final String GPS = "gps";
+
+    /**
+     * Network provider name.
+     */
+    private static final String NETWORK = "network";
+
+    /**
+     * Start timestamp in milliseconds.
+     */
+    private static final long START = 1000000;
+
+    /**
+     * Instance of the fusion class.
+     */
+    private LocationFusion fusion;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        fusion = new LocationFusion();
+    }
+
+    /**
+     * Create a location fix.
+     *
+     * @param provider provider name
+     * @param time timestamp in milliseconds
+     * @param accuracy accuracy in meters
+     * @return mocked location fix
+     */
+    private static AriadneLocation createFix(final String provider,
+                                             final long time,
+                                             final float accuracy) {
+        AriadneLocation fix = mock(AriadneLocation.class);
+        when(fix.getProvider()).thenReturn(provider);
+        when(fix.getTime()).thenReturn(time);
+        when(fix.hasAccuracy()).thenReturn(true);
+        when(fix.getAccuracy()).thenReturn(accuracy);
+        return fix;
+    }
+
+    /**
+     * Tests null parameter.
+     */
+    @Test
+    public final void testNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            fusion.offer(null, START);
+        });
+    }
+
+    /**
+     * Tests score of fixes.
+     */
+    @Test
+    public final void testScore() {
+        AriadneLocation gps = createFix(GPS, START, 10);
+        Assertions.assertEquals(10, LocationFusion.getScore(gps, START));
+
+        // uncertainty grows with age
+        Assertions.assertEquals(10 + LocationFusion.AGE_PENALTY * 2,
+                LocationFusion.getScore(gps, START + 2000));
+
+        // network fix with same accuracy is less trusted
+        Assertions.assertTrue(LocationFusion.getScore(
+                createFix(NETWORK, START, 10), START) > 10);
+
+        // fix without accuracy
+        AriadneLocation unknown = createFix(GPS, START, 0);
+        when(unknown.hasAccuracy()).thenReturn(false);
+        Assertions.assertEquals(LocationFusion.UNKNOWN_ACCURACY,
+                LocationFusion.getScore(unknown, START));
+    }
+
+    /**
+     * Tests network fixes are used until GPS is accurate.
+     */
+    @Test
+    public final void testGpsWarmUp() {
+        Assertions.assertNull(fusion.getBest());
+
+        AriadneLocation network = createFix(NETWORK, START, 30);
+        Assertions.assertTrue(fusion.offer(network, START));
+        Assertions.assertSame(network, fusion.getBest());
+
+        // first GPS fix is inaccurate
+        Assertions.assertFalse(fusion.offer(
+                createFix(GPS, START + 1000, 200), START + 1000));
+        Assertions.assertSame(network, fusion.getBest());
+
+        // accurate GPS fix replaces network fix
+        AriadneLocation gps = createFix(GPS, START + 2000, 8);
+        Assertions.assertTrue(fusion.offer(gps, START + 2000));
+        Assertions.assertSame(gps, fusion.getBest());
+
+        // newer fix of the same provider is always used
+        AriadneLocation gps2 = createFix(GPS, START + 3000, 12);
+        Assertions.assertTrue(fusion.offer(gps2, START + 3000));
+
+        // older fix is rejected
+        Assertions.assertFalse(fusion.offer(
+                createFix(NETWORK, START + 2500, 1), START + 3000));
+
+        fusion.reset();
+        Assertions.assertNull(fusion.getBest());
+    }
+
+    /**
+     * Tests if a slightly better fix of another provider
+     * doesn't replace the current estimate.
+     */
+    @Test
+    public final void testHysteresis() {
+        fusion.offer(createFix(GPS, START, 10), START);
+
+        Assertions.assertFalse(fusion.offer(
+                createFix(NETWORK, START + 100, 6), START + 100));
+
+        // GPS signal is lost, the estimate ages
+        AriadneLocation network = createFix(NETWORK, START + 30000, 20);
+        Assertions.assertTrue(fusion.offer(network, START + 30000));
+        Assertions.assertSame(network, fusion.getBest());
+    }
+
+    /**
+     * Tests if the primary provider is stale
+     * after a few update intervals without a fix.
+     */
+    @Test
+    public final void testPrimaryStale() {
+        final long updateTime = 20000;
+        final long staleTime = updateTime * LocationFusion.STALE_INTERVALS;
+
+        Assertions.assertEquals(LocationFusion.STALE_MIN_TIME,
+                LocationFusion.getStaleTime(0));
+        Assertions.assertEquals(staleTime,
+                LocationFusion.getStaleTime(updateTime));
+
+        fusion.setPrimaryFixTime(START);
+        Assertions.assertFalse(fusion.isPrimaryStale(START, updateTime));
+        Assertions.assertFalse(
+                fusion.isPrimaryStale(START + staleTime, updateTime));
+        Assertions.assertTrue(
+                fusion.isPrimaryStale(START + staleTime + 1, updateTime));
+
+        // new primary fix
+        fusion.setPrimaryFixTime(START + staleTime);
+        Assertions.assertFalse(
+                fusion.isPrimaryStale(START + staleTime + 1, updateTime));
+    }
+}
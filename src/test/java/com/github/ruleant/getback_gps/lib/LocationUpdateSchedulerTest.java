@@ -0,0 +1,211 @@
+/**
+ * Unit tests for LocationUpdateScheduler class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LocationUpdateScheduler class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class LocationUpdateSchedulerTest {
+    /**
+     * Base update time in milliseconds.
+     */
+    private static final long BASE_TIME = 10000;
+
+    /**
+     * Base update distance in meters.
+     */
+    private static final float BASE_DISTANCE = 10;
+
+    /**
+     * Accurate location accuracy in meters.
+     */
+    private static final float ACCURACY = 10;
+
+    /**
+     * Walking speed in m/s.
+     */
+    private static final float SPEED = 1.5f;
+
+    /**
+     * Meters per degree latitude at the equator.
+     */
+    private static final double METER_PER_DEGREE = 110574;
+
+    /**
+     * Instance of the scheduler class.
+     */
+    private LocationUpdateScheduler scheduler;
+
+    /**
+     * Navigator used to create navigation snapshots.
+     */
+    private Navigator navigator;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        scheduler = new LocationUpdateScheduler(BASE_TIME, BASE_DISTANCE);
+        navigator = new Navigator();
+    }
+
+    /**
+     * Create a recent location north of the equator.
+     *
+     * @param north distance north of the equator in meters
+     * @param speed speed in m/s
+     * @return mocked location
+     */
+    private static AriadneLocation createLocation(final double north,
+                                                  final float speed) {
+        AriadneLocation location = mock(AriadneLocation.class);
+        when(location.getLatitude()).thenReturn(north / METER_PER_DEGREE);
+        when(location.getLongitude()).thenReturn(0.0);
+        when(location.isRecent()).thenReturn(true);
+        when(location.getAccuracy()).thenReturn(ACCURACY);
+        when(location.hasSpeed()).thenReturn(true);
+        when(location.getSpeed()).thenReturn(speed);
+        when(location.copy()).thenReturn(location);
+        return location;
+    }
+
+    /**
+     * Update the scheduler with a new current location.
+     *
+     * @param north distance north of the equator in meters
+     * @param speed speed in m/s
+     * @return true if the bucket changed
+     */
+    private boolean update(final double north, final float speed) {
+        navigator.setLocation(createLocation(north, speed));
+        return scheduler.update(navigator.getSnapshot());
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new LocationUpdateScheduler(-1, BASE_DISTANCE);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new LocationUpdateScheduler(BASE_TIME, -1);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            scheduler.update(null);
+        });
+    }
+
+    /**
+     * Tests buckets without destination.
+     */
+    @Test
+    public final void testNoDestination() {
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Normal,
+                scheduler.getBucket());
+        Assertions.assertEquals(BASE_TIME, scheduler.getUpdateTime());
+        Assertions.assertEquals(BASE_DISTANCE, scheduler.getUpdateDistance());
+
+        // inaccurate location
+        Assertions.assertFalse(scheduler.update(NavigationSnapshot.EMPTY));
+
+        Assertions.assertFalse(update(0, SPEED));
+        Assertions.assertTrue(update(0, 0));
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Stationary,
+                scheduler.getBucket());
+        Assertions.assertTrue(scheduler.getUpdateTime() > BASE_TIME);
+
+        // no new registration if the bucket doesn't change
+        Assertions.assertFalse(update(0, 0.1f));
+    }
+
+    /**
+     * Tests buckets depending on the distance to the destination.
+     */
+    @Test
+    public final void testDestination() {
+        navigator.setDestination(createLocation(0, 0));
+
+        Assertions.assertTrue(update(10000, SPEED));
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Far,
+                scheduler.getBucket());
+        Assertions.assertTrue(scheduler.getUpdateTime() > BASE_TIME);
+        Assertions.assertTrue(scheduler.getUpdateDistance() > BASE_DISTANCE);
+
+        Assertions.assertTrue(update(1000, SPEED));
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Normal,
+                scheduler.getBucket());
+
+        // near destination has priority over stationary
+        Assertions.assertTrue(update(100, 0));
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Near,
+                scheduler.getBucket());
+        Assertions.assertTrue(scheduler.getUpdateTime() < BASE_TIME);
+        Assertions.assertEquals(0, scheduler.getUpdateDistance());
+    }
+
+    /**
+     * Tests if the bucket doesn't change around a threshold.
+     */
+    @Test
+    public final void testHysteresis() {
+        navigator.setDestination(createLocation(0, 0));
+
+        Assertions.assertTrue(update(LocationUpdateScheduler.NEAR_DISTANCE
+                - 10, SPEED));
+        Assertions.assertFalse(update(LocationUpdateScheduler.NEAR_DISTANCE
+                + 10, SPEED));
+        Assertions.assertTrue(update(LocationUpdateScheduler.NEAR_DISTANCE
+                * 2, SPEED));
+        Assertions.assertEquals(LocationUpdateScheduler.Bucket.Normal,
+                scheduler.getBucket());
+    }
+
+    /**
+     * Tests minimal update time.
+     */
+    @Test
+    public final void testMinUpdateTime() {
+        scheduler.setBaseRate(1500, 0);
+        navigator.setDestination(createLocation(0, 0));
+        update(0, SPEED);
+
+        Assertions.assertEquals(LocationUpdateScheduler.MIN_UPDATE_TIME,
+                scheduler.getUpdateTime());
+
+        // shorter configured time is respected
+        scheduler.setBaseRate(500, 0);
+        Assertions.assertEquals(500, scheduler.getUpdateTime());
+    }
+}
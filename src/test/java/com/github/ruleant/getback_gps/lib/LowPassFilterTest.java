@@ -22,8 +22,11 @@
 package com.github.ruleant.getback_gps.lib;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+
 
 /**
  * Unit tests for FormatUtils class.
@@ -207,4 +210,120 @@ public class LowPassFilterTest {
         Assertions.assertEquals(ALPHA_VALUE, filteredArray[0], ACCURACY);
         Assertions.assertEquals(1 - ALPHA_VALUE, filteredArray[1], ACCURACY);
     }
+
+    /**
+     * Tests filterValueSet with a result array.
+     */
+    @Test
+    public final void testFilterValueSetResultArray() {
+        float[] newArray = {1, 0};
+        float[] previousArray = {0, 1};
+        float[] resultArray = new float[2];
+
+        float[] filteredArray = LowPassFilter.filterValueSet(
+                previousArray, newArray, ALPHA_VALUE, resultArray);
+
+        Assertions.assertSame(resultArray, filteredArray);
+        Assertions.assertEquals(ALPHA_VALUE, resultArray[0], ACCURACY);
+        Assertions.assertEquals(1 - ALPHA_VALUE, resultArray[1], ACCURACY);
+
+        // previous values are not changed
+        Assertions.assertEquals(0, previousArray[0], ACCURACY);
+        Assertions.assertEquals(1, previousArray[1], ACCURACY);
+    }
+
+    /**
+     * Tests filterValueSet in place, result array = previous array.
+     */
+    @Test
+    public final void testFilterValueSetInPlace() {
+        float[] newArray = {1, 0};
+        float[] previousArray = {0, 1};
+
+        float[] filteredArray = LowPassFilter.filterValueSet(
+                previousArray, newArray, ALPHA_VALUE, previousArray);
+
+        Assertions.assertSame(previousArray, filteredArray);
+        Assertions.assertEquals(ALPHA_VALUE, previousArray[0], ACCURACY);
+        Assertions.assertEquals(1 - ALPHA_VALUE, previousArray[1], ACCURACY);
+    }
+
+    /**
+     * Tests filterValueSet with a result array, without previous values,
+     * new values should be copied.
+     */
+    @Test
+    public final void testFilterValueSetResultArrayNoPrevious() {
+        float[] newArray = {1, 2};
+        float[] resultArray = new float[2];
+
+        float[] filteredArray = LowPassFilter.filterValueSet(
+                null, newArray, ALPHA_VALUE, resultArray);
+
+        Assertions.assertSame(resultArray, filteredArray);
+        Assertions.assertNotSame(newArray, filteredArray);
+        Assertions.assertEquals(1, resultArray[0], ACCURACY);
+        Assertions.assertEquals(2, resultArray[1], ACCURACY);
+    }
+
+    /**
+     * Tests filterValueSet with a result array of the wrong size.
+     */
+    @Test
+    public final void testFilterValueSetResultArrayWrongSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            LowPassFilter.filterValueSet(
+                    new float[2], new float[2], ALPHA_VALUE, new float[1]);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            LowPassFilter.filterValueSet(
+                    new float[2], new float[2], ALPHA_VALUE, null);
+        });
+    }
+
+    /**
+     * Tests that filtering sensor values in place,
+     * followed by averaging the orientation, doesn't allocate memory.
+     */
+    @Test
+    public final void testFilterValueSetInPlaceNoAllocation() {
+        java.lang.management.ThreadMXBean threadBean
+                = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(
+                threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean
+                = (com.sun.management.ThreadMXBean) threadBean;
+        Assumptions.assumeTrue(
+                allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        final int events = 10000;
+        float[] filteredValues = new float[3];
+        float[] eventValues = {0.1f, 9.8f, 0.2f};
+        float orientation = 0;
+
+        // warm up, so allocations of class loading are not counted
+        LowPassFilter.filterValueSet(
+                null, eventValues, ALPHA_VALUE, filteredValues);
+        orientation = CircularAverage.getAverageValue(
+                orientation, filteredValues[0], ALPHA_VALUE);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < events; i++) {
+            eventValues[0] = i % 360;
+            LowPassFilter.filterValueSet(
+                    filteredValues, eventValues, ALPHA_VALUE, filteredValues);
+            orientation = CircularAverage.getAverageValue(
+                    orientation, filteredValues[0], ALPHA_VALUE);
+        }
+
+        long allocatedAfter = allocationBean.getThreadAllocatedBytes(threadId);
+
+        // a small margin for the allocation measurement itself,
+        // allocating arrays would need at least 28 bytes per event.
+        Assertions.assertTrue(allocatedAfter - allocatedBefore < events,
+                "allocated " + (allocatedAfter - allocatedBefore) + " bytes");
+    }
 }
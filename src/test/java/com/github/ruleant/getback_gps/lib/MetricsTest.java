@@ -0,0 +1,130 @@
+/**
+ * Unit tests for Metrics class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Metrics class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class MetricsTest {
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        Metrics.reset();
+    }
+
+    /**
+     * Tears down the test fixture.
+     * (Called after every test case method.)
+     */
+    @AfterEach
+    public final void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    /**
+     * Tests timing when disabled.
+     */
+    @Test
+    public final void testDisabled() {
+        Metrics.setEnabled(false);
+        Assertions.assertFalse(Metrics.isEnabled());
+
+        long start = Metrics.start();
+        Assertions.assertEquals(0, start);
+        Metrics.stop(Metrics.Stage.Fusion, start);
+
+        Assertions.assertEquals(0,
+                Metrics.getHistogram(Metrics.Stage.Fusion).getCount());
+
+        Metrics.increment(Metrics.Counter.LocationFix);
+        Assertions.assertEquals(0,
+                Metrics.getCount(Metrics.Counter.LocationFix));
+    }
+
+    /**
+     * Tests timing when enabled.
+     */
+    @Test
+    public final void testEnabled() {
+        Metrics.setEnabled(true);
+        Assertions.assertTrue(Metrics.isEnabled());
+
+        long start = Metrics.start();
+        Assertions.assertNotEquals(0, start);
+        Metrics.stop(Metrics.Stage.Fusion, start);
+        Metrics.stop(Metrics.Stage.Draw, Metrics.start());
+        Metrics.stop(Metrics.Stage.Draw, Metrics.start());
+
+        Assertions.assertEquals(0,
+                Metrics.getHistogram(Metrics.Stage.SensorIngest).getCount());
+        Assertions.assertEquals(1,
+                Metrics.getHistogram(Metrics.Stage.Fusion).getCount());
+        Assertions.assertEquals(2,
+                Metrics.getHistogram(Metrics.Stage.Draw).getCount());
+
+        String summary = Metrics.format();
+        Assertions.assertEquals(Metrics.Stage.values().length
+                + Metrics.Counter.values().length,
+                summary.split("\n").length);
+        Assertions.assertTrue(summary.contains(" Draw: n=2 "));
+
+        Metrics.reset();
+        Assertions.assertEquals(0,
+                Metrics.getHistogram(Metrics.Stage.Draw).getCount());
+    }
+
+    /**
+     * Tests counters.
+     */
+    @Test
+    public final void testCounters() {
+        Metrics.setEnabled(true);
+
+        Metrics.increment(Metrics.Counter.LocationFix);
+        Metrics.increment(Metrics.Counter.OrientationUpdate);
+        Metrics.increment(Metrics.Counter.OrientationUpdate);
+
+        Assertions.assertEquals(1,
+                Metrics.getCount(Metrics.Counter.LocationFix));
+        Assertions.assertEquals(2,
+                Metrics.getCount(Metrics.Counter.OrientationUpdate));
+        Assertions.assertEquals(0,
+                Metrics.getCount(Metrics.Counter.SkippedOrientationUpdate));
+        Assertions.assertTrue(
+                Metrics.format().contains(" OrientationUpdate: n=2"));
+
+        Metrics.reset();
+        Assertions.assertEquals(0,
+                Metrics.getCount(Metrics.Counter.OrientationUpdate));
+    }
+}
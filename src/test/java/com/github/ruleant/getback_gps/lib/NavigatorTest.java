@@ -25,7 +25,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -65,9 +68,9 @@ public class NavigatorTest {
     private static final double DIR_LOC2_1 = 225.0;
 
     /**
-     * Direction from location 2 to 3.
+     * Direction from location 2 to 3 (= 180° - atan(1/5)).
      */
-    private static final double DIR_LOC2_3 = 160.0;
+    private static final double DIR_LOC2_3 = 168.690067526;
 
     /**
      * Bearing 1 (60°).
@@ -186,22 +189,40 @@ public class NavigatorTest {
         sensorOrientation = mock(SensorOrientation.class);
 
         /* setup mock objects */
-        // set distance
-        when(loc1.distanceTo(loc2)).thenReturn(DIST_LOC1_2);
-        when(loc2.distanceTo(loc1)).thenReturn(DIST_LOC1_2);
-        when(loc1.distanceTo(loc3)).thenReturn(DIST_LOC1_3);
-        when(loc3.distanceTo(loc1)).thenReturn(DIST_LOC1_3);
-        // set direction
-        when(loc1.bearingTo(loc2)).thenReturn((float) DIR_LOC1_2);
-        when(loc1.bearingTo(loc3)).thenReturn((float) DIR_LOC1_3);
-        when(loc2.bearingTo(loc1)).thenReturn((float) DIR_LOC2_1);
-        when(loc2.bearingTo(loc3)).thenReturn((float) DIR_LOC2_3);
+        // set coordinates : location 2 and 3 are placed at
+        // DIST_LOC1_2 and DIST_LOC1_3 from location 1,
+        // in direction DIR_LOC1_2 and DIR_LOC1_3
+        setPosition(loc1, 0, 0);
+        setPosition(loc2, DIST_LOC1_2 * Math.cos(Math.toRadians(DIR_LOC1_2)),
+                DIST_LOC1_2 * Math.sin(Math.toRadians(DIR_LOC1_2)));
+        setPosition(loc3, DIST_LOC1_3 * Math.cos(Math.toRadians(DIR_LOC1_3)),
+                DIST_LOC1_3 * Math.sin(Math.toRadians(DIR_LOC1_3)));
         // set altitudes
         when(loc1.getAltitude()).thenReturn(ALTITUDE_1);
         when(loc2.getAltitude()).thenReturn(ALTITUDE_2);
         when(loc3.getAltitude()).thenReturn(ALTITUDE_3);
     }
 
+    /**
+     * Set coordinates of a mock location, relative to
+     * latitude and longitude 0 (on the equator).
+     *
+     * @param location Mock location
+     * @param north distance to the north in meters
+     * @param east distance to the east in meters
+     */
+    private static void setPosition(final AriadneLocation location,
+                                    final double north, final double east) {
+        // radii of curvature of the WGS84 ellipsoid on the equator
+        double meridionalRadius = Geodesy.WGS84_A * (1 - Geodesy.WGS84_E2);
+        double primeRadius = Geodesy.WGS84_A;
+
+        when(location.getLatitude())
+                .thenReturn(Math.toDegrees(north / meridionalRadius));
+        when(location.getLongitude())
+                .thenReturn(Math.toDegrees(east / primeRadius));
+    }
+
     /**
      * Create mock setting right conditions for
      * isLocationBearingAccurate() to return true.
@@ -933,4 +954,153 @@ public class NavigatorTest {
         Assertions.assertTrue(navigator.isSensorBearingAccurate());
         Assertions.assertTrue(navigator.isBearingAccurate());
     }
+
+    /**
+     * Tests nearest waypoint.
+     */
+    @Test
+    public final void testGetNearestWaypoint() {
+        WaypointIndex waypointIndex = new WaypointIndex();
+        waypointIndex.put(1, 51.0, 4.0);
+        waypointIndex.put(2, 52.0, 5.0);
+
+        // no location or waypoint index
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                navigator.getNearestWaypoint());
+        navigator.setWaypointIndex(waypointIndex);
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                navigator.getNearestWaypoint());
+
+        when(loc1.getLatitude()).thenReturn(51.9);
+        when(loc1.getLongitude()).thenReturn(4.9);
+        navigator.setLocation(loc1);
+        Assertions.assertEquals(2, navigator.getNearestWaypoint());
+    }
+
+    /**
+     * Tests geodesy mode.
+     */
+    @Test
+    public final void testSetGeodesyMode() {
+        navigator.setLocation(loc1);
+        navigator.setDestination(loc2);
+
+        navigator.setGeodesyMode(Geodesy.Mode.VINCENTY);
+        Assertions.assertEquals(DIST_LOC1_2, navigator.getDistance(),
+                ASSERT_ACCURACY);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            navigator.setGeodesyMode(null);
+        });
+    }
+
+    /**
+     * Tests if distance and bearing are only calculated
+     * once per navigation state version.
+     */
+    @Test
+    public final void testDerivedStateVersion() {
+        navigator.setLocation(loc1);
+        navigator.setDestination(loc3);
+        clearInvocations(loc3);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(DIST_LOC1_3, navigator.getDistance(),
+                    ASSERT_ACCURACY);
+            Assertions.assertEquals(DIR_LOC1_3,
+                    navigator.getAbsoluteDirection(), ASSERT_ACCURACY);
+        }
+        // distance and bearing are calculated once
+        verify(loc3, times(2)).getLatitude();
+
+        // new destination invalidates derived values
+        navigator.setDestination(loc2);
+        Assertions.assertEquals(DIST_LOC1_2, navigator.getDistance(),
+                ASSERT_ACCURACY);
+        Assertions.assertEquals(DIR_LOC1_2,
+                navigator.getAbsoluteDirection(), ASSERT_ACCURACY);
+    }
+
+    /**
+     * Tests navigation state snapshot.
+     */
+    @Test
+    public final void testGetSnapshot() {
+        NavigationSnapshot empty = NavigationSnapshot.EMPTY;
+        Assertions.assertNull(empty.getLocation());
+        Assertions.assertNull(empty.getDestination());
+        Assertions.assertEquals(Navigator.DIST_ZERO, empty.getDistance());
+        Assertions.assertFalse(empty.isLocationAccurate());
+        Assertions.assertEquals(Navigator.TravelDirection.Unknown,
+                empty.getTravelDirection());
+
+        // copies of the locations, the recency of the current location
+        // is read from the copy when the snapshot is read
+        AriadneLocation loc1Copy = mock(AriadneLocation.class);
+        AriadneLocation loc3Copy = mock(AriadneLocation.class);
+        when(loc1.copy()).thenReturn(loc1Copy);
+        when(loc3.copy()).thenReturn(loc3Copy);
+        when(loc1Copy.isRecent()).thenReturn(true);
+        when(loc1Copy.getAccuracy()).thenReturn(ACCURACY_OK_10);
+
+        when(loc1.isRecent()).thenReturn(true);
+        when(loc1.getAccuracy()).thenReturn(ACCURACY_OK_10);
+        navigator.setLocation(loc1);
+        navigator.setDestination(loc3);
+
+        NavigationSnapshot snapshot = navigator.getSnapshot();
+        Assertions.assertSame(loc1Copy, snapshot.getLocation());
+        Assertions.assertSame(loc3Copy, snapshot.getDestination());
+        Assertions.assertEquals(DIST_LOC1_3, snapshot.getDistance(),
+                ASSERT_ACCURACY);
+        Assertions.assertEquals(DIR_LOC1_3, snapshot.getAbsoluteDirection(),
+                ASSERT_ACCURACY);
+        Assertions.assertTrue(snapshot.isLocationAccurate());
+        Assertions.assertFalse(snapshot.isDestinationReached());
+
+        // snapshot doesn't change when navigator is updated
+        navigator.setDestination(loc2);
+        Assertions.assertSame(loc3Copy, snapshot.getDestination());
+        Assertions.assertEquals(DIST_LOC1_3, snapshot.getDistance(),
+                ASSERT_ACCURACY);
+
+        // location expires after the snapshot was taken
+        when(loc1Copy.isRecent()).thenReturn(false);
+        Assertions.assertFalse(snapshot.isLocationAccurate());
+        Assertions.assertFalse(snapshot.isBearingAccurate());
+        Assertions.assertEquals(Navigator.DIR_ZERO,
+                snapshot.getRelativeDirection());
+    }
+
+    /**
+     * Tests if location based bearing of a snapshot
+     * is only accurate while both locations are recent.
+     */
+    @Test
+    public final void testSnapshotLocationBearing() {
+        when(loc1.copy()).thenReturn(loc1);
+        when(loc2.copy()).thenReturn(loc2);
+        when(loc3.copy()).thenReturn(loc3);
+        when(loc1.isRecent()).thenReturn(true);
+        when(loc2.isRecent()).thenReturn(true);
+        when(loc1.getAccuracy()).thenReturn(ACCURACY_OK_10);
+        when(loc2.getAccuracy()).thenReturn(ACCURACY_OK_10);
+        navigator.setLocation(loc1);
+        navigator.setLocation(loc2);
+        navigator.setDestination(loc3);
+
+        NavigationSnapshot snapshot = navigator.getSnapshot();
+        Assertions.assertTrue(snapshot.isBearingAccurate());
+        Assertions.assertEquals(navigator.getCurrentBearing(),
+                snapshot.getCurrentBearing(), ASSERT_ACCURACY);
+        Assertions.assertEquals(navigator.getRelativeDirection(),
+                snapshot.getRelativeDirection(), ASSERT_ACCURACY);
+
+        // previous location expires
+        when(loc1.isRecent()).thenReturn(false);
+        Assertions.assertTrue(snapshot.isLocationAccurate());
+        Assertions.assertFalse(snapshot.isBearingAccurate());
+        Assertions.assertEquals(Navigator.DIR_ZERO,
+                snapshot.getCurrentBearing());
+    }
 }
@@ -0,0 +1,170 @@
+/**
+ * Unit tests for SensorCapabilities class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.hardware.Sensor;
+import android.hardware.SensorManager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SensorCapabilities class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class SensorCapabilitiesTest {
+    /**
+     * Allowed deviation.
+     */
+    private static final float DELTA = 0.0001f;
+
+    /**
+     * Minimum delay of the mocked sensors in microseconds (200 Hz).
+     */
+    private static final int MIN_DELAY = 5000;
+
+    /**
+     * Mocked sensor manager.
+     */
+    private SensorManager sensorManager;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        sensorManager = mock(SensorManager.class);
+    }
+
+    /**
+     * Adds a mocked default sensor to the mocked sensor manager.
+     *
+     * @param sensorType sensor type
+     * @return mocked sensor
+     */
+    private Sensor addSensor(final int sensorType) {
+        Sensor sensor = mock(Sensor.class);
+        when(sensor.getType()).thenReturn(sensorType);
+        when(sensor.getMinDelay()).thenReturn(MIN_DELAY);
+        when(sensorManager.getDefaultSensor(sensorType)).thenReturn(sensor);
+        return sensor;
+    }
+
+    /**
+     * Tests a device without sensor manager.
+     */
+    @Test
+    public final void testNoSensorManager() {
+        SensorCapabilities capabilities = new SensorCapabilities(null);
+
+        Assertions.assertFalse(capabilities.hasOrientation());
+        Assertions.assertFalse(capabilities.hasCompass());
+        Assertions.assertFalse(capabilities.hasGyroscopeCompass());
+        Assertions.assertNull(
+                capabilities.getSensor(Sensor.TYPE_ACCELEROMETER));
+        Assertions.assertEquals(0,
+                capabilities.getMaxRate(Sensor.TYPE_ACCELEROMETER), DELTA);
+    }
+
+    /**
+     * Tests a device with only a legacy orientation sensor.
+     */
+    @Test
+    public final void testOrientationSensor() {
+        Sensor orientation = addSensor(Sensor.TYPE_ORIENTATION);
+
+        SensorCapabilities capabilities = new SensorCapabilities(sensorManager);
+
+        Assertions.assertTrue(capabilities.hasOrientation());
+        Assertions.assertFalse(capabilities.hasCompass());
+        Assertions.assertFalse(capabilities.hasGyroscopeCompass());
+        Assertions.assertSame(orientation,
+                capabilities.getSensor(Sensor.TYPE_ORIENTATION));
+        Assertions.assertFalse(
+                capabilities.hasSensor(Sensor.TYPE_ROTATION_VECTOR));
+    }
+
+    /**
+     * Tests a device with all sensors.
+     */
+    @Test
+    public final void testAllSensors() {
+        Sensor accelerometer = addSensor(Sensor.TYPE_ACCELEROMETER);
+        addSensor(Sensor.TYPE_MAGNETIC_FIELD);
+        Sensor gyroscope = addSensor(Sensor.TYPE_GYROSCOPE);
+        addSensor(Sensor.TYPE_ROTATION_VECTOR);
+
+        SensorCapabilities capabilities = new SensorCapabilities(sensorManager);
+
+        Assertions.assertTrue(capabilities.hasOrientation());
+        Assertions.assertTrue(capabilities.hasCompass());
+        Assertions.assertTrue(capabilities.hasGyroscopeCompass());
+        Assertions.assertTrue(
+                capabilities.hasSensor(Sensor.TYPE_ROTATION_VECTOR));
+        Assertions.assertFalse(capabilities.hasSensor(Sensor.TYPE_ORIENTATION));
+        Assertions.assertSame(accelerometer,
+                capabilities.getSensor(Sensor.TYPE_ACCELEROMETER));
+        Assertions.assertSame(gyroscope,
+                capabilities.getSensor(Sensor.TYPE_GYROSCOPE));
+
+        Assertions.assertEquals(MIN_DELAY,
+                capabilities.getMinDelay(Sensor.TYPE_GYROSCOPE));
+        Assertions.assertEquals(200,
+                capabilities.getMaxRate(Sensor.TYPE_GYROSCOPE), DELTA);
+        Assertions.assertEquals(0,
+                capabilities.getMaxRate(Sensor.TYPE_ORIENTATION), DELTA);
+
+        // types that are not probed
+        Assertions.assertNull(capabilities.getSensor(-1));
+        Assertions.assertEquals(0, capabilities.getFifoMaxEventCount(-1));
+        Assertions.assertEquals(0, capabilities.getMinDelay(-1));
+    }
+
+    /**
+     * Tests that sensors are probed only once.
+     */
+    @Test
+    public final void testProbedOnce() {
+        addSensor(Sensor.TYPE_ACCELEROMETER);
+        addSensor(Sensor.TYPE_MAGNETIC_FIELD);
+
+        SensorCapabilities capabilities = new SensorCapabilities(sensorManager);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(capabilities.hasCompass());
+            Assertions.assertNotNull(
+                    capabilities.getSensor(Sensor.TYPE_MAGNETIC_FIELD));
+        }
+
+        verify(sensorManager, times(1))
+                .getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+        verify(sensorManager, times(5)).getDefaultSensor(anyInt());
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Unit tests for SettingsSnapshot class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.content.SharedPreferences;
+
+import com.github.ruleant.getback_gps.SettingsActivity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SettingsSnapshot class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class SettingsSnapshotTest {
+    /**
+     * Mocked shared preferences.
+     */
+    private SharedPreferences sharedPreferences;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        sharedPreferences = mock(SharedPreferences.class);
+        // return default values
+        when(sharedPreferences.getBoolean(anyString(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(sharedPreferences.getString(anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SettingsSnapshot(null));
+    }
+
+    /**
+     * Tests default values.
+     */
+    @Test
+    public final void testDefaults() {
+        SettingsSnapshot snapshot = new SettingsSnapshot(sharedPreferences);
+
+        Assertions.assertEquals(SettingsActivity.DEFAULT_PREF_ENABLE_SENSORS,
+                snapshot.isSensorsEnabled());
+        Assertions.assertEquals(SettingsActivity.GEO_ORIENTATION_SENSOR_AUTO,
+                snapshot.getGeoOrientationSensor());
+        Assertions.assertEquals(SettingsActivity.DEFAULT_PREF_SENSOR_THREAD,
+                snapshot.isSensorThread());
+        Assertions.assertEquals(SettingsActivity.DEFAULT_PREF_RECORD_TRACK,
+                snapshot.isRecordTrack());
+        Assertions.assertEquals(SettingsActivity.DEFAULT_PREF_LOCATION_FUSION,
+                snapshot.isLocationFusion());
+        Assertions.assertEquals(DebugLevel.DEBUG_LEVEL_OFF,
+                snapshot.getDebugLevel());
+    }
+
+    /**
+     * Tests stored values.
+     */
+    @Test
+    public final void testValues() {
+        when(sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_ENABLE_SENSORS,
+                SettingsActivity.DEFAULT_PREF_ENABLE_SENSORS))
+                .thenReturn(false);
+        when(sharedPreferences.getString(
+                SettingsActivity.KEY_PREF_GEO_ORIENTATION_SENSOR,
+                SettingsActivity.DEFAULT_PREF_GEO_ORIENTATION_SENSOR))
+                .thenReturn("3");
+        when(sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_SENSOR_THREAD,
+                SettingsActivity.DEFAULT_PREF_SENSOR_THREAD))
+                .thenReturn(true);
+        when(sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_RECORD_TRACK,
+                SettingsActivity.DEFAULT_PREF_RECORD_TRACK))
+                .thenReturn(true);
+        when(sharedPreferences.getBoolean(
+                SettingsActivity.KEY_PREF_LOCATION_FUSION,
+                SettingsActivity.DEFAULT_PREF_LOCATION_FUSION))
+                .thenReturn(true);
+        when(sharedPreferences.getString(DebugLevel.PREF_DEBUG_LEVEL,
+                DebugLevel.DEFAULT_DEBUG_LEVEL))
+                .thenReturn("3");
+
+        SettingsSnapshot snapshot = new SettingsSnapshot(sharedPreferences);
+
+        Assertions.assertFalse(snapshot.isSensorsEnabled());
+        Assertions.assertEquals(SettingsActivity.GEO_ORIENTATION_SENSOR_FUSED,
+                snapshot.getGeoOrientationSensor());
+        Assertions.assertTrue(snapshot.isSensorThread());
+        Assertions.assertTrue(snapshot.isRecordTrack());
+        Assertions.assertTrue(snapshot.isLocationFusion());
+        Assertions.assertEquals(DebugLevel.DEBUG_LEVEL_HIGH,
+                snapshot.getDebugLevel());
+    }
+}
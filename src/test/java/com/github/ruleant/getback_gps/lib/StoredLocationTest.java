@@ -0,0 +1,173 @@
+/**
+ * Unit tests for StoredLocation class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StoredLocation class.
+ *
+ * Encoding and decoding the saved record is tested in LocationCodecTest,
+ * restoring a saved location needs the Android framework (Base64, Location).
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class StoredLocationTest {
+    /**
+     * Name of the Shared Preferences file.
+     */
+    private static final String PREF_NAME = "test";
+
+    /**
+     * Mocked shared preferences.
+     */
+    private SharedPreferences prefs;
+
+    /**
+     * Mocked shared preferences editor.
+     */
+    private SharedPreferences.Editor editor;
+
+    /**
+     * Mocked context.
+     */
+    private Context context;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        prefs = mock(SharedPreferences.class);
+        // return default values
+        when(prefs.getString(anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(prefs.getLong(anyString(), anyLong()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        editor = mock(SharedPreferences.Editor.class);
+        when(prefs.edit()).thenReturn(editor);
+
+        context = mock(Context.class);
+        when(context.getSharedPreferences(anyString(), anyInt()))
+                .thenReturn(prefs);
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new StoredLocation(null, PREF_NAME));
+    }
+
+    /**
+     * Tests the name of the Shared Preferences file.
+     */
+    @Test
+    public final void testPrefName() {
+        new StoredLocation(context, PREF_NAME);
+        verify(context).getSharedPreferences(
+                PREF_NAME, Context.MODE_PRIVATE);
+
+        new StoredLocation(context, null);
+        new StoredLocation(context, "");
+        verify(context, times(2)).getSharedPreferences(
+                StoredLocation.DEFAULT_PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Tests nothing saved.
+     */
+    @Test
+    public final void testNoLocation() {
+        StoredLocation storedLocation = new StoredLocation(context, PREF_NAME);
+        Assertions.assertNull(storedLocation.getLocation());
+
+        // no record, legacy format is checked
+        verify(prefs).getString(eq("saved"), any());
+        verify(prefs, never()).getString(eq("latitude"), any());
+    }
+
+    /**
+     * Tests a legacy location that isn't marked as saved.
+     */
+    @Test
+    public final void testLegacyNotSaved() {
+        when(prefs.getString(eq("saved"), any())).thenReturn("false");
+        when(prefs.getString(eq("latitude"), any())).thenReturn("50.85");
+
+        Assertions.assertNull(
+                new StoredLocation(context, PREF_NAME).getLocation());
+        verify(prefs, never()).getString(eq("latitude"), any());
+    }
+
+    /**
+     * Tests setting a location.
+     */
+    @Test
+    public final void testSetLocation() {
+        StoredLocation storedLocation = new StoredLocation(context, PREF_NAME);
+        AriadneLocation location = mock(AriadneLocation.class);
+
+        storedLocation.setLocation(null);
+        Assertions.assertNull(storedLocation.getLocation());
+
+        storedLocation.setLocation(location);
+        Assertions.assertSame(location, storedLocation.getLocation());
+
+        // null doesn't clear the location
+        storedLocation.setLocation(null);
+        Assertions.assertSame(location, storedLocation.getLocation());
+    }
+
+    /**
+     * Tests saving without a location,
+     * values saved before (also in the legacy format) are removed.
+     */
+    @Test
+    public final void testSaveNoLocation() {
+        new StoredLocation(context, PREF_NAME).save();
+
+        verify(editor).clear();
+        verify(editor, never()).putString(anyString(), any());
+        verify(editor).apply();
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * Unit tests for TrackFile class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Unit tests for TrackFile class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class TrackFileTest {
+    /**
+     * Size of the file header.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Capacity of the ring in the tests.
+     */
+    private static final int CAPACITY = 8;
+
+    /**
+     * Accuracy.
+     */
+    private static final double ACCURACY = 0.0001;
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    File tempDir;
+
+    /**
+     * Track file.
+     */
+    private File file;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        file = new File(tempDir, "track.bin");
+    }
+
+    /**
+     * Add locations, with all values derived from one number.
+     *
+     * @param trackFile TrackFile instance
+     * @param from value of the first location
+     * @param to value of the last location
+     */
+    private static void addLocations(final TrackFile trackFile,
+                                     final int from, final int to) {
+        for (int i = from; i <= to; i++) {
+            trackFile.addLocation(i, i * 2, i * 3, i * 4, i * 1000L);
+        }
+    }
+
+    /**
+     * Read the locations in a file.
+     *
+     * @param trackFile TrackFile instance
+     * @return Snapshot with the locations in the file
+     */
+    private static TrackRecorder.Snapshot read(final TrackFile trackFile) {
+        TrackRecorder recorder = new TrackRecorder();
+        trackFile.readInto(recorder);
+        return recorder.getSnapshot();
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new TrackFile(null);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new TrackFile(file, 0);
+        });
+    }
+
+    /**
+     * Tests adding locations and reopening the file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testReopen() throws IOException {
+        TrackFile trackFile = new TrackFile(file);
+        Assertions.assertEquals(0, trackFile.getSize());
+        addLocations(trackFile, 1, 3);
+        Assertions.assertEquals(3, trackFile.getSize());
+        trackFile.close();
+
+        trackFile = new TrackFile(file);
+        Assertions.assertEquals(3, trackFile.getSize());
+
+        TrackRecorder.Snapshot snapshot = read(trackFile);
+        Assertions.assertEquals(3, snapshot.getSize());
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(i + 1, snapshot.getLatitude(i), ACCURACY);
+            Assertions.assertEquals((i + 1) * 2, snapshot.getLongitude(i),
+                    ACCURACY);
+            Assertions.assertEquals((i + 1) * 3, snapshot.getAltitude(i),
+                    ACCURACY);
+            Assertions.assertEquals((i + 1) * 4, snapshot.getAccuracy(i),
+                    ACCURACY);
+            Assertions.assertEquals((i + 1) * 1000L, snapshot.getTime(i));
+        }
+        trackFile.close();
+    }
+
+    /**
+     * Tests if the oldest locations are overwritten when the file is full,
+     * so the file size doesn't change.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testRing() throws IOException {
+        final int count = 20;
+        TrackFile trackFile = new TrackFile(file, CAPACITY);
+        Assertions.assertEquals(CAPACITY, trackFile.getCapacity());
+        long fileSize = file.length();
+        addLocations(trackFile, 1, count);
+        Assertions.assertEquals(CAPACITY, trackFile.getSize());
+        Assertions.assertEquals(fileSize, file.length());
+        trackFile.close();
+
+        trackFile = new TrackFile(file, CAPACITY);
+        Assertions.assertEquals(CAPACITY, trackFile.getSize());
+        TrackRecorder.Snapshot snapshot = read(trackFile);
+        Assertions.assertEquals(CAPACITY, snapshot.getSize());
+        for (int i = 0; i < CAPACITY; i++) {
+            Assertions.assertEquals((count - CAPACITY + i + 1) * 1000L,
+                    snapshot.getTime(i));
+        }
+
+        // only the last locations fit in a smaller recorder
+        TrackRecorder recorder = new TrackRecorder(2);
+        trackFile.readInto(recorder);
+        Assertions.assertEquals(count * 1000L,
+                recorder.getSnapshot().getTime(1));
+        trackFile.close();
+    }
+
+    /**
+     * Tests if a file with a different capacity is replaced
+     * by an empty track.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testCapacityChanged() throws IOException {
+        TrackFile trackFile = new TrackFile(file, CAPACITY);
+        addLocations(trackFile, 1, 3);
+        trackFile.close();
+
+        trackFile = new TrackFile(file, CAPACITY * 2);
+        Assertions.assertEquals(0, trackFile.getSize());
+        trackFile.close();
+        Assertions.assertEquals(HEADER_SIZE
+                + CAPACITY * 2 * TrackFile.RECORD_SIZE, file.length());
+    }
+
+    /**
+     * Tests if only the newest run of valid records is recovered,
+     * a corrupt record and all records before it are discarded.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testRecoverCorruptRecord() throws IOException {
+        TrackFile trackFile = new TrackFile(file, CAPACITY);
+        addLocations(trackFile, 1, 4);
+        trackFile.close();
+
+        // corrupt the third record
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(HEADER_SIZE + 2 * TrackFile.RECORD_SIZE + 1);
+        raf.write(0xFF);
+        raf.close();
+
+        trackFile = new TrackFile(file, CAPACITY);
+        Assertions.assertEquals(1, trackFile.getSize());
+
+        // the first records aren't recovered after appending a new one
+        addLocations(trackFile, 5, 5);
+        trackFile.close();
+
+        trackFile = new TrackFile(file, CAPACITY);
+        Assertions.assertEquals(2, trackFile.getSize());
+        TrackRecorder.Snapshot snapshot = read(trackFile);
+        Assertions.assertEquals(4000L, snapshot.getTime(0));
+        Assertions.assertEquals(5000L, snapshot.getTime(1));
+        trackFile.close();
+    }
+
+    /**
+     * Tests if a partially written record is discarded
+     * after the ring wrapped around.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testRecoverCorruptNewestRecord() throws IOException {
+        TrackFile trackFile = new TrackFile(file, CAPACITY);
+        addLocations(trackFile, 1, CAPACITY + 2);
+        trackFile.close();
+
+        // corrupt the newest record, in the second slot
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(HEADER_SIZE + TrackFile.RECORD_SIZE + 1);
+        raf.write(0xFF);
+        raf.close();
+
+        trackFile = new TrackFile(file, CAPACITY);
+        Assertions.assertEquals(CAPACITY - 1, trackFile.getSize());
+        TrackRecorder.Snapshot snapshot = read(trackFile);
+        Assertions.assertEquals(3000L, snapshot.getTime(0));
+        Assertions.assertEquals((CAPACITY + 1) * 1000L,
+                snapshot.getTime(CAPACITY - 2));
+        trackFile.close();
+    }
+
+    /**
+     * Tests if a file with an invalid header is replaced by an empty track.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testInvalidHeader() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.writeInt(1);
+        raf.close();
+
+        TrackFile trackFile = new TrackFile(file);
+        Assertions.assertEquals(0, trackFile.getSize());
+        addLocations(trackFile, 1, 1);
+        trackFile.close();
+
+        trackFile = new TrackFile(file);
+        Assertions.assertEquals(1, trackFile.getSize());
+        trackFile.close();
+    }
+
+    /**
+     * Tests clearing the file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testClear() throws IOException {
+        TrackFile trackFile = new TrackFile(file);
+        addLocations(trackFile, 1, 3);
+        trackFile.clear();
+        Assertions.assertEquals(0, trackFile.getSize());
+        addLocations(trackFile, 4, 4);
+        trackFile.close();
+
+        trackFile = new TrackFile(file);
+        Assertions.assertEquals(1, trackFile.getSize());
+        Assertions.assertEquals(4000L, read(trackFile).getTime(0));
+        trackFile.close();
+    }
+}
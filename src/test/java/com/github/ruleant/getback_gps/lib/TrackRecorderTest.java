@@ -0,0 +1,193 @@
+/**
+ * Unit tests for TrackRecorder class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import android.location.Location;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TrackRecorder class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class TrackRecorderTest {
+    /**
+     * Capacity of the test track.
+     */
+    private static final int CAPACITY = 3;
+
+    /**
+     * Accuracy.
+     */
+    private static final double ACCURACY = 0.0001;
+
+    /**
+     * Add a location, with all values derived from one number.
+     *
+     * @param recorder TrackRecorder instance
+     * @param value value of the location
+     */
+    private static void addLocation(final TrackRecorder recorder,
+                                    final int value) {
+        recorder.addLocation(value, value * 2, value * 3, value * 4,
+                value * 1000L);
+    }
+
+    /**
+     * Assert all values of a location in a snapshot.
+     *
+     * @param snapshot Snapshot of a track
+     * @param index index of the location in the snapshot
+     * @param value expected value of the location
+     */
+    private static void assertLocation(final TrackRecorder.Snapshot snapshot,
+                                       final int index, final int value) {
+        Assertions.assertEquals(value, snapshot.getLatitude(index), ACCURACY);
+        Assertions.assertEquals(value * 2, snapshot.getLongitude(index),
+                ACCURACY);
+        Assertions.assertEquals(value * 3, snapshot.getAltitude(index),
+                ACCURACY);
+        Assertions.assertEquals(value * 4, snapshot.getAccuracy(index),
+                ACCURACY);
+        Assertions.assertEquals(value * 1000L, snapshot.getTime(index));
+    }
+
+    /**
+     * Tests empty track.
+     */
+    @Test
+    public final void testEmpty() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+
+        Assertions.assertEquals(0, recorder.getSize());
+        Assertions.assertEquals(CAPACITY, recorder.getCapacity());
+        Assertions.assertEquals(0, recorder.getSnapshot().getSize());
+        Assertions.assertEquals(TrackRecorder.DEFAULT_CAPACITY,
+                new TrackRecorder().getCapacity());
+    }
+
+    /**
+     * Tests invalid capacity.
+     */
+    @Test
+    public final void testInvalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new TrackRecorder(0);
+        });
+    }
+
+    /**
+     * Tests adding a null location.
+     */
+    @Test
+    public final void testAddLocationNull() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            recorder.addLocation((Location) null);
+        });
+    }
+
+    /**
+     * Tests adding locations, without filling the buffer.
+     */
+    @Test
+    public final void testAddLocation() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+        addLocation(recorder, 1);
+        addLocation(recorder, 2);
+
+        Assertions.assertEquals(2, recorder.getSize());
+
+        TrackRecorder.Snapshot snapshot = recorder.getSnapshot();
+        Assertions.assertEquals(2, snapshot.getSize());
+        assertLocation(snapshot, 0, 1);
+        assertLocation(snapshot, 1, 2);
+    }
+
+    /**
+     * Tests if the oldest locations are overwritten when the buffer is full.
+     */
+    @Test
+    public final void testWrapAround() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+        for (int i = 1; i <= CAPACITY + 2; i++) {
+            addLocation(recorder, i);
+        }
+
+        Assertions.assertEquals(CAPACITY, recorder.getSize());
+
+        TrackRecorder.Snapshot snapshot = recorder.getSnapshot();
+        Assertions.assertEquals(CAPACITY, snapshot.getSize());
+        assertLocation(snapshot, 0, 3);
+        assertLocation(snapshot, 1, 4);
+        assertLocation(snapshot, 2, 5);
+    }
+
+    /**
+     * Tests if a snapshot doesn't change when locations are added.
+     */
+    @Test
+    public final void testSnapshotReadOnly() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+        addLocation(recorder, 1);
+        TrackRecorder.Snapshot snapshot = recorder.getSnapshot();
+
+        addLocation(recorder, 2);
+        Assertions.assertEquals(1, snapshot.getSize());
+        assertLocation(snapshot, 0, 1);
+    }
+
+    /**
+     * Tests clearing the track.
+     */
+    @Test
+    public final void testClear() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+        addLocation(recorder, 1);
+        addLocation(recorder, 2);
+        recorder.clear();
+
+        Assertions.assertEquals(0, recorder.getSize());
+
+        addLocation(recorder, 3);
+        TrackRecorder.Snapshot snapshot = recorder.getSnapshot();
+        Assertions.assertEquals(1, snapshot.getSize());
+        assertLocation(snapshot, 0, 3);
+    }
+
+    /**
+     * Tests timestamp of the most recent location.
+     */
+    @Test
+    public final void testGetLastTime() {
+        TrackRecorder recorder = new TrackRecorder(CAPACITY);
+        Assertions.assertEquals(0, recorder.getLastTime());
+
+        for (int i = 1; i <= CAPACITY + 1; i++) {
+            addLocation(recorder, i);
+            Assertions.assertEquals(i * 1000L, recorder.getLastTime());
+        }
+    }
+}
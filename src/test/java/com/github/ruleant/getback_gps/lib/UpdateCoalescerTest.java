@@ -0,0 +1,132 @@
+/**
+ * Unit tests for UpdateCoalescer class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Unit tests for UpdateCoalescer class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class UpdateCoalescerTest {
+    /**
+     * Commands handed to the executor, not run yet.
+     */
+    private List<Runnable> queue;
+
+    /**
+     * Number of updates that were run.
+     */
+    private int updates;
+
+    /**
+     * Instance of the coalescer class.
+     */
+    private UpdateCoalescer coalescer;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        queue = new ArrayList<Runnable>();
+        updates = 0;
+
+        Executor executor = command -> queue.add(command);
+        coalescer = new UpdateCoalescer(executor, () -> updates++);
+    }
+
+    /**
+     * Run all queued commands.
+     */
+    private void runQueue() {
+        List<Runnable> commands = new ArrayList<Runnable>(queue);
+        queue.clear();
+        for (Runnable command : commands) {
+            command.run();
+        }
+    }
+
+    /**
+     * Tests null parameters.
+     */
+    @Test
+    public final void testNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new UpdateCoalescer(null, () -> { });
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new UpdateCoalescer(command -> { }, null);
+        });
+    }
+
+    /**
+     * Tests if requests are coalesced while an update is pending.
+     */
+    @Test
+    public final void testRequest() {
+        Assertions.assertFalse(coalescer.isPending());
+
+        Assertions.assertTrue(coalescer.request());
+        Assertions.assertFalse(coalescer.request());
+        Assertions.assertFalse(coalescer.request());
+        Assertions.assertTrue(coalescer.isPending());
+        Assertions.assertEquals(1, queue.size());
+
+        runQueue();
+        Assertions.assertEquals(1, updates);
+        Assertions.assertFalse(coalescer.isPending());
+
+        // a new request after the update schedules a new update
+        Assertions.assertTrue(coalescer.request());
+        runQueue();
+        Assertions.assertEquals(2, updates);
+    }
+
+    /**
+     * Tests a request made while the update is running.
+     */
+    @Test
+    public final void testRequestDuringUpdate() {
+        Executor executor = command -> queue.add(command);
+        coalescer = new UpdateCoalescer(executor, () -> {
+            updates++;
+            if (updates == 1) {
+                Assertions.assertTrue(coalescer.request());
+            }
+        });
+
+        coalescer.request();
+        runQueue();
+        Assertions.assertEquals(1, queue.size());
+        runQueue();
+        Assertions.assertEquals(2, updates);
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Unit tests for WaypointIndex class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for WaypointIndex class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class WaypointIndexTest {
+    /**
+     * Number of random waypoints.
+     */
+    private static final int RANDOM_WAYPOINTS = 2000;
+
+    /**
+     * Number of random queries.
+     */
+    private static final int RANDOM_QUERIES = 200;
+
+    /**
+     * Instance of the waypoint index class.
+     */
+    private WaypointIndex index;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        index = new WaypointIndex();
+    }
+
+    /**
+     * Calculate distance with the haversine formula.
+     *
+     * @param lat1 latitude of the first point
+     * @param lon1 longitude of the first point
+     * @param lat2 latitude of the second point
+     * @param lon2 longitude of the second point
+     * @return distance in meters
+     */
+    private static double haversine(final double lat1, final double lon1,
+                                    final double lat2, final double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * WaypointIndex.EARTH_RADIUS
+                * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Tests empty index.
+     */
+    @Test
+    public final void testEmpty() {
+        Assertions.assertEquals(0, index.getSize());
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                index.findNearest(0, 0));
+        Assertions.assertEquals(0, index.findNearest(0, 0, 3).length);
+        Assertions.assertEquals(0, index.findWithinRadius(0, 0, 1000).length);
+    }
+
+    /**
+     * Tests invalid parameters.
+     */
+    @Test
+    public final void testInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            index.findNearest(0, 0, 0);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            index.findWithinRadius(0, 0, -1);
+        });
+    }
+
+    /**
+     * Tests nearest waypoint, updating and removing waypoints.
+     */
+    @Test
+    public final void testFindNearest() {
+        index.put(1, 51.0, 4.0);
+        index.put(2, 52.0, 5.0);
+        index.put(3, -33.9, 151.2);
+        Assertions.assertEquals(3, index.getSize());
+
+        Assertions.assertEquals(1, index.findNearest(51.1, 4.1));
+        Assertions.assertEquals(3, index.findNearest(-30, 150));
+        Assertions.assertArrayEquals(new long[] {2, 1, 3},
+                index.findNearest(52.1, 5.1, 5));
+
+        // move waypoint 2
+        index.put(2, 51.1, 4.1);
+        Assertions.assertEquals(2, index.findNearest(51.1, 4.1));
+
+        index.remove(2);
+        Assertions.assertEquals(1, index.findNearest(51.1, 4.1));
+        Assertions.assertEquals(2, index.getSize());
+
+        index.clear();
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                index.findNearest(51.1, 4.1));
+    }
+
+    /**
+     * Tests nearest waypoint across the 180° meridian and near the poles.
+     */
+    @Test
+    public final void testFindNearestWrapAround() {
+        index.put(1, 0, 179.9);
+        index.put(2, 0, 170);
+        index.put(3, 89.9, 0);
+        index.put(4, 80, 90);
+
+        Assertions.assertEquals(1, index.findNearest(0, -179.9));
+        Assertions.assertEquals(3, index.findNearest(89.9, 180));
+    }
+
+    /**
+     * Tests random queries against a brute force search.
+     */
+    @Test
+    public final void testRandom() {
+        final int k = 5;
+        final double radius = 500000;
+        Random random = new Random(1);
+        double[] lat = new double[RANDOM_WAYPOINTS];
+        double[] lon = new double[RANDOM_WAYPOINTS];
+
+        for (int i = 0; i < RANDOM_WAYPOINTS; i++) {
+            lat[i] = random.nextDouble() * 180 - 90;
+            lon[i] = random.nextDouble() * 360 - 180;
+            index.put(i, lat[i], lon[i]);
+        }
+
+        for (int q = 0; q < RANDOM_QUERIES; q++) {
+            double qLat = random.nextDouble() * 180 - 90;
+            double qLon = random.nextDouble() * 360 - 180;
+
+            // brute force : sort ids by distance
+            Long[] ids = new Long[RANDOM_WAYPOINTS];
+            double[] distance = new double[RANDOM_WAYPOINTS];
+            int inRadius = 0;
+            for (int i = 0; i < RANDOM_WAYPOINTS; i++) {
+                ids[i] = (long) i;
+                distance[i] = haversine(qLat, qLon, lat[i], lon[i]);
+                if (distance[i] <= radius) {
+                    inRadius++;
+                }
+            }
+            Arrays.sort(ids, (a, b) -> Double.compare(
+                    distance[a.intValue()], distance[b.intValue()]));
+
+            long[] nearest = index.findNearest(qLat, qLon, k);
+            for (int i = 0; i < k; i++) {
+                Assertions.assertEquals((long) ids[i], nearest[i]);
+            }
+
+            long[] within = index.findWithinRadius(qLat, qLon, radius);
+            Assertions.assertEquals(inRadius, within.length);
+            for (long id : within) {
+                Assertions.assertTrue(distance[(int) id] <= radius + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/**
+ * Unit tests for WaypointRepository class
+ *
+ * Copyright (C) 2026 Dieter Adriaenssens
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @package com.github.ruleant.getback_gps
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+package com.github.ruleant.getback_gps.lib;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WaypointRepository class.
+ *
+ * @author  Dieter Adriaenssens <ruleant@users.sourceforge.net>
+ */
+public class WaypointRepositoryTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    File tempDir;
+
+    /**
+     * Waypoints file.
+     */
+    private File file;
+
+    /**
+     * Sets up the test fixture.
+     * (Called before every test case method.)
+     */
+    @BeforeEach
+    public final void setUp() {
+        file = new File(tempDir, "waypoints.bin");
+    }
+
+    /**
+     * Create a named location.
+     *
+     * @param name location name
+     * @return AriadneLocation instance
+     */
+    private static AriadneLocation createLocation(final String name) {
+        AriadneLocation location = mock(AriadneLocation.class);
+        location.setName(name);
+        return location;
+    }
+
+    /**
+     * Tests null parameters.
+     */
+    @Test
+    public final void testNull() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(null);
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(file).add(null);
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(file).findByNamePrefix(null);
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(file).putByName(null);
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(file).rename("Car", null);
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new WaypointRepository(file).get(1, null);
+        });
+    }
+
+    /**
+     * Tests adding, getting and removing waypoints.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testAddGetRemove() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        Assertions.assertEquals(0, repository.getSize());
+
+        long carId = repository.add(createLocation("Car"));
+        long campId = repository.add(createLocation("Camp"));
+        Assertions.assertNotEquals(carId, campId);
+        Assertions.assertEquals(2, repository.getSize());
+        Assertions.assertEquals("Car", repository.getName(carId));
+        Assertions.assertEquals("Camp", repository.getName(campId));
+
+        Assertions.assertTrue(repository.remove(carId));
+        Assertions.assertFalse(repository.remove(carId));
+        Assertions.assertNull(repository.get(carId));
+        Assertions.assertEquals(1, repository.getSize());
+    }
+
+    /**
+     * Tests name prefix lookup.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testFindByNamePrefix() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.add(createLocation("Car"));
+        long campId = repository.add(createLocation("camp"));
+        long trailId = repository.add(createLocation("Trailhead"));
+        repository.add(createLocation(null));
+
+        Assertions.assertEquals(Arrays.asList(campId, carId),
+                repository.findByNamePrefix("CA"));
+        Assertions.assertEquals(Collections.singletonList(trailId),
+                repository.findByNamePrefix("tr"));
+        Assertions.assertEquals(Collections.emptyList(),
+                repository.findByNamePrefix("x"));
+        Assertions.assertEquals(3, repository.findByNamePrefix("").size());
+
+        // renamed waypoint is moved in the name index
+        repository.put(carId, createLocation("Van"));
+        Assertions.assertEquals(Collections.singletonList(campId),
+                repository.findByNamePrefix("ca"));
+        Assertions.assertEquals(Collections.singletonList(carId),
+                repository.findByNamePrefix("v"));
+    }
+
+    /**
+     * Tests adding or updating waypoints by name.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testPutByName() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.putByName(createLocation("Car"));
+        long unnamedId = repository.putByName(createLocation(null));
+        Assertions.assertNotEquals(carId, unnamedId);
+
+        // same name updates the waypoint (case insensitive)
+        Assertions.assertEquals(carId,
+                repository.putByName(createLocation("car")));
+        Assertions.assertEquals(unnamedId,
+                repository.putByName(createLocation(null)));
+        Assertions.assertEquals(2, repository.getSize());
+        Assertions.assertEquals("car", repository.getName(carId));
+        Assertions.assertNull(repository.getName(unnamedId));
+
+        Assertions.assertEquals(carId, repository.findByName("CAR"));
+        Assertions.assertEquals(unnamedId, repository.findByName(null));
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                repository.findByName("Camp"));
+    }
+
+    /**
+     * Tests renaming waypoints.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testRename() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.putByName(createLocation("Car"));
+        long campId = repository.putByName(createLocation("Camp"));
+
+        // rename keeps the id
+        Assertions.assertEquals(carId,
+                repository.rename("Car", createLocation("Van")));
+        Assertions.assertEquals("Van", repository.getName(carId));
+        Assertions.assertEquals(WaypointIndex.NO_WAYPOINT,
+                repository.findByName("Car"));
+
+        // waypoint with the new name is replaced
+        Assertions.assertEquals(carId,
+                repository.rename("Van", createLocation("Camp")));
+        Assertions.assertEquals(1, repository.getSize());
+        Assertions.assertNull(repository.getName(campId));
+        Assertions.assertEquals(carId, repository.findByName("Camp"));
+
+        // unknown previous name adds a waypoint
+        long tentId = repository.rename("Tent", createLocation("Tent"));
+        Assertions.assertNotEquals(carId, tentId);
+        Assertions.assertEquals(2, repository.getSize());
+
+        repository = new WaypointRepository(file);
+        Assertions.assertEquals(2, repository.getSize());
+        Assertions.assertEquals("Camp", repository.getName(carId));
+        Assertions.assertEquals("Tent", repository.getName(tentId));
+    }
+
+    /**
+     * Tests decoding a waypoint into an existing location.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testGetLocation() throws IOException {
+        final double latitude = 51.2194;
+        WaypointRepository repository = new WaypointRepository(file);
+        AriadneLocation location = createLocation("Car");
+        when(location.getLatitude()).thenReturn(latitude);
+        long carId = repository.add(location);
+
+        AriadneLocation decoded = mock(AriadneLocation.class);
+        Assertions.assertTrue(repository.get(carId, decoded));
+        verify(decoded).setLatitude(latitude);
+        Assertions.assertEquals("Car", decoded.getName());
+
+        Assertions.assertFalse(repository.get(carId + 1, decoded));
+    }
+
+    /**
+     * Tests if the spatial index is created on first use,
+     * and updated after that.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testGetIndex() throws IOException {
+        final double latitude = 51.2194;
+        final double longitude = 4.4025;
+        WaypointRepository repository = new WaypointRepository(file);
+        AriadneLocation location = createLocation("Car");
+        when(location.getLatitude()).thenReturn(latitude);
+        when(location.getLongitude()).thenReturn(longitude);
+        long carId = repository.add(location);
+
+        WaypointIndex index = repository.getIndex();
+        Assertions.assertSame(index, repository.getIndex());
+        Assertions.assertEquals(carId,
+                index.findNearest(latitude, longitude));
+
+        long campId = repository.add(createLocation("Camp"));
+        Assertions.assertEquals(campId, index.findNearest(0, 0));
+
+        repository.remove(campId);
+        Assertions.assertEquals(carId, index.findNearest(0, 0));
+    }
+
+    /**
+     * Tests loading saved waypoints.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testReload() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.add(createLocation("Car"));
+        long campId = repository.add(createLocation("Camp"));
+        repository.put(carId, createLocation("Van"));
+        repository.remove(campId);
+
+        repository = new WaypointRepository(file);
+        Assertions.assertEquals(1, repository.getSize());
+        Assertions.assertEquals("Van", repository.getName(carId));
+        Assertions.assertNull(repository.get(campId));
+
+        // new ids don't collide with loaded ids
+        Assertions.assertTrue(
+                repository.add(createLocation("Tent")) > carId);
+    }
+
+    /**
+     * Tests if an invalid tail of the file is discarded.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testRecoverCorruptTail() throws IOException {
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.add(createLocation("Car"));
+        long campId = repository.add(createLocation("Camp"));
+
+        // corrupt last byte (checksum of the last record)
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(raf.length() - 1);
+        int lastByte = raf.read();
+        raf.seek(raf.length() - 1);
+        raf.write(~lastByte);
+        raf.close();
+
+        repository = new WaypointRepository(file);
+        Assertions.assertEquals(1, repository.getSize());
+        Assertions.assertNull(repository.get(campId));
+
+        // new records are appended after the last valid record
+        long tentId = repository.add(createLocation("Tent"));
+        repository = new WaypointRepository(file);
+        Assertions.assertEquals(2, repository.getSize());
+        Assertions.assertEquals("Car", repository.getName(carId));
+        Assertions.assertEquals("Tent", repository.getName(tentId));
+    }
+
+    /**
+     * Tests if the log file is compacted.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Test
+    public final void testCompact() throws IOException {
+        final int updates = 1000;
+        WaypointRepository repository = new WaypointRepository(file);
+        long carId = repository.add(createLocation("Car"));
+        long recordSize = file.length();
+
+        for (int i = 0; i < updates; i++) {
+            repository.put(carId, createLocation("Car"));
+        }
+
+        // outdated records are removed from the file
+        Assertions.assertTrue(file.length() < recordSize * updates / 10);
+
+        repository = new WaypointRepository(file);
+        Assertions.assertEquals(1, repository.getSize());
+        Assertions.assertEquals("Car", repository.getName(carId));
+    }
+}